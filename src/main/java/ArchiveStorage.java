@@ -0,0 +1,295 @@
+package chatbot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Storage that keeps only open tasks in the working file and moves completed tasks into
+ * compressed archive segments.
+ *
+ * The task file is the hot segment and uses the usual text format. When it is loaded, tasks
+ * that were completed in an earlier session are appended to the cold segment of the current
+ * month, a gzip file named {@code <task file>.archive-<yyyy-MM>.gz}, and removed from the hot
+ * segment. Segments therefore rotate by age: once its month is over a segment is never
+ * written again. The archive is only read when {@link #loadArchive()} is called, so the
+ * hot segment stays small no matter how many tasks have been completed over the years.
+ *
+ * A move goes through a pending file that names the segment, its length before the move and
+ * the tasks to append. It is written as a "new" pending file, the hot segment is rewritten
+ * without the tasks, and only then is the pending file committed by renaming it and appended
+ * to the segment. Appending first cuts the segment back to the recorded length, so a
+ * committed move can be finished again after a crash without archiving a task twice. A new
+ * pending file left by a crash is committed if the hot segment was already rewritten, which
+ * is the case exactly when it holds no completed tasks, and discarded otherwise, since its
+ * tasks are then still in the hot segment and are simply moved again. An append that fails
+ * is cut off the same way, so later moves never land behind a torn gzip member.
+ *
+ * A segment that turns out to be damaged is read up to the damage, and counted in
+ * {@link #getArchiveReport()}.
+ */
+public class ArchiveStorage extends Storage {
+    private static final String SEGMENT_INFIX = ".archive-";
+    private static final String SEGMENT_SUFFIX = ".gz";
+    private static final String PENDING_SUFFIX = ".archiving";
+    private static final String NEW_PENDING_SUFFIX = ".archiving.new";
+    private static final String PENDING_DELIMITER = " | ";
+
+    private final File hotFile;
+    private final File pendingFile;
+    private final File newPendingFile;
+    private final Clock clock;
+    private volatile LoadReport archiveReport = LoadReport.empty();
+
+    /**
+     * Constructs an ArchiveStorage that names new segments after the current month.
+     *
+     * @param filePath the path to the hot segment
+     */
+    public ArchiveStorage(String filePath) {
+        this(filePath, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Constructs an ArchiveStorage that names new segments using the given clock.
+     *
+     * @param filePath the path to the hot segment
+     * @param clock the clock deciding which segment completed tasks go to
+     */
+    public ArchiveStorage(String filePath, Clock clock) {
+        super(filePath);
+        this.hotFile = new File(filePath).getAbsoluteFile();
+        this.pendingFile = new File(filePath + PENDING_SUFFIX);
+        this.newPendingFile = new File(filePath + NEW_PENDING_SUFFIX);
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the hot segment, archiving any completed tasks it still holds after finishing a
+     * move that was interrupted. If they cannot be archived, they stay in the working list.
+     */
+    @Override
+    public synchronized List<Task> load() {
+        List<Task> tasks = super.load();
+        List<Task> open = new ArrayList<>(tasks.size());
+        List<Task> completed = new ArrayList<>();
+        for (Task task : tasks) {
+            (task.isDone() ? completed : open).add(task);
+        }
+        if (newPendingFile.exists() && (!completed.isEmpty() || !newPendingFile.renameTo(pendingFile))) {
+            newPendingFile.delete();
+        }
+        if (pendingFile.exists() && !finishMove()) {
+            return tasks;
+        }
+        if (completed.isEmpty() || getLoadReport().isReadOnly()) {
+            return tasks;
+        }
+
+        File segment = segmentFor(YearMonth.now(clock));
+        try {
+            writePendingMove(segment, completed);
+        } catch (IOException e) {
+            newPendingFile.delete();
+            return tasks;
+        }
+        if (!saveNow(open).isSuccessful()) {
+            newPendingFile.delete();
+            return tasks;
+        }
+        if (!newPendingFile.renameTo(pendingFile)) {
+            // Put the completed tasks back, so that the uncommitted move is discarded.
+            if (saveNow(tasks).isSuccessful()) {
+                newPendingFile.delete();
+            }
+            return tasks;
+        }
+        // If the append fails, the committed move is finished by the next load.
+        finishMove();
+        return open;
+    }
+
+    /**
+     * Reads every archive segment, oldest first, followed by the tasks of a committed move
+     * that has not been appended to its segment yet.
+     */
+    @Override
+    public synchronized List<Task> loadArchive() {
+        List<Task> archived = new ArrayList<>();
+        int damaged = 0;
+        for (File segment : listSegments()) {
+            if (!readSegment(segment, archived)) {
+                damaged++;
+            }
+        }
+        if (pendingFile.exists()) {
+            try {
+                List<String> lines = Files.readAllLines(pendingFile.toPath(), StandardCharsets.UTF_8);
+                for (String line : lines.subList(Math.min(1, lines.size()), lines.size())) {
+                    Task task = parseTask(line.trim());
+                    if (task != null) {
+                        archived.add(task);
+                    }
+                }
+            } catch (IOException e) {
+                // The move is still finished by the next load.
+            }
+        }
+        archiveReport = LoadReport.of(archived.size(), damaged);
+        return archived;
+    }
+
+    /**
+     * Returns how much of the archive the last {@link #loadArchive()} could read. Since a
+     * damaged segment cannot be read past the damage, the lost count is the number of damaged
+     * segments rather than of tasks.
+     */
+    @Override
+    public LoadReport getArchiveReport() {
+        return archiveReport;
+    }
+
+    /**
+     * Returns the archive segments of this storage, oldest first.
+     *
+     * @return the segment files
+     */
+    public File[] listSegments() {
+        String prefix = hotFile.getName() + SEGMENT_INFIX;
+        File[] segments = hotFile.getParentFile().listFiles((dir, name) ->
+                name.startsWith(prefix) && name.endsWith(SEGMENT_SUFFIX));
+        if (segments == null) {
+            return new File[0];
+        }
+        // yyyy-MM names sort chronologically.
+        Arrays.sort(segments);
+        return segments;
+    }
+
+    private File segmentFor(YearMonth month) {
+        return new File(hotFile.getParentFile(), hotFile.getName() + SEGMENT_INFIX + month + SEGMENT_SUFFIX);
+    }
+
+    /**
+     * Writes the new pending file of a move: the segment's name and current length, then the
+     * tasks to append to it.
+     */
+    private void writePendingMove(File segment, List<Task> tasks) throws IOException {
+        writeAtomically(newPendingFile, out -> {
+            Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            writer.write(segment.getName() + PENDING_DELIMITER + segment.length() + "\n");
+            for (Task task : tasks) {
+                writer.write(formatTask(task));
+                writer.write('\n');
+            }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Appends the tasks of the committed pending file to its segment, after cutting the
+     * segment back to the length it had before the move, and then deletes the pending file.
+     *
+     * @return true if the move is complete
+     */
+    private boolean finishMove() {
+        List<String> lines;
+        try {
+            lines = Files.readAllLines(pendingFile.toPath(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            return false;
+        }
+        String header = lines.isEmpty() ? "" : lines.get(0);
+        int delimiter = header.lastIndexOf(PENDING_DELIMITER);
+        if (delimiter <= 0) {
+            return false;
+        }
+        File segment = new File(hotFile.getParentFile(), header.substring(0, delimiter));
+        long length;
+        try {
+            length = Long.parseLong(header.substring(delimiter + PENDING_DELIMITER.length()));
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        try {
+            truncate(segment, length);
+            appendToSegment(segment, lines.subList(1, lines.size()));
+        } catch (IOException e) {
+            try {
+                truncate(segment, length);
+            } catch (IOException truncateFailure) {
+                // The next load cuts the segment back before it appends again.
+            }
+            return false;
+        }
+        return pendingFile.delete();
+    }
+
+    private static void truncate(File segment, long length) throws IOException {
+        if (segment.length() <= length) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(segment.toPath(), StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        }
+    }
+
+    /**
+     * Appends task lines to a segment as a new gzip member. Readers treat concatenated
+     * members as one stream, so earlier content never has to be recompressed.
+     */
+    private void appendToSegment(File segment, List<String> lines) throws IOException {
+        try (FileOutputStream stream = new FileOutputStream(segment, true)) {
+            GZIPOutputStream gzip = new GZIPOutputStream(stream);
+            Writer writer = new OutputStreamWriter(gzip, StandardCharsets.UTF_8);
+            for (String line : lines) {
+                writer.write(line);
+                writer.write('\n');
+            }
+            writer.flush();
+            gzip.finish();
+            if (isDurable()) {
+                stream.getChannel().force(false);
+            }
+        }
+    }
+
+    /**
+     * Adds the tasks of a segment to the list.
+     *
+     * @return false if the segment is damaged, in which case only the tasks before the damage
+     *     were added
+     */
+    private boolean readSegment(File segment, List<Task> archived) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(new FileInputStream(segment)), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Task task = line.isBlank() ? null : parseTask(line.trim());
+                if (task != null) {
+                    archived.add(task);
+                }
+            }
+        } catch (IOException e) {
+            // Keep whatever was read before the segment turned out to be damaged.
+            return false;
+        }
+        return true;
+    }
+}
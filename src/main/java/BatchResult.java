@@ -0,0 +1,80 @@
+package chatbot;
+
+import java.util.List;
+
+/**
+ * Describes how a batch of commands run by {@link ChatBot#executeBatch(List, boolean)} ended:
+ * either committed and saved once, or rolled back at the line that failed in strict mode.
+ */
+public class BatchResult {
+    private static final int NO_FAILED_LINE = -1;
+
+    private final List<String> responses;
+    private final int failedLine;
+    private final SaveResult saveResult;
+
+    private BatchResult(List<String> responses, int failedLine, SaveResult saveResult) {
+        this.responses = List.copyOf(responses);
+        this.failedLine = failedLine;
+        this.saveResult = saveResult;
+    }
+
+    /**
+     * Returns the result of a batch whose changes were kept and saved.
+     *
+     * @param responses the reply to each command that ran, in order
+     * @param saveResult the outcome of the single save at the end
+     * @return the result
+     */
+    public static BatchResult committed(List<String> responses, SaveResult saveResult) {
+        return new BatchResult(responses, NO_FAILED_LINE, saveResult);
+    }
+
+    /**
+     * Returns the result of a batch whose changes were undone because a command failed.
+     *
+     * @param responses the reply to each command that ran, the failed one last
+     * @param failedLine the 0-based index of the line that failed
+     * @return the result
+     */
+    public static BatchResult rolledBack(List<String> responses, int failedLine) {
+        assert failedLine >= 0 : "failedLine must not be negative";
+        return new BatchResult(responses, failedLine, SaveResult.success());
+    }
+
+    /**
+     * Returns the reply to each command that ran, in order. Blank lines have none.
+     *
+     * @return the replies
+     */
+    public List<String> getResponses() {
+        return responses;
+    }
+
+    /**
+     * Returns whether the batch was rolled back.
+     *
+     * @return true if no change of the batch was kept
+     */
+    public boolean isRolledBack() {
+        return failedLine != NO_FAILED_LINE;
+    }
+
+    /**
+     * Returns the line that made a strict batch roll back.
+     *
+     * @return the 0-based line index, or -1 if the batch was committed
+     */
+    public int getFailedLine() {
+        return failedLine;
+    }
+
+    /**
+     * Returns the outcome of saving a committed batch.
+     *
+     * @return the save result; successful for a rolled-back batch, which saves nothing
+     */
+    public SaveResult getSaveResult() {
+        return saveResult;
+    }
+}
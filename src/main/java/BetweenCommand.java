@@ -0,0 +1,55 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents a command to list the dated tasks that fall on a day or within a range of days.
+ * A task matches if any day of its span (its due date, the days an event runs, or the
+ * period of a do-within task) lies in the range.
+ */
+public class BetweenCommand extends Command {
+    private final LocalDate from;
+    private final LocalDate to;
+
+    /**
+     * Constructs a BetweenCommand for a single day.
+     *
+     * @param date the day
+     */
+    public BetweenCommand(LocalDate date) {
+        this(date, date);
+    }
+
+    /**
+     * Constructs a BetweenCommand for a range of days.
+     *
+     * @param from the first day, inclusive
+     * @param to the last day, inclusive, not before {@code from}
+     */
+    public BetweenCommand(LocalDate from, LocalDate to) {
+        assert !from.isAfter(to) : "from must not be after to";
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Lists the matching tasks by start date, numbered by their position in the list.
+     *
+     * @param tasks the list of tasks
+     * @param storage the storage handler (not used)
+     * @return the matching tasks, or a message saying there are none
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        assert tasks != null && storage != null : "tasks and storage must not be null";
+        String range = from.equals(to)
+                ? "on " + DateTimeParser.formatDate(from)
+                : "between " + DateTimeParser.formatDate(from) + " and " + DateTimeParser.formatDate(to);
+        List<Integer> positions = tasks.getDateIndex().findBetween(from, to);
+        if (positions.isEmpty()) {
+            return "You have nothing scheduled " + range + ".";
+        }
+        return DueCommand.numbered(tasks, positions, "Here are your tasks " + range + ":");
+    }
+}
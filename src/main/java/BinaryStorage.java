@@ -0,0 +1,225 @@
+package chatbot;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Storage that keeps tasks in the binary format described by {@link BinaryTaskCodec}.
+ *
+ * The file is memory-mapped on load, so no text is tokenized and no dates are parsed.
+ * A file still in the text format is converted once, in place, the first time it is loaded.
+ * Any other file without a readable header, such as one with a damaged header or one of another
+ * format version, is left alone: it is copied aside, nothing is loaded, and the failure is
+ * reported in {@link #getLoadReport()}.
+ * Files that cannot be mapped, including any larger than 2 GB, are kept in the same way.
+ * Every record is checked against its checksum on load; damaged records are skipped and
+ * counted in {@link #getLoadReport()}.
+ *
+ * In lazy mode, {@link #load()} only indexes record offsets and returns a {@link LazyTaskList}
+ * that decodes tasks as they are accessed, so start-up cost and heap use follow the tasks
+ * actually touched rather than the size of the file. In off-heap mode, the file is mapped
+ * privately and {@link #load()} returns an {@link OffHeapTaskList} that uses the mapped
+ * records as the live list, keeping the tasks out of the Java heap altogether.
+ */
+public class BinaryStorage extends Storage {
+    /**
+     * Represents the form of the list returned by {@link #load()}.
+     */
+    public enum LoadMode {
+        /** Every task is decoded into a heap list. */
+        EAGER,
+        /** A {@link LazyTaskList} decodes tasks as they are accessed. */
+        LAZY,
+        /** An {@link OffHeapTaskList} keeps the records in the mapped file. */
+        OFF_HEAP
+    }
+
+    private static final byte DELETE = 0x7F;
+
+    private final LoadMode loadMode;
+
+    /**
+     * Constructs a BinaryStorage with the given file path that decodes every task on load.
+     *
+     * @param filePath the path to the storage file
+     */
+    public BinaryStorage(String filePath) {
+        this(filePath, LoadMode.EAGER);
+    }
+
+    /**
+     * Constructs a BinaryStorage with the given file path.
+     *
+     * @param filePath the path to the storage file
+     * @param isLazy whether {@link #load()} returns a view that decodes tasks on demand
+     */
+    public BinaryStorage(String filePath, boolean isLazy) {
+        this(filePath, isLazy ? LoadMode.LAZY : LoadMode.EAGER);
+    }
+
+    /**
+     * Constructs a BinaryStorage with the given file path and form of loaded list.
+     *
+     * @param filePath the path to the storage file
+     * @param loadMode the form of the list returned by {@link #load()}
+     */
+    public BinaryStorage(String filePath, LoadMode loadMode) {
+        super(filePath);
+        this.loadMode = loadMode;
+    }
+
+    /**
+     * Loads tasks from the binary storage file.
+     * A text storage file is converted to the binary format first.
+     * If the file does not exist, an empty list is returned. If it cannot be read, it is kept
+     * as described by {@link Storage#keepUnreadable(int)}.
+     */
+    @Override
+    public List<Task> load() {
+        List<Task> tasks = loadTasks();
+        if (loadMode == LoadMode.OFF_HEAP && !(tasks instanceof OffHeapTaskList)) {
+            return new OffHeapTaskList(tasks);
+        }
+        return tasks;
+    }
+
+    private List<Task> loadTasks() {
+        File file = new File(getFilePath());
+        if (!file.exists()) {
+            return new ArrayList<>();
+        }
+
+        MappedByteBuffer buffer;
+        try {
+            buffer = map(file);
+        } catch (IOException | IllegalArgumentException e) {
+            return keepUnreadable(1);
+        }
+        if (!BinaryTaskCodec.hasValidHeader(buffer)) {
+            if (isTextFile(buffer)) {
+                return StorageConverter.convertInPlace(getFilePath());
+            }
+            boolean hasMagic = buffer.limit() >= BinaryTaskCodec.HEADER_SIZE
+                    && buffer.getInt(0) == BinaryTaskCodec.MAGIC;
+            return keepUnreadable(Math.max(hasMagic ? BinaryTaskCodec.readRecordCount(buffer) : 0, 1));
+        }
+        if (loadMode == LoadMode.OFF_HEAP) {
+            OffHeapTaskList tasks = OffHeapTaskList.index(buffer);
+            setLoadReport(LoadReport.of(tasks.size(), tasks.getLostRecordCount()));
+            return tasks;
+        }
+        if (loadMode == LoadMode.LAZY) {
+            LazyTaskList tasks = LazyTaskList.index(buffer, LazyTaskList.DEFAULT_CACHE_SIZE);
+            setLoadReport(LoadReport.of(tasks.size(), tasks.getLostRecordCount()));
+            return tasks;
+        }
+        return readRecords(buffer);
+    }
+
+    /**
+     * Returns whether the file is in the text storage format: it does not start with the
+     * binary magic number, and it is valid text without control characters other than line
+     * breaks and tabs. Binary files always hold zero bytes in their header and records.
+     */
+    private static boolean isTextFile(ByteBuffer buffer) {
+        if (buffer.limit() >= Integer.BYTES && buffer.getInt(0) == BinaryTaskCodec.MAGIC) {
+            return false;
+        }
+        for (int i = 0; i < buffer.limit(); i++) {
+            byte b = buffer.get(i);
+            if (b >= 0 && b < ' ' && b != '\n' && b != '\r' && b != '\t' || b == DELETE) {
+                return false;
+            }
+        }
+        try {
+            Charset.defaultCharset().newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(buffer.duplicate());
+            return true;
+        } catch (CharacterCodingException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Maps the whole file. Off-heap lists write to their buffer, so the file is then mapped
+     * privately: changes stay in memory and only reach the file through a save.
+     */
+    private MappedByteBuffer map(File file) throws IOException {
+        if (loadMode != LoadMode.OFF_HEAP) {
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            return channel.map(FileChannel.MapMode.PRIVATE, 0, channel.size());
+        }
+    }
+
+    /**
+     * Copies a lazy or off-heap list cheaply instead of decoding every task into a new list.
+     */
+    @Override
+    protected List<Task> snapshot(List<Task> tasks) {
+        if (tasks instanceof LazyTaskList) {
+            return ((LazyTaskList) tasks).snapshot();
+        }
+        if (tasks instanceof OffHeapTaskList) {
+            return ((OffHeapTaskList) tasks).snapshot();
+        }
+        return super.snapshot(tasks);
+    }
+
+    /**
+     * Writes every task to the given file in the binary format, replacing its content.
+     * Like every save, this goes through a temporary file that is moved over the old one,
+     * so a reader that still has the old file mapped (such as a {@link LazyTaskList}) is
+     * never exposed to a half-written file.
+     */
+    @Override
+    protected void writeTasks(File file, List<Task> tasks) throws IOException {
+        writeAtomically(file, stream -> {
+            DataOutputStream out = new DataOutputStream(stream);
+            BinaryTaskCodec.writeHeader(out, tasks.size());
+            if (tasks instanceof LazyTaskList) {
+                ((LazyTaskList) tasks).writeRecords(out);
+            } else if (tasks instanceof OffHeapTaskList) {
+                ((OffHeapTaskList) tasks).writeRecords(out);
+            } else {
+                for (Task task : tasks) {
+                    BinaryTaskCodec.writeTask(out, task);
+                }
+            }
+            out.flush();
+        });
+    }
+
+    /**
+     * Decodes every intact record. Damaged regions are skipped and counted in the load report.
+     */
+    private List<Task> readRecords(MappedByteBuffer buffer) {
+        int count = BinaryTaskCodec.readRecordCount(buffer);
+        List<Task> tasks = new ArrayList<>(Math.max(count, 0));
+        BinaryTaskCodec codec = new BinaryTaskCodec();
+        int lost = codec.scan(buffer, (offset, size) -> {
+            Task task = BinaryTaskCodec.isDeleted(buffer, offset) ? null : codec.readTask(buffer, offset);
+            if (task != null) {
+                tasks.add(task);
+            }
+        });
+        setLoadReport(LoadReport.of(tasks.size(), lost));
+        return tasks;
+    }
+}
@@ -0,0 +1,426 @@
+package chatbot;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.zip.CRC32C;
+
+/**
+ * Encodes and decodes tasks in the binary storage format.
+ *
+ * A file starts with a header of magic number, format version and record count.
+ * Every record then has the same fixed layout:
+ * <pre>
+ *   byte  type          T, D, E or P
+ *   byte  flags         bit 0 set if the task is done, bit 1 set if the record is deleted
+ *   long  first date    Deadline.by, or the start of an Event / DoWithinTask
+ *   long  second date   the end of an Event / DoWithinTask, otherwise 0
+ *   int   length        number of UTF-8 bytes in the description
+ *   byte[length]        the description
+ *   int   checksum      CRC32C of the record, excluding the flags byte and the checksum
+ * </pre>
+ * Plain dates are stored as epoch days and Event times as epoch minutes (UTC).
+ * Since the flags byte sits at a fixed position in every record, a task can be marked,
+ * unmarked or deleted (tombstoned) by rewriting that one byte in place. Readers skip
+ * deleted records; the record count in the header includes them. The flags byte is left out
+ * of the checksum for the same reason, and is validated by requiring unused bits to be zero.
+ *
+ * {@link #scan(ByteBuffer, RecordVisitor)} checks every record against its checksum. After a
+ * damaged region it resynchronises on the next position that holds an intact record, so one
+ * bad region costs only the records inside it.
+ *
+ * Writing is stateless. Reading goes through an instance, which reuses one byte array
+ * for descriptions and one checksum, so a single codec should not be shared between threads.
+ */
+public class BinaryTaskCodec {
+    /** Magic number identifying a binary task file ("CBTK"). */
+    public static final int MAGIC = 0x4342544B;
+    /** Version of the binary format; files of any other version are not read. */
+    public static final short VERSION = 3;
+    /** Size in bytes of the file header. */
+    public static final int HEADER_SIZE = 10;
+    /** Size in bytes of the fixed part of a record, before the description. */
+    public static final int RECORD_HEADER_SIZE = 22;
+    /** Size in bytes of the checksum that ends every record. */
+    public static final int CHECKSUM_SIZE = 4;
+    /** Position of the record count within the file header. */
+    public static final int RECORD_COUNT_OFFSET = 6;
+    /** Position of the flags byte within a record. */
+    public static final int FLAGS_OFFSET = 1;
+    /** Flag bit set on records of done tasks. */
+    public static final byte FLAG_DONE = 1;
+    /** Flag bit set on records that have been deleted in place. */
+    public static final byte FLAG_DELETED = 2;
+
+    /** Type byte of a {@link Todo} record. */
+    public static final byte TYPE_TODO = 'T';
+    /** Type byte of a {@link Deadline} record. */
+    public static final byte TYPE_DEADLINE = 'D';
+    /** Type byte of an {@link Event} record. */
+    public static final byte TYPE_EVENT = 'E';
+    /** Type byte of a {@link DoWithinTask} record. */
+    public static final byte TYPE_DOWITHIN = 'P';
+
+    private static final int OFFSET_FIRST_DATE = 2;
+    private static final int OFFSET_SECOND_DATE = OFFSET_FIRST_DATE + Long.BYTES;
+    private static final int OFFSET_LENGTH = OFFSET_SECOND_DATE + Long.BYTES;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final int INITIAL_SCRATCH_SIZE = 256;
+    private static final int KNOWN_FLAGS = FLAG_DONE | FLAG_DELETED;
+
+    private final CRC32C checksum = new CRC32C();
+    private byte[] scratch = new byte[INITIAL_SCRATCH_SIZE];
+    private ByteBuffer view;
+    private ByteBuffer viewSource;
+
+    /**
+     * Receives the records found by {@link #scan(ByteBuffer, RecordVisitor)}.
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        /**
+         * Called once per intact record, in file order. Deleted records are included.
+         *
+         * @param offset the absolute offset of the record
+         * @param size the size of the record in bytes
+         */
+        void visit(int offset, int size);
+    }
+
+    /**
+     * Writes the file header.
+     *
+     * @param out the output to write to
+     * @param recordCount the number of records that follow
+     * @throws IOException if writing fails
+     */
+    public static void writeHeader(DataOutput out, int recordCount) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+        out.writeInt(recordCount);
+    }
+
+    /**
+     * Returns whether the buffer starts with a header this codec can read.
+     *
+     * @param buffer the buffer positioned at the start of the file
+     * @return true if the magic number and version match
+     */
+    public static boolean hasValidHeader(ByteBuffer buffer) {
+        return buffer.limit() >= HEADER_SIZE && buffer.getInt(0) == MAGIC && readVersion(buffer) == VERSION;
+    }
+
+    /**
+     * Returns the format version stored in the header.
+     *
+     * @param buffer the buffer positioned at the start of the file
+     * @return the format version
+     */
+    public static short readVersion(ByteBuffer buffer) {
+        return buffer.getShort(Integer.BYTES);
+    }
+
+    /**
+     * Returns the record count stored in the header.
+     *
+     * @param buffer the buffer positioned at the start of the file
+     * @return the number of records in the file
+     */
+    public static int readRecordCount(ByteBuffer buffer) {
+        return buffer.getInt(RECORD_COUNT_OFFSET);
+    }
+
+    /**
+     * Writes a single task as one record.
+     *
+     * @param out the output to write to
+     * @param task the task to encode
+     * @throws IOException if writing fails
+     */
+    public static void writeTask(DataOutput out, Task task) throws IOException {
+        byte type = TYPE_TODO;
+        long firstDate = 0;
+        long secondDate = 0;
+        if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+            firstDate = toEpochDay(((Deadline) task).getBy());
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            type = TYPE_EVENT;
+            firstDate = toEpochMinute(event.getFrom());
+            secondDate = toEpochMinute(event.getTo());
+        } else if (task instanceof DoWithinTask) {
+            DoWithinTask doWithin = (DoWithinTask) task;
+            type = TYPE_DOWITHIN;
+            firstDate = toEpochDay(doWithin.getFrom());
+            secondDate = toEpochDay(doWithin.getTo());
+        }
+        byte[] description = task.getDescription().getBytes(StandardCharsets.UTF_8);
+        byte[] header = new byte[RECORD_HEADER_SIZE];
+        ByteBuffer.wrap(header)
+                .put(type)
+                .put(flagsFor(task.isDone()))
+                .putLong(firstDate)
+                .putLong(secondDate)
+                .putInt(description.length);
+
+        CRC32C crc = new CRC32C();
+        crc.update(header, 0, FLAGS_OFFSET);
+        crc.update(header, FLAGS_OFFSET + 1, RECORD_HEADER_SIZE - FLAGS_OFFSET - 1);
+        crc.update(description);
+
+        out.write(header);
+        out.write(description);
+        out.writeInt((int) crc.getValue());
+    }
+
+    /**
+     * Returns the total size of the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return the record size in bytes, or -1 if the record does not fit in the buffer
+     */
+    public static int recordSize(ByteBuffer buffer, int offset) {
+        int fixedSize = RECORD_HEADER_SIZE + CHECKSUM_SIZE;
+        if (offset < 0 || offset > buffer.limit() - fixedSize) {
+            return -1;
+        }
+        int length = getDescriptionLength(buffer, offset);
+        if (length < 0 || length > buffer.limit() - offset - fixedSize) {
+            return -1;
+        }
+        return fixedSize + length;
+    }
+
+    /**
+     * Visits every intact record of a file and works out how many were lost to damage.
+     * A damaged region is skipped up to the next position holding an intact record.
+     *
+     * @param buffer the buffer holding the whole file, starting with a valid header
+     * @param visitor receives each intact record
+     * @return the number of records lost: those missing from the header's count, and at
+     *     least one for every damaged region
+     */
+    public int scan(ByteBuffer buffer, RecordVisitor visitor) {
+        int count = Math.max(readRecordCount(buffer), 0);
+        int limit = buffer.limit();
+        int intact = 0;
+        int damagedRegions = 0;
+        int offset = HEADER_SIZE;
+        while (offset < limit) {
+            if (isIntact(buffer, offset)) {
+                int size = recordSize(buffer, offset);
+                visitor.visit(offset, size);
+                intact++;
+                offset += size;
+                continue;
+            }
+            damagedRegions++;
+            offset = nextIntactRecord(buffer, offset + 1);
+            if (offset < 0) {
+                break;
+            }
+        }
+        return Math.max(count - intact, damagedRegions);
+    }
+
+    /**
+     * Returns whether a well-formed record whose checksum matches starts at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return true if the record is intact
+     */
+    public boolean isIntact(ByteBuffer buffer, int offset) {
+        int size = recordSize(buffer, offset);
+        if (size < 0 || !isKnownType(buffer.get(offset))
+                || (buffer.get(offset + FLAGS_OFFSET) & ~KNOWN_FLAGS) != 0) {
+            return false;
+        }
+        return computeChecksum(buffer, offset, size) == buffer.getInt(offset + size - CHECKSUM_SIZE);
+    }
+
+    /**
+     * Returns the offset of the first intact record at or after the given offset.
+     *
+     * @param buffer the buffer holding the records
+     * @param from the absolute offset to start looking at
+     * @return the offset of the record, or -1 if there is none
+     */
+    public int nextIntactRecord(ByteBuffer buffer, int from) {
+        int last = buffer.limit() - RECORD_HEADER_SIZE - CHECKSUM_SIZE;
+        for (int offset = from; offset <= last; offset++) {
+            // The type byte rules out almost every position before any checksum is computed.
+            if (isKnownType(buffer.get(offset)) && isIntact(buffer, offset)) {
+                return offset;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns the done flag of the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return true if the record is marked as done
+     */
+    public static boolean isDone(ByteBuffer buffer, int offset) {
+        return (buffer.get(offset + FLAGS_OFFSET) & FLAG_DONE) != 0;
+    }
+
+    /**
+     * Returns whether the record starting at the given offset has been deleted in place.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return true if the record is a tombstone
+     */
+    public static boolean isDeleted(ByteBuffer buffer, int offset) {
+        return (buffer.get(offset + FLAGS_OFFSET) & FLAG_DELETED) != 0;
+    }
+
+    /**
+     * Returns the type byte of the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return one of the {@code TYPE_} constants
+     */
+    public static byte getType(ByteBuffer buffer, int offset) {
+        return buffer.get(offset);
+    }
+
+    /**
+     * Returns the first date field of the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return an epoch day, or an epoch minute for an Event
+     */
+    public static long getFirstDate(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + OFFSET_FIRST_DATE);
+    }
+
+    /**
+     * Returns the second date field of the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return an epoch day, or an epoch minute for an Event
+     */
+    public static long getSecondDate(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset + OFFSET_SECOND_DATE);
+    }
+
+    /**
+     * Returns the number of UTF-8 bytes in the description of the record starting at the
+     * given offset. The description itself starts {@link #RECORD_HEADER_SIZE} bytes in.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return the description length in bytes
+     */
+    public static int getDescriptionLength(ByteBuffer buffer, int offset) {
+        return buffer.getInt(offset + OFFSET_LENGTH);
+    }
+
+    /**
+     * Converts an Event date field back to a date and time.
+     *
+     * @param epochMinute minutes since the epoch, in UTC
+     * @return the date and time
+     */
+    public static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns the flags byte for a live record.
+     *
+     * @param isDone whether the task is done
+     * @return the flags byte
+     */
+    public static byte flagsFor(boolean isDone) {
+        return isDone ? FLAG_DONE : 0;
+    }
+
+    /**
+     * Decodes the record starting at the given offset.
+     *
+     * @param buffer the buffer holding the record
+     * @param offset the absolute offset of the record
+     * @return the decoded task, or null if the record is malformed
+     */
+    public Task readTask(ByteBuffer buffer, int offset) {
+        // Only the header and description have to fit; the checksum follows them.
+        if (offset < 0 || offset > buffer.limit() - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int length = getDescriptionLength(buffer, offset);
+        if (length < 0 || length > buffer.limit() - offset - RECORD_HEADER_SIZE) {
+            return null;
+        }
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(offset + RECORD_HEADER_SIZE, scratch, 0, length);
+        String description = new String(scratch, 0, length, StandardCharsets.UTF_8);
+
+        long firstDate = getFirstDate(buffer, offset);
+        long secondDate = getSecondDate(buffer, offset);
+        Task task;
+        switch (buffer.get(offset)) {
+        case TYPE_TODO:
+            task = new Todo(description);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(description, LocalDate.ofEpochDay(firstDate));
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, fromEpochMinute(firstDate), fromEpochMinute(secondDate));
+            break;
+        case TYPE_DOWITHIN:
+            task = new DoWithinTask(description, LocalDate.ofEpochDay(firstDate),
+                    LocalDate.ofEpochDay(secondDate));
+            break;
+        default:
+            return null;
+        }
+        if (isDone(buffer, offset)) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    private int computeChecksum(ByteBuffer buffer, int offset, int size) {
+        if (viewSource != buffer) {
+            view = buffer.duplicate();
+            viewSource = buffer;
+        }
+        checksum.reset();
+        checksum.update(buffer.get(offset));
+        view.clear();
+        view.limit(offset + size - CHECKSUM_SIZE);
+        view.position(offset + FLAGS_OFFSET + 1);
+        checksum.update(view);
+        return (int) checksum.getValue();
+    }
+
+    private static boolean isKnownType(byte type) {
+        return type == TYPE_TODO || type == TYPE_DEADLINE || type == TYPE_EVENT || type == TYPE_DOWITHIN;
+    }
+
+    private static long toEpochDay(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+}
@@ -0,0 +1,159 @@
+package chatbot;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+
+/**
+ * A Burkhard-Keller tree: a set of words that can report every word within a given edit
+ * distance of a query without comparing the query to all of them.
+ *
+ * Each child of a node is filed under its Levenshtein distance from the node's word. By the
+ * triangle inequality, a word within {@code k} of the query can only sit under a child whose
+ * distance from the node is within {@code k} of the query's own distance from the node, so
+ * every other child is skipped together with its subtree.
+ *
+ * Words cannot be removed. This class is not thread-safe.
+ */
+public class BkTree {
+    private static final int[] NO_DISTANCES = new int[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    /**
+     * Receives the words found by a query.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Called once per word within the distance asked for, in no particular order.
+         *
+         * @param word the word
+         * @param distance its edit distance from the query
+         */
+        void visit(String word, int distance);
+    }
+
+    private static final class Node {
+        final String word;
+        int[] distances = NO_DISTANCES;
+        Node[] children = NO_CHILDREN;
+
+        Node(String word) {
+            this.word = word;
+        }
+
+        Node childAt(int distance) {
+            for (int i = 0; i < distances.length; i++) {
+                if (distances[i] == distance) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        void addChild(int distance, Node child) {
+            distances = Arrays.copyOf(distances, distances.length + 1);
+            children = Arrays.copyOf(children, children.length + 1);
+            distances[distances.length - 1] = distance;
+            children[children.length - 1] = child;
+        }
+    }
+
+    private Node root;
+    private int size;
+
+    /**
+     * Adds a word, unless it is already in the tree.
+     *
+     * @param word the word to add
+     */
+    public void add(String word) {
+        if (root == null) {
+            root = new Node(word);
+            size++;
+            return;
+        }
+        Node node = root;
+        while (true) {
+            int distance = distance(word, node.word);
+            if (distance == 0) {
+                return;
+            }
+            Node child = node.childAt(distance);
+            if (child == null) {
+                node.addChild(distance, new Node(word));
+                size++;
+                return;
+            }
+            node = child;
+        }
+    }
+
+    /**
+     * Visits every word within the given edit distance of a query.
+     *
+     * @param word the query
+     * @param maxDistance the largest distance to report
+     * @param visitor receives the words found
+     */
+    public void query(String word, int maxDistance, Visitor visitor) {
+        if (root == null) {
+            return;
+        }
+        Deque<Node> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            Node node = pending.pop();
+            int distance = distance(word, node.word);
+            if (distance <= maxDistance) {
+                visitor.visit(node.word, distance);
+            }
+            for (int i = 0; i < node.distances.length; i++) {
+                if (Math.abs(node.distances[i] - distance) <= maxDistance) {
+                    pending.push(node.children[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of words.
+     *
+     * @return the word count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the Levenshtein distance between two words: the fewest single-character
+     * insertions, deletions and substitutions that turn one into the other.
+     *
+     * @param a one word
+     * @param b the other word
+     * @return the edit distance
+     */
+    public static int distance(String a, String b) {
+        if (a.length() < b.length()) {
+            return distance(b, a);
+        }
+        // Two rows of the usual table, sized by the shorter word.
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char c = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (c == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -1,15 +1,18 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to exit the application.
+ * The list is saved once more, unless the storage has already written every change.
  */
 public class ByeCommand extends Command {
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
-        storage.save(tasks);
-        return "See you later! 👋 Take care and stay productive!";
+    public String execute(TaskList tasks, Storage storage) {
+        SaveResult saved = storage.persistsEachChange() ? SaveResult.success() : tasks.save();
+        if (saved.isSuccessful()) {
+            saved = storage.flush();
+        }
+        storage.close();
+        return withSaveStatus("See you later! 👋 Take care and stay productive!", saved);
     }
 
     @Override
@@ -1,15 +1,36 @@
 package chatbot;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
  * Main class for the ChatBot application.
  * Uses an object-oriented design with Command pattern.
  */
 public class ChatBot {
+    /** System property giving the write-behind window in milliseconds; 0 or unset saves synchronously. */
+    public static final String WRITE_BEHIND_PROPERTY = "chatbot.writeBehindMs";
+    /** System property that keeps tasks in a columnar {@link TaskStore} when set to true. */
+    public static final String COLUMNAR_PROPERTY = "chatbot.columnar";
+    /** Command-line flag that runs a script instead of the interactive loop. */
+    public static final String BATCH_FLAG = "--batch";
+    /** Command-line flag that rolls a batch back if any of its commands fails. */
+    public static final String STRICT_FLAG = "--strict";
+    /** Script name that reads the batch from standard input. */
+    private static final String STDIN_SCRIPT = "-";
+
     private final Storage storage;
     private final Ui ui;
-    private final ArrayList<Task> tasks;
+    private final TaskList tasks;
+    private String lastInput;
+    private Command lastCommand;
 
     /**
      * Constructs a ChatBot instance.
@@ -17,9 +38,48 @@ public class ChatBot {
      * @param filePath the path to the storage file
      */
     public ChatBot(String filePath) {
+        this(filePath, StorageMode.fromProperty());
+    }
+
+    /**
+     * Constructs a ChatBot instance that persists tasks using the given storage mode.
+     *
+     * @param filePath the path to the storage file
+     * @param storageMode how tasks are persisted
+     */
+    public ChatBot(String filePath, StorageMode storageMode) {
         this.ui = new Ui();
-        this.storage = new Storage(filePath);
-        this.tasks = storage.load();
+        this.storage = storageMode.create(filePath);
+        long writeBehindMillis = Long.getLong(WRITE_BEHIND_PROPERTY, 0L);
+        if (writeBehindMillis > 0) {
+            storage.enableWriteBehind(writeBehindMillis);
+        }
+        List<Task> loaded = storage.load();
+        if (Boolean.getBoolean(COLUMNAR_PROPERTY)) {
+            loaded = new TaskStore(loaded);
+        }
+        this.tasks = new TaskList(loaded, storage);
+    }
+
+    /**
+     * Returns a warning about tasks that could not be loaded from a damaged storage file.
+     *
+     * @return the warning, or null if the whole file was read
+     */
+    public String getLoadWarning() {
+        LoadReport report = storage.getLoadReport();
+        if (!report.hasLostRecords()) {
+            return null;
+        }
+        String warning = "Warning: " + report.getLostCount() + " task(s) in your data file were damaged "
+                + "and could not be loaded.";
+        if (report.getBackupPath() != null) {
+            warning += " A copy of the file was kept at " + report.getBackupPath() + ".";
+        }
+        if (report.isReadOnly()) {
+            warning += " The file could not be read, so your changes will not be saved over it.";
+        }
+        return warning;
     }
 
     /**
@@ -29,16 +89,92 @@ public class ChatBot {
      * @return the response string from the chatbot
      */
     public String getResponse(String input) {
-        Command command = Parser.parse(input);
-        return command.execute(tasks, storage);
+        return execute(parse(input));
     }
 
     /**
      * Returns true if the given input corresponds to an exit command (e.g. bye).
+     * Asking right after {@link #getResponse(String)} for the same input reuses its command.
      */
     public boolean isExitCommand(String input) {
-        Command command = Parser.parse(input);
-        return command.isExit();
+        return parse(input).isExit();
+    }
+
+    /**
+     * Parses an input, reusing the command of the previous input if it was the same text.
+     * Commands keep only what was parsed from the input, so running one again is the same
+     * as running a fresh one.
+     */
+    private Command parse(String input) {
+        if (!input.equals(lastInput)) {
+            lastCommand = Parser.parse(input);
+            lastInput = input;
+        }
+        return lastCommand;
+    }
+
+    /**
+     * Runs every line of a script as a command, saving once at the end instead of after each
+     * change. Failing commands reply with their error and the batch carries on.
+     *
+     * @param lines the commands, one per line; blank lines are skipped
+     * @return the replies and the outcome of the save
+     */
+    public BatchResult executeBatch(List<String> lines) {
+        return executeBatch(lines, false);
+    }
+
+    /**
+     * Runs every line of a script as a command against the in-memory list, saving once at
+     * the end instead of after each change. Blank lines are skipped, and the batch ends at an
+     * exit command such as {@code bye}, which is not run.
+     *
+     * In strict mode, the first command that fails undoes every change the batch made and
+     * nothing is saved. Otherwise failing commands reply with their error and the batch
+     * carries on.
+     *
+     * @param lines the commands, one per line
+     * @param isStrict whether a failing command rolls the whole batch back
+     * @return the replies and how the batch ended
+     */
+    public BatchResult executeBatch(List<String> lines, boolean isStrict) {
+        List<String> responses = new ArrayList<>();
+        synchronized (tasks.getLock()) {
+            tasks.beginBatch();
+            try {
+                for (int i = 0; i < lines.size(); i++) {
+                    if (lines.get(i).trim().isEmpty()) {
+                        continue;
+                    }
+                    Command command = Parser.parse(lines.get(i));
+                    if (command.isExit()) {
+                        break;
+                    }
+                    boolean canExecute = command.canExecute(tasks);
+                    responses.add(command.execute(tasks, storage));
+                    if (isStrict && !canExecute) {
+                        tasks.rollbackBatch();
+                        return BatchResult.rolledBack(responses, i);
+                    }
+                }
+                return BatchResult.committed(responses, tasks.commitBatch());
+            } finally {
+                if (tasks.isInBatch()) {
+                    // A command threw; keep the list as it was saved.
+                    tasks.rollbackBatch();
+                }
+            }
+        }
+    }
+
+    /**
+     * Executes a command while holding the task list's lock, so a write-behind saver
+     * never copies the list halfway through a change.
+     */
+    private String execute(Command command) {
+        synchronized (tasks.getLock()) {
+            return command.execute(tasks, storage);
+        }
     }
 
     /**
@@ -46,11 +182,15 @@ public class ChatBot {
      */
     public void run() {
         ui.showWelcome();
+        String loadWarning = getLoadWarning();
+        if (loadWarning != null) {
+            ui.showMessage(loadWarning);
+        }
 
         while (true) {
             String input = ui.readCommand();
-            Command command = Parser.parse(input);
-            String response = command.execute(tasks, storage);
+            Command command = parse(input);
+            String response = execute(command);
             ui.showMessage(response);
 
             if (command.isExit()) {
@@ -61,12 +201,70 @@ public class ChatBot {
         ui.close();
     }
 
+    /**
+     * Runs a script from a file, or from standard input if the name is {@code -}, as one
+     * batch, and shows the reply to each command followed by how the batch ended.
+     *
+     * @param scriptPath the script file, or {@code -} for standard input
+     * @param isStrict whether a failing command rolls the whole batch back
+     */
+    public void runBatch(String scriptPath, boolean isStrict) {
+        List<String> lines;
+        try {
+            lines = STDIN_SCRIPT.equals(scriptPath) ? readLines(new BufferedReader(
+                    new InputStreamReader(System.in, Charset.defaultCharset())))
+                    : Files.readAllLines(Paths.get(scriptPath), Charset.defaultCharset());
+        } catch (IOException e) {
+            ui.showError("Oops! I couldn't read the script " + scriptPath + ": " + e.getMessage());
+            return;
+        }
+
+        BatchResult result = executeBatch(lines, isStrict);
+        result.getResponses().forEach(ui::showMessage);
+        if (result.isRolledBack()) {
+            ui.showError("Stopped at line " + (result.getFailedLine() + 1)
+                    + ", so none of the script's changes were kept.");
+        } else if (!result.getSaveResult().isSuccessful()) {
+            ui.showError("Warning: the script ran, but your changes could not be saved: "
+                    + result.getSaveResult().getErrorMessage());
+        } else {
+            ui.showMessage("Done! Ran " + result.getResponses().size() + " command(s) and saved once.");
+        }
+        storage.flush();
+        storage.close();
+    }
+
+    private static List<String> readLines(BufferedReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
     /**
      * Main entry point of the application.
      *
-     * @param args command line arguments (not used)
+     * The storage mode can be chosen with {@code -Dchatbot.storage=journal},
+     * {@code -Dchatbot.storage=binary}, {@code -Dchatbot.storage=lazy},
+     * {@code -Dchatbot.storage=offheap}, {@code -Dchatbot.storage=record} or
+     * {@code -Dchatbot.storage=archive}, and saves can be moved off the input loop with
+     * {@code -Dchatbot.writeBehindMs=<window>}.
+     * {@code -Dchatbot.columnar=true} keeps the tasks in memory in columnar form.
+     *
+     * With {@code --batch [--strict] [<script>]} the commands of the script, or of standard
+     * input if none is given, are run as one batch instead of interactively.
+     *
+     * @param args {@code --batch} and its options, or nothing for the interactive loop
      */
     public static void main(String[] args) {
-        new ChatBot("data/ChatBot.txt").run();
+        List<String> arguments = new ArrayList<>(Arrays.asList(args));
+        ChatBot chatBot = new ChatBot("data/ChatBot.txt");
+        if (!arguments.remove(BATCH_FLAG)) {
+            chatBot.run();
+            return;
+        }
+        boolean isStrict = arguments.remove(STRICT_FLAG);
+        chatBot.runBatch(arguments.isEmpty() ? STDIN_SCRIPT : arguments.get(0), isStrict);
     }
 }
@@ -0,0 +1,209 @@
+package chatbot;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * A list stored as a sequence of small arrays ("chunks") instead of one large array.
+ *
+ * Inserting or removing an element only shifts the elements of its own chunk and the chunk
+ * table, so positional changes cost O(chunk size + number of chunks) rather than O(n).
+ * Finding a position walks the chunk table, starting from the chunk found last time, so
+ * sequential access (iteration, or {@code get(i)} for increasing {@code i}) is amortised O(1).
+ *
+ * This list is not thread-safe.
+ *
+ * @param <E> the type of the elements
+ */
+public class ChunkedList<E> extends AbstractList<E> {
+    /** Maximum number of elements in one chunk. */
+    public static final int CHUNK_CAPACITY = 512;
+
+    private static final int INITIAL_CHUNKS = 4;
+
+    private Object[][] chunks = new Object[INITIAL_CHUNKS][];
+    private int[] chunkSizes = new int[INITIAL_CHUNKS];
+    private int chunkCount;
+    private int size;
+
+    /** Chunk found by the last lookup, and the list index of its first element. */
+    private int cursorChunk;
+    private int cursorStart;
+
+    /**
+     * Constructs an empty list.
+     */
+    public ChunkedList() {
+    }
+
+    /**
+     * Constructs a list holding the given elements, in order, in full chunks.
+     *
+     * @param elements the elements to copy
+     */
+    public ChunkedList(Collection<? extends E> elements) {
+        for (E element : elements) {
+            appendLast(element);
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index, size);
+        int chunk = locate(index);
+        return (E) chunks[chunk][index - cursorStart];
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index, size);
+        int chunk = locate(index);
+        Object[] elements = chunks[chunk];
+        E previous = (E) elements[index - cursorStart];
+        elements[index - cursorStart] = element;
+        return previous;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean add(E element) {
+        appendLast(element);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, E element) {
+        checkIndex(index, size + 1);
+        if (index == size) {
+            add(element);
+            return;
+        }
+        int chunk = locate(index);
+        if (chunkSizes[chunk] == CHUNK_CAPACITY) {
+            splitChunk(chunk);
+            if (index - cursorStart >= chunkSizes[chunk]) {
+                cursorStart += chunkSizes[chunk];
+                chunk++;
+                cursorChunk = chunk;
+            }
+        }
+        Object[] elements = chunks[chunk];
+        int offset = index - cursorStart;
+        System.arraycopy(elements, offset, elements, offset + 1, chunkSizes[chunk] - offset);
+        elements[offset] = element;
+        chunkSizes[chunk]++;
+        size++;
+        modCount++;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E remove(int index) {
+        checkIndex(index, size);
+        int chunk = locate(index);
+        Object[] elements = chunks[chunk];
+        int offset = index - cursorStart;
+        E removed = (E) elements[offset];
+        int chunkSize = chunkSizes[chunk];
+        System.arraycopy(elements, offset + 1, elements, offset, chunkSize - offset - 1);
+        elements[chunkSize - 1] = null;
+        chunkSizes[chunk]--;
+        size--;
+        modCount++;
+        if (chunkSizes[chunk] == 0) {
+            removeChunk(chunk);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Object[INITIAL_CHUNKS][];
+        chunkSizes = new int[INITIAL_CHUNKS];
+        chunkCount = 0;
+        size = 0;
+        cursorChunk = 0;
+        cursorStart = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns the chunk holding the given index and moves the cursor there.
+     */
+    private int locate(int index) {
+        int chunk = cursorChunk;
+        int start = cursorStart;
+        if (index < start / 2) {
+            chunk = 0;
+            start = 0;
+        }
+        while (index < start) {
+            chunk--;
+            start -= chunkSizes[chunk];
+        }
+        while (index >= start + chunkSizes[chunk]) {
+            start += chunkSizes[chunk];
+            chunk++;
+        }
+        cursorChunk = chunk;
+        cursorStart = start;
+        return chunk;
+    }
+
+    private void appendLast(E element) {
+        if (chunkCount == 0 || chunkSizes[chunkCount - 1] == CHUNK_CAPACITY) {
+            insertChunk(chunkCount, new Object[CHUNK_CAPACITY], 0);
+        }
+        int last = chunkCount - 1;
+        chunks[last][chunkSizes[last]++] = element;
+        size++;
+    }
+
+    /**
+     * Moves the upper half of a full chunk into a new chunk right after it.
+     */
+    private void splitChunk(int chunk) {
+        int half = CHUNK_CAPACITY / 2;
+        Object[] upper = new Object[CHUNK_CAPACITY];
+        System.arraycopy(chunks[chunk], half, upper, 0, CHUNK_CAPACITY - half);
+        Arrays.fill(chunks[chunk], half, CHUNK_CAPACITY, null);
+        chunkSizes[chunk] = half;
+        insertChunk(chunk + 1, upper, CHUNK_CAPACITY - half);
+    }
+
+    private void insertChunk(int position, Object[] elements, int chunkSize) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+            chunkSizes = Arrays.copyOf(chunkSizes, chunkCount * 2);
+        }
+        System.arraycopy(chunks, position, chunks, position + 1, chunkCount - position);
+        System.arraycopy(chunkSizes, position, chunkSizes, position + 1, chunkCount - position);
+        chunks[position] = elements;
+        chunkSizes[position] = chunkSize;
+        chunkCount++;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(chunks, position + 1, chunks, position, chunkCount - position - 1);
+        System.arraycopy(chunkSizes, position + 1, chunkSizes, position, chunkCount - position - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+        chunkSizes[chunkCount] = 0;
+        cursorChunk = 0;
+        cursorStart = 0;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command that can be executed.
  * This is an abstract base class for all commands in the application.
@@ -14,7 +12,33 @@ public abstract class Command {
      * @param storage the storage handler
      * @return the result message after executing the command
      */
-    public abstract String execute(ArrayList<Task> tasks, Storage storage);
+    public abstract String execute(TaskList tasks, Storage storage);
+
+    /**
+     * Appends a warning to the given message if the changes could not be saved.
+     *
+     * @param message the result message of the command
+     * @param result the outcome of saving the command's changes
+     * @return the message, followed by a warning if the save failed
+     */
+    protected String withSaveStatus(String message, SaveResult result) {
+        if (result.isSuccessful()) {
+            return message;
+        }
+        return message + "\n(Warning: your changes could not be saved: " + result.getErrorMessage() + ")";
+    }
+
+    /**
+     * Returns whether executing this command against the given list would do what was asked,
+     * rather than only reply with an error. Batches run in strict mode stop at the first
+     * command that cannot execute.
+     *
+     * @param tasks the list the command would run against
+     * @return true unless the command is known to fail
+     */
+    public boolean canExecute(TaskList tasks) {
+        return true;
+    }
 
     /**
      * Indicates whether this command should cause the program to exit.
@@ -0,0 +1,382 @@
+package chatbot;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * A set of non-negative ints stored in the style of a Roaring bitmap, so that sets of task ids
+ * can be combined with AND, OR and AND NOT without visiting every id.
+ *
+ * The ids are split into chunks of 65536 by their high 16 bits. A chunk holding few ids stores
+ * their low 16 bits as a sorted {@code char[]}; once it holds more than {@value #ARRAY_LIMIT}
+ * it switches to a plain bitset of 1024 longs, which is then the smaller of the two. Missing
+ * chunks cost nothing, so a bitmap of done tasks, say, is small whether few or most tasks
+ * are done.
+ *
+ * The static operations return new bitmaps and leave their arguments alone. This class is
+ * not thread-safe.
+ */
+public class CompressedBitmap {
+    /** The most ids a chunk keeps as a sorted array. */
+    private static final int ARRAY_LIMIT = 4096;
+    private static final int CHUNK_BITS = 16;
+    private static final int LOW_MASK = 0xFFFF;
+    private static final int BITSET_WORDS = (1 << CHUNK_BITS) / Long.SIZE;
+    private static final int INITIAL_CHUNKS = 4;
+    private static final int INITIAL_VALUES = 4;
+
+    /**
+     * The ids of one chunk, as a sorted array of their low bits or as a bitset.
+     */
+    private static final class Chunk {
+        char[] values;
+        long[] bits;
+        int cardinality;
+
+        static Chunk ofArray(char[] values, int cardinality) {
+            Chunk chunk = new Chunk();
+            chunk.values = values;
+            chunk.cardinality = cardinality;
+            return chunk;
+        }
+
+        static Chunk ofBits(long[] bits) {
+            Chunk chunk = new Chunk();
+            chunk.bits = bits;
+            for (long word : bits) {
+                chunk.cardinality += Long.bitCount(word);
+            }
+            return chunk.cardinality <= ARRAY_LIMIT ? ofArray(chunk.toArray(), chunk.cardinality) : chunk;
+        }
+
+        boolean contains(char low) {
+            if (bits != null) {
+                return (bits[low >>> 6] & (1L << low)) != 0;
+            }
+            return Arrays.binarySearch(values, 0, cardinality, low) >= 0;
+        }
+
+        boolean add(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] |= 1L << low;
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                cardinality++;
+                return true;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index >= 0) {
+                return false;
+            }
+            if (cardinality == ARRAY_LIMIT) {
+                bits = toBits();
+                values = null;
+                return add(low);
+            }
+            int insertAt = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, INITIAL_VALUES), ARRAY_LIMIT));
+            }
+            System.arraycopy(values, insertAt, values, insertAt + 1, cardinality - insertAt);
+            values[insertAt] = low;
+            cardinality++;
+            return true;
+        }
+
+        boolean remove(char low) {
+            if (bits != null) {
+                long before = bits[low >>> 6];
+                bits[low >>> 6] &= ~(1L << low);
+                if (before == bits[low >>> 6]) {
+                    return false;
+                }
+                if (--cardinality == ARRAY_LIMIT) {
+                    values = toArray();
+                    bits = null;
+                }
+                return true;
+            }
+            int index = Arrays.binarySearch(values, 0, cardinality, low);
+            if (index < 0) {
+                return false;
+            }
+            System.arraycopy(values, index + 1, values, index, cardinality - index - 1);
+            cardinality--;
+            return true;
+        }
+
+        long[] toBits() {
+            if (bits != null) {
+                return bits.clone();
+            }
+            long[] result = new long[BITSET_WORDS];
+            for (int i = 0; i < cardinality; i++) {
+                result[values[i] >>> 6] |= 1L << values[i];
+            }
+            return result;
+        }
+
+        char[] toArray() {
+            if (bits == null) {
+                return Arrays.copyOf(values, cardinality);
+            }
+            char[] result = new char[cardinality];
+            int count = 0;
+            for (int word = 0; word < BITSET_WORDS; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    result[count++] = (char) (word * Long.SIZE + Long.numberOfTrailingZeros(remaining));
+                }
+            }
+            return result;
+        }
+
+        void forEach(int high, IntConsumer action) {
+            int base = high << CHUNK_BITS;
+            if (bits == null) {
+                for (int i = 0; i < cardinality; i++) {
+                    action.accept(base | values[i]);
+                }
+                return;
+            }
+            for (int word = 0; word < BITSET_WORDS; word++) {
+                for (long remaining = bits[word]; remaining != 0; remaining &= remaining - 1) {
+                    action.accept(base | (word * Long.SIZE + Long.numberOfTrailingZeros(remaining)));
+                }
+            }
+        }
+    }
+
+    /** The operations that combine two chunks word by word. */
+    private enum Operation {
+        AND, OR, AND_NOT;
+
+        long apply(long left, long right) {
+            switch (this) {
+            case AND:
+                return left & right;
+            case OR:
+                return left | right;
+            default:
+                return left & ~right;
+            }
+        }
+    }
+
+    private char[] highs = new char[INITIAL_CHUNKS];
+    private Chunk[] chunks = new Chunk[INITIAL_CHUNKS];
+    private int chunkCount;
+
+    /**
+     * Adds an id.
+     *
+     * @param id the id, not negative
+     * @return true if the id was not in the bitmap yet
+     */
+    public boolean add(int id) {
+        assert id >= 0 : "ids must not be negative";
+        int index = indexOf(high(id));
+        if (index < 0) {
+            index = -index - 1;
+            insertChunk(index, high(id), Chunk.ofArray(new char[INITIAL_VALUES], 0));
+        }
+        return chunks[index].add(low(id));
+    }
+
+    /**
+     * Removes an id.
+     *
+     * @param id the id
+     * @return true if the id was in the bitmap
+     */
+    public boolean remove(int id) {
+        int index = indexOf(high(id));
+        if (index < 0 || !chunks[index].remove(low(id))) {
+            return false;
+        }
+        if (chunks[index].cardinality == 0) {
+            System.arraycopy(highs, index + 1, highs, index, chunkCount - index - 1);
+            System.arraycopy(chunks, index + 1, chunks, index, chunkCount - index - 1);
+            chunks[--chunkCount] = null;
+        }
+        return true;
+    }
+
+    /**
+     * Returns whether an id is in the bitmap.
+     *
+     * @param id the id
+     * @return true if the id is present
+     */
+    public boolean contains(int id) {
+        int index = indexOf(high(id));
+        return index >= 0 && chunks[index].contains(low(id));
+    }
+
+    /**
+     * Returns the number of ids.
+     *
+     * @return the cardinality
+     */
+    public int cardinality() {
+        int cardinality = 0;
+        for (int i = 0; i < chunkCount; i++) {
+            cardinality += chunks[i].cardinality;
+        }
+        return cardinality;
+    }
+
+    /**
+     * Passes every id to an action, in ascending order.
+     *
+     * @param action receives the ids
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i].forEach(highs[i], action);
+        }
+    }
+
+    /**
+     * Returns the ids in both bitmaps.
+     *
+     * @param left one bitmap
+     * @param right the other bitmap
+     * @return a new bitmap
+     */
+    public static CompressedBitmap and(CompressedBitmap left, CompressedBitmap right) {
+        return combine(left, right, Operation.AND);
+    }
+
+    /**
+     * Returns the ids in either bitmap.
+     *
+     * @param left one bitmap
+     * @param right the other bitmap
+     * @return a new bitmap
+     */
+    public static CompressedBitmap or(CompressedBitmap left, CompressedBitmap right) {
+        return combine(left, right, Operation.OR);
+    }
+
+    /**
+     * Returns the ids in the first bitmap but not in the second.
+     *
+     * @param left the bitmap to take ids from
+     * @param right the bitmap of ids to leave out
+     * @return a new bitmap
+     */
+    public static CompressedBitmap andNot(CompressedBitmap left, CompressedBitmap right) {
+        return combine(left, right, Operation.AND_NOT);
+    }
+
+    /**
+     * Combines two bitmaps chunk by chunk. Chunks present on one side only are copied or
+     * dropped as the operation requires; chunks present on both sides are merged as arrays
+     * when both are arrays, and word by word otherwise.
+     */
+    private static CompressedBitmap combine(CompressedBitmap left, CompressedBitmap right, Operation operation) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < left.chunkCount || j < right.chunkCount) {
+            int leftHigh = i < left.chunkCount ? left.highs[i] : Integer.MAX_VALUE;
+            int rightHigh = j < right.chunkCount ? right.highs[j] : Integer.MAX_VALUE;
+            Chunk chunk;
+            int high;
+            if (leftHigh < rightHigh) {
+                high = leftHigh;
+                chunk = operation == Operation.AND ? null : copy(left.chunks[i]);
+                i++;
+            } else if (rightHigh < leftHigh) {
+                high = rightHigh;
+                chunk = operation == Operation.OR ? copy(right.chunks[j]) : null;
+                j++;
+            } else {
+                high = leftHigh;
+                chunk = combine(left.chunks[i], right.chunks[j], operation);
+                i++;
+                j++;
+            }
+            if (chunk != null && chunk.cardinality > 0) {
+                result.insertChunk(result.chunkCount, (char) high, chunk);
+            }
+        }
+        return result;
+    }
+
+    private static Chunk combine(Chunk left, Chunk right, Operation operation) {
+        if (left.bits == null && right.bits == null) {
+            return mergeArrays(left, right, operation);
+        }
+        long[] leftBits = left.toBits();
+        long[] rightBits = right.bits != null ? right.bits : right.toBits();
+        for (int word = 0; word < BITSET_WORDS; word++) {
+            leftBits[word] = operation.apply(leftBits[word], rightBits[word]);
+        }
+        return Chunk.ofBits(leftBits);
+    }
+
+    private static Chunk mergeArrays(Chunk left, Chunk right, Operation operation) {
+        int capacity = operation == Operation.OR ? left.cardinality + right.cardinality : left.cardinality;
+        char[] merged = new char[capacity];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < left.cardinality || j < right.cardinality) {
+            int leftValue = i < left.cardinality ? left.values[i] : Integer.MAX_VALUE;
+            int rightValue = j < right.cardinality ? right.values[j] : Integer.MAX_VALUE;
+            boolean inLeft = leftValue <= rightValue;
+            boolean inRight = rightValue <= leftValue;
+            int value = Math.min(leftValue, rightValue);
+            boolean keep = operation == Operation.AND ? inLeft && inRight
+                    : operation == Operation.OR || inLeft && !inRight;
+            if (keep) {
+                merged[count++] = (char) value;
+            }
+            if (inLeft) {
+                i++;
+            }
+            if (inRight) {
+                j++;
+            }
+        }
+        if (count > ARRAY_LIMIT) {
+            Chunk chunk = Chunk.ofArray(merged, count);
+            return Chunk.ofBits(chunk.toBits());
+        }
+        return Chunk.ofArray(merged, count);
+    }
+
+    private static Chunk copy(Chunk chunk) {
+        if (chunk.bits != null) {
+            return Chunk.ofBits(chunk.bits.clone());
+        }
+        return Chunk.ofArray(chunk.toArray(), chunk.cardinality);
+    }
+
+    private void insertChunk(int index, char high, Chunk chunk) {
+        if (chunkCount == highs.length) {
+            highs = Arrays.copyOf(highs, chunkCount * 2);
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(highs, index, highs, index + 1, chunkCount - index);
+        System.arraycopy(chunks, index, chunks, index + 1, chunkCount - index);
+        highs[index] = high;
+        chunks[index] = chunk;
+        chunkCount++;
+    }
+
+    private int indexOf(char high) {
+        return Arrays.binarySearch(highs, 0, chunkCount, high);
+    }
+
+    private static char high(int id) {
+        return (char) (id >>> CHUNK_BITS);
+    }
+
+    private static char low(int id) {
+        return (char) (id & LOW_MASK);
+    }
+}
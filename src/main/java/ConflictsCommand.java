@@ -0,0 +1,35 @@
+package chatbot;
+
+import java.util.List;
+
+/**
+ * Represents a command to list every pair of events whose times overlap.
+ */
+public class ConflictsCommand extends Command {
+    private static final String TASK_SEPARATOR = ". ";
+
+    /**
+     * Lists the overlapping events in pairs, ordered by the start of the later event,
+     * numbered by their position in the list.
+     *
+     * @param tasks the list of tasks
+     * @param storage the storage handler (not used)
+     * @return the overlapping pairs, or a message saying there are none
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        assert tasks != null && storage != null : "tasks and storage must not be null";
+        List<int[]> conflicts = tasks.getDateIndex().findAllEventConflicts();
+        if (conflicts.isEmpty()) {
+            return "No overlapping events. Your calendar is clear!";
+        }
+        StringBuilder out = new StringBuilder("These events overlap:");
+        for (int[] pair : conflicts) {
+            out.append('\n').append(pair[0] + 1).append(TASK_SEPARATOR);
+            tasks.appendTask(pair[0], out);
+            out.append("\n   overlaps ").append(pair[1] + 1).append(TASK_SEPARATOR);
+            tasks.appendTask(pair[1], out);
+        }
+        return out.toString();
+    }
+}
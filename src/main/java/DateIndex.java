@@ -0,0 +1,240 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.TreeSet;
+
+/**
+ * Keeps the dated tasks of a {@link TaskList} ordered by date, so that date queries do not
+ * have to scan the whole list.
+ *
+ * Every Deadline, Event and DoWithinTask covers a span of days: a deadline only its due
+ * date, an event the days from its start to its end, and a DoWithinTask its whole period.
+ * Tasks are referred to by their id from {@link TaskPositions}, and three structures are kept:
+ * <ul>
+ *   <li>an {@link IntervalTree} of the day spans of all dated tasks,</li>
+ *   <li>an {@link IntervalTree} of the start and end times of events, in epoch minutes, and</li>
+ *   <li>a sorted set of the unfinished Deadlines and DoWithinTasks, keyed by the day they
+ *       are due and then by id.</li>
+ * </ul>
+ * {@link #findDueBy(LocalDate)} reads a prefix of the sorted set in O(log n + k), and the
+ * other queries ask the interval trees for overlapping spans.
+ *
+ * The list the index was built for updates it on every add, mark, unmark and delete. It is
+ * not thread-safe.
+ */
+public class DateIndex implements TaskIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long ID_MASK = 0xFFFFFFFFL;
+    private static final int SECONDS_PER_MINUTE = 60;
+    private static final byte IN_SPANS = 1;
+    private static final byte IN_DUE = 2;
+    private static final byte IN_EVENTS = 4;
+
+    private final IntervalTree spans = new IntervalTree();
+    private final IntervalTree events = new IntervalTree();
+    private final NavigableSet<Long> due = new TreeSet<>();
+    private final TaskPositions positions;
+    private int[] startDays;
+    private int[] endDays;
+    private long[] eventStarts;
+    private byte[] membership;
+
+    /**
+     * Builds the index for the tasks currently in the list and adds it to the list.
+     *
+     * @param tasks the list to index
+     */
+    public DateIndex(TaskList tasks) {
+        int capacity = Math.max(tasks.size(), INITIAL_CAPACITY);
+        startDays = new int[capacity];
+        endDays = new int[capacity];
+        eventStarts = new long[capacity];
+        membership = new byte[capacity];
+        positions = tasks.addIndex(this);
+    }
+
+    /**
+     * Returns the positions of the unfinished deadlines and do-within tasks due on or before
+     * the given date, ordered by due date and then by position.
+     *
+     * @param date the last due date to include
+     * @return 0-based positions in the list
+     */
+    public List<Integer> findDueBy(LocalDate date) {
+        List<Integer> result = new ArrayList<>();
+        for (long entry : due.headSet(key(toDay(date), Integer.MAX_VALUE), true)) {
+            result.add(positions.positionOf((int) (entry & ID_MASK)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the positions of the dated tasks whose span overlaps the given range of days,
+     * ordered by the first day of their span and then by position.
+     *
+     * @param from the first day of the range
+     * @param to the last day of the range, not before {@code from}
+     * @return 0-based positions in the list
+     */
+    public List<Integer> findBetween(LocalDate from, LocalDate to) {
+        List<Integer> result = new ArrayList<>();
+        spans.query(toDay(from), toDay(to) + 1L,
+                (start, end, id) -> result.add(positions.positionOf(id)));
+        return result;
+    }
+
+    /**
+     * Returns the positions of the events that overlap the given time range, ordered by start.
+     * Events that merely touch (one ending as the other starts) do not overlap.
+     *
+     * @param from the start of the range
+     * @param to the end of the range
+     * @return 0-based positions in the list
+     */
+    public List<Integer> findOverlappingEvents(LocalDateTime from, LocalDateTime to) {
+        List<Integer> result = new ArrayList<>();
+        long start = toMinute(from);
+        events.query(start, eventEnd(start, toMinute(to)),
+                (eventStart, eventEnd, id) -> result.add(positions.positionOf(id)));
+        return result;
+    }
+
+    /**
+     * Returns every pair of overlapping events, found in one sweep over the events in order
+     * of start time. Each event is compared only with the events still running when it
+     * starts, which are kept in a heap by end time, so the sweep costs O(n log n + k).
+     *
+     * @return pairs of 0-based positions, the earlier-starting event first
+     */
+    public List<int[]> findAllEventConflicts() {
+        int count = events.size();
+        long[] starts = new long[count];
+        long[] ends = new long[count];
+        int[] ids = new int[count];
+        int[] filled = new int[1];
+        events.forEach((start, end, id) -> {
+            int i = filled[0]++;
+            starts[i] = start;
+            ends[i] = end;
+            ids[i] = id;
+        });
+
+        List<int[]> conflicts = new ArrayList<>();
+        PriorityQueue<Integer> running = new PriorityQueue<>((a, b) -> Long.compare(ends[a], ends[b]));
+        for (int i = 0; i < count; i++) {
+            while (!running.isEmpty() && ends[running.peek()] <= starts[i]) {
+                running.poll();
+            }
+            for (int earlier : running) {
+                conflicts.add(new int[] {
+                    positions.positionOf(ids[earlier]), positions.positionOf(ids[i])});
+            }
+            running.add(i);
+        }
+        return conflicts;
+    }
+
+    @Override
+    public void taskAdded(int id, Task task) {
+        add(id, task);
+    }
+
+    @Override
+    public void taskUpdated(int id, Task task) {
+        remove(id);
+        add(id, task);
+    }
+
+    @Override
+    public void taskRemoved(int id, Task task) {
+        remove(id);
+    }
+
+    @Override
+    public void clear() {
+        spans.clear();
+        events.clear();
+        due.clear();
+    }
+
+    private void add(int id, Task task) {
+        if (id >= membership.length) {
+            int capacity = Math.max(id + 1, membership.length * 2);
+            startDays = Arrays.copyOf(startDays, capacity);
+            endDays = Arrays.copyOf(endDays, capacity);
+            eventStarts = Arrays.copyOf(eventStarts, capacity);
+            membership = Arrays.copyOf(membership, capacity);
+        }
+        membership[id] = 0;
+        LocalDate start;
+        LocalDate end;
+        if (task instanceof Deadline) {
+            start = ((Deadline) task).getBy();
+            end = start;
+        } else if (task instanceof Event) {
+            Event event = (Event) task;
+            start = event.getFrom().toLocalDate();
+            end = event.getTo().toLocalDate();
+            eventStarts[id] = toMinute(event.getFrom());
+            events.insert(eventStarts[id], eventEnd(eventStarts[id], toMinute(event.getTo())), id);
+            membership[id] |= IN_EVENTS;
+        } else if (task instanceof DoWithinTask) {
+            start = ((DoWithinTask) task).getFrom();
+            end = ((DoWithinTask) task).getTo();
+        } else {
+            return;
+        }
+        startDays[id] = toDay(start);
+        endDays[id] = toDay(end);
+        spans.insert(startDays[id], endDays[id] + 1L, id);
+        membership[id] |= IN_SPANS;
+        if (!(task instanceof Event) && !task.isDone()) {
+            due.add(key(endDays[id], id));
+            membership[id] |= IN_DUE;
+        }
+    }
+
+    private void remove(int id) {
+        if ((membership[id] & IN_SPANS) != 0) {
+            spans.remove(startDays[id], id);
+        }
+        if ((membership[id] & IN_EVENTS) != 0) {
+            events.remove(eventStarts[id], id);
+        }
+        if ((membership[id] & IN_DUE) != 0) {
+            due.remove(key(endDays[id], id));
+        }
+        membership[id] = 0;
+    }
+
+    /**
+     * Returns the exclusive end of an event's interval. An event that ends as it starts
+     * still takes up its starting minute.
+     */
+    private static long eventEnd(long start, long end) {
+        return Math.max(end, start + 1);
+    }
+
+    /**
+     * Combines a day and an id into one sortable key: by day first, then by id, which is
+     * list order.
+     */
+    private static long key(int day, int id) {
+        return ((long) day << Integer.SIZE) | (id & ID_MASK);
+    }
+
+    private static int toDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static long toMinute(LocalDateTime dateTime) {
+        return dateTime.toEpochSecond(ZoneOffset.UTC) / SECONDS_PER_MINUTE;
+    }
+}
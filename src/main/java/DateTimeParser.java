@@ -2,48 +2,53 @@ package chatbot;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeFormatterBuilder;
-import java.time.format.DateTimeParseException;
-import java.time.format.ResolverStyle;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Locale;
 
 /**
  * Utility class for parsing and formatting dates and times.
  * Supports multiple input formats commonly used by users.
+ *
+ * Input is read by a hand-written recognizer rather than by trying formatters in turn. One
+ * pass over the text works out which of the accepted shapes it has and reads its numbers;
+ * the values are then checked and built directly, so no exception is thrown for input that
+ * does not match. The accepted shapes, with the same rules as the formatter patterns they
+ * stand for (English month names in any case, strict ranges):
+ * <ul>
+ *   <li>{@code uuuu-MM-dd}, {@code dd/MM/uuuu} (or {@code MM/dd/uuuu} if that is not a valid
+ *       date), {@code dd-MM-uuuu}, {@code MMM d uuuu} and {@code d MMM uuuu} for dates, and</li>
+ *   <li>{@code uuuu-MM-dd} or {@code dd/MM/uuuu} followed by {@code HHmm} or {@code HH:mm},
+ *       and {@code MMM d uuuu} followed by {@code HHmm}, {@code HH:mm}, {@code h:mma} or
+ *       {@code ha}, for date-times.</li>
+ * </ul>
  */
 public class DateTimeParser {
     private static final Locale INPUT_LOCALE = Locale.ENGLISH;
+    /** The most digits a variable-width field ({@code d}, {@code h}, {@code uuuu}) reads. */
+    private static final int MAX_FIELD_DIGITS = 19;
+    private static final int YEAR_MIN_DIGITS = 4;
+    private static final int FIXED_FIELD_DIGITS = 2;
+    private static final int HOUR_MINUTE_DIGITS = 4;
+    private static final int HOURS_PER_HALF_DAY = 12;
+    private static final int MAX_HOUR = 23;
+    private static final int MAX_MINUTE = 59;
+    private static final int MONTHS = 12;
+    private static final int NO_MATCH = -1;
 
-    // Common date formats
-    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
-        createFormatter("uuuu-MM-dd"),
-        createFormatter("dd/MM/uuuu"),
-        createFormatter("MM/dd/uuuu"),
-        createFormatter("dd-MM-uuuu"),
-        createFormatter("MMM dd uuuu"),
-        createFormatter("MMM d uuuu"),
-        createFormatter("d MMM uuuu"),
-        createFormatter("dd MMM uuuu")
-    );
-
-    // Common date-time formats
-    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
-        createFormatter("uuuu-MM-dd HHmm"),
-        createFormatter("uuuu-MM-dd HH:mm"),
-        createFormatter("dd/MM/uuuu HHmm"),
-        createFormatter("dd/MM/uuuu HH:mm"),
-        createFormatter("MMM dd uuuu HHmm"),
-        createFormatter("MMM d uuuu HHmm"),
-        createFormatter("MMM dd uuuu HH:mm"),
-        createFormatter("MMM d uuuu HH:mm"),
-        createFormatter("MMM dd uuuu h:mma"),
-        createFormatter("MMM d uuuu h:mma"),
-        createFormatter("MMM dd uuuu ha"),
-        createFormatter("MMM d uuuu ha")
-    );
+    // Month names and AM/PM markers exactly as the English formatters print them
+    private static final String[] MONTH_NAMES = new String[MONTHS];
+    private static final String AM_MARKER = LocalTime.MIDNIGHT.format(DateTimeFormatter.ofPattern("a", INPUT_LOCALE));
+    private static final String PM_MARKER = LocalTime.NOON.format(DateTimeFormatter.ofPattern("a", INPUT_LOCALE));
+
+    static {
+        DateTimeFormatter monthFormatter = DateTimeFormatter.ofPattern("MMM", INPUT_LOCALE);
+        for (Month month : Month.values()) {
+            MONTH_NAMES[month.ordinal()] = monthFormatter.format(month);
+        }
+    }
 
     // Output formatter for dates
     private static final DateTimeFormatter OUTPUT_DATE_FORMATTER =
@@ -53,17 +58,66 @@ public class DateTimeParser {
     private static final DateTimeFormatter OUTPUT_DATETIME_FORMATTER =
             DateTimeFormatter.ofPattern("MMM d uuuu HHmm", Locale.ENGLISH);
 
-    private static DateTimeFormatter createFormatter(String pattern) {
-        return new DateTimeFormatterBuilder()
-                .parseCaseInsensitive()
-                .appendPattern(pattern)
-                .toFormatter(INPUT_LOCALE)
-                .withResolverStyle(ResolverStyle.STRICT);
+    // Recently formatted dates and date-times, shared by every task that shows them
+    private static final int FORMAT_CACHE_BITS = 10;
+    private static final int FORMAT_CACHE_SIZE = 1 << FORMAT_CACHE_BITS;
+    private static final long FIBONACCI_MULTIPLIER = 0x9E3779B97F4A7C15L;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int MINUTES_PER_HOUR = 60;
+    private static final FormattedText[] DATE_CACHE = new FormattedText[FORMAT_CACHE_SIZE];
+    private static final FormattedText[] DATETIME_CACHE = new FormattedText[FORMAT_CACHE_SIZE];
+
+    /**
+     * A formatted value and the key of the value it was formatted from. Entries are immutable,
+     * so the caches can be read and filled from any thread without locking: a reader sees
+     * either a complete entry or none.
+     */
+    private static final class FormattedText {
+        final long key;
+        final String text;
+
+        FormattedText(long key, String text) {
+            this.key = key;
+            this.text = text;
+        }
+    }
+
+    /**
+     * The shapes of date the recognizer tells apart.
+     */
+    private enum Shape {
+        /** {@code uuuu-MM-dd} */
+        ISO,
+        /** {@code dd/MM/uuuu} or {@code MM/dd/uuuu} */
+        SLASH,
+        /** {@code dd-MM-uuuu} */
+        DASH,
+        /** {@code MMM d uuuu} */
+        MONTH_FIRST,
+        /** {@code d MMM uuuu} */
+        DAY_FIRST
+    }
+
+    /**
+     * The parts read from an input, before they are checked against the calendar.
+     */
+    private static final class Recognized {
+        Shape shape;
+        int year;
+        /** The month, read as {@code dd/MM} for {@link Shape#SLASH}. */
+        int month;
+        int day;
+        boolean hasTime;
+        /** Whether the time has an AM/PM marker, so that {@link #hour} is 1 to 12. */
+        boolean isTwelveHour;
+        boolean isPm;
+        int hour;
+        int minute;
     }
 
     /**
      * Parses a date string into a LocalDate.
-     * Tries multiple formats until one succeeds.
+     * A date-time is accepted too, and its time is ignored.
      *
      * @param dateString the date string to parse
      * @return the parsed LocalDate, or null if parsing fails
@@ -72,34 +126,20 @@ public class DateTimeParser {
         if (dateString == null || dateString.trim().isEmpty()) {
             return null;
         }
-
-        String trimmed = dateString.trim();
-
-        // Try date formats first
-        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
-            try {
-                return LocalDate.parse(trimmed, formatter);
-            } catch (DateTimeParseException e) {
-                // Continue to next formatter
-            }
+        Recognized parts = recognize(dateString.trim());
+        if (parts == null) {
+            return null;
         }
-
-        // Try date-time formats and extract date
-        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
-            try {
-                LocalDateTime dateTime = LocalDateTime.parse(trimmed, formatter);
-                return dateTime.toLocalDate();
-            } catch (DateTimeParseException e) {
-                // Continue to next formatter
-            }
+        if (parts.hasTime) {
+            LocalDateTime dateTime = toDateTime(parts);
+            return dateTime == null ? null : dateTime.toLocalDate();
         }
-
-        return null;
+        return toDate(parts);
     }
 
     /**
      * Parses a date-time string into a LocalDateTime.
-     * Tries multiple formats until one succeeds.
+     * A date without a time is accepted too, and taken to be at midnight.
      *
      * @param dateTimeString the date-time string to parse
      * @return the parsed LocalDateTime, or null if parsing fails
@@ -108,25 +148,286 @@ public class DateTimeParser {
         if (dateTimeString == null || dateTimeString.trim().isEmpty()) {
             return null;
         }
+        Recognized parts = recognize(dateTimeString.trim());
+        if (parts == null) {
+            return null;
+        }
+        if (parts.hasTime) {
+            return toDateTime(parts);
+        }
+        LocalDate date = toDate(parts);
+        return date == null ? null : date.atStartOfDay();
+    }
+
+    /**
+     * Reads the shape and the numbers of a trimmed input in one pass.
+     *
+     * @return the parts read, or null if the input has none of the accepted shapes
+     */
+    private static Recognized recognize(String text) {
+        Recognized parts = new Recognized();
+        int position;
+        char first = text.charAt(0);
+        if (first == '+' || first == '-') {
+            // Only a year can be signed.
+            parts.shape = Shape.ISO;
+            position = readIsoDate(text, 0, parts);
+        } else if (!isDigit(first)) {
+            parts.shape = Shape.MONTH_FIRST;
+            position = readMonthFirstDate(text, parts);
+        } else {
+            int digits = countDigits(text, 0);
+            char separator = digits < text.length() ? text.charAt(digits) : ' ';
+            if (digits == text.length()) {
+                return null;
+            } else if (separator == '-' && digits == FIXED_FIELD_DIGITS) {
+                parts.shape = Shape.DASH;
+                position = readNumericDate(text, '-', parts);
+            } else if (separator == '-') {
+                parts.shape = Shape.ISO;
+                position = readIsoDate(text, 0, parts);
+            } else if (separator == '/' && digits == FIXED_FIELD_DIGITS) {
+                parts.shape = Shape.SLASH;
+                position = readNumericDate(text, '/', parts);
+            } else if (separator == ' ' && digits <= MAX_FIELD_DIGITS) {
+                parts.shape = Shape.DAY_FIRST;
+                position = readDayFirstDate(text, digits, parts);
+            } else {
+                return null;
+            }
+        }
+        if (position == NO_MATCH) {
+            return null;
+        }
+        if (position == text.length()) {
+            return parts;
+        }
+        boolean allowsTime = parts.shape == Shape.ISO || parts.shape == Shape.SLASH
+                || parts.shape == Shape.MONTH_FIRST;
+        if (!allowsTime || text.charAt(position) != ' ' || !readTime(text, position + 1, parts)) {
+            return null;
+        }
+        return parts.isTwelveHour && parts.shape != Shape.MONTH_FIRST ? null : parts;
+    }
+
+    /** Reads {@code uuuu-MM-dd}, returning the position after it or {@link #NO_MATCH}. */
+    private static int readIsoDate(String text, int position, Recognized parts) {
+        position = readYear(text, position, parts);
+        position = readFixedField(text, expect(text, position, '-'));
+        if (position == NO_MATCH) {
+            return NO_MATCH;
+        }
+        parts.month = number(text, position - FIXED_FIELD_DIGITS, position);
+        position = readFixedField(text, expect(text, position, '-'));
+        if (position == NO_MATCH) {
+            return NO_MATCH;
+        }
+        parts.day = number(text, position - FIXED_FIELD_DIGITS, position);
+        return position;
+    }
 
-        String trimmed = dateTimeString.trim();
+    /** Reads {@code dd-MM-uuuu} or {@code dd/MM/uuuu}, the first two digits already counted. */
+    private static int readNumericDate(String text, char separator, Recognized parts) {
+        parts.day = number(text, 0, FIXED_FIELD_DIGITS);
+        int position = readFixedField(text, expect(text, FIXED_FIELD_DIGITS, separator));
+        if (position == NO_MATCH) {
+            return NO_MATCH;
+        }
+        parts.month = number(text, position - FIXED_FIELD_DIGITS, position);
+        return readYear(text, expect(text, position, separator), parts);
+    }
 
-        // Try date-time formats first
-        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
-            try {
-                return LocalDateTime.parse(trimmed, formatter);
-            } catch (DateTimeParseException e) {
-                // Continue to next formatter
+    /** Reads {@code MMM d uuuu}. */
+    private static int readMonthFirstDate(String text, Recognized parts) {
+        int position = readMonthName(text, 0, parts);
+        position = expect(text, position, ' ');
+        if (position == NO_MATCH) {
+            return NO_MATCH;
+        }
+        int digits = countDigits(text, position);
+        if (digits == 0 || digits > MAX_FIELD_DIGITS) {
+            return NO_MATCH;
+        }
+        parts.day = number(text, position, position + digits);
+        return readYear(text, expect(text, position + digits, ' '), parts);
+    }
+
+    /** Reads {@code d MMM uuuu}, the digits of the day already counted. */
+    private static int readDayFirstDate(String text, int digits, Recognized parts) {
+        parts.day = number(text, 0, digits);
+        int position = readMonthName(text, digits + 1, parts);
+        return readYear(text, expect(text, position, ' '), parts);
+    }
+
+    /**
+     * Reads a year as {@code uuuu} does: exactly four digits, or more with a leading
+     * {@code +}, or four or more with a leading {@code -}.
+     */
+    private static int readYear(String text, int position, Recognized parts) {
+        if (position == NO_MATCH || position == text.length()) {
+            return NO_MATCH;
+        }
+        char sign = text.charAt(position);
+        boolean isSigned = sign == '+' || sign == '-';
+        int start = isSigned ? position + 1 : position;
+        int digits = countDigits(text, start);
+        boolean hasValidWidth = sign == '+' ? digits > YEAR_MIN_DIGITS
+                : sign == '-' ? digits >= YEAR_MIN_DIGITS : digits == YEAR_MIN_DIGITS;
+        if (!hasValidWidth || digits > MAX_FIELD_DIGITS) {
+            return NO_MATCH;
+        }
+        int year = number(text, start, start + digits);
+        if (year > Year.MAX_VALUE || sign == '-' && year == 0) {
+            return NO_MATCH;
+        }
+        parts.year = sign == '-' ? -year : year;
+        return start + digits;
+    }
+
+    /** Reads an English month name in any case. */
+    private static int readMonthName(String text, int position, Recognized parts) {
+        int matchedLength = 0;
+        for (int month = 0; month < MONTHS; month++) {
+            String name = MONTH_NAMES[month];
+            if (name.length() > matchedLength && regionEqualsIgnoreCase(text, position, name)) {
+                parts.month = month + 1;
+                matchedLength = name.length();
             }
         }
+        return matchedLength == 0 ? NO_MATCH : position + matchedLength;
+    }
 
-        // Try date formats and assume time is 00:00
-        LocalDate date = parseDate(trimmed);
-        if (date != null) {
-            return date.atStartOfDay();
+    /** Reads {@code HHmm}, {@code HH:mm}, {@code h:mma} or {@code ha} up to the end of the text. */
+    private static boolean readTime(String text, int position, Recognized parts) {
+        int digits = countDigits(text, position);
+        if (digits == 0 || digits > MAX_FIELD_DIGITS) {
+            return false;
         }
+        int end = position + digits;
+        if (end == text.length()) {
+            if (digits != HOUR_MINUTE_DIGITS) {
+                return false;
+            }
+            parts.hour = number(text, position, position + FIXED_FIELD_DIGITS);
+            parts.minute = number(text, position + FIXED_FIELD_DIGITS, end);
+            parts.hasTime = true;
+            return true;
+        }
+        parts.hour = number(text, position, end);
+        if (text.charAt(end) == ':') {
+            if (countDigits(text, end + 1) != FIXED_FIELD_DIGITS) {
+                return false;
+            }
+            parts.minute = number(text, end + 1, end + 1 + FIXED_FIELD_DIGITS);
+            end += 1 + FIXED_FIELD_DIGITS;
+            if (end == text.length()) {
+                parts.hasTime = digits == FIXED_FIELD_DIGITS;
+                return parts.hasTime;
+            }
+        }
+        if (regionEqualsIgnoreCase(text, end, AM_MARKER) && end + AM_MARKER.length() == text.length()) {
+            parts.isPm = false;
+        } else if (regionEqualsIgnoreCase(text, end, PM_MARKER) && end + PM_MARKER.length() == text.length()) {
+            parts.isPm = true;
+        } else {
+            return false;
+        }
+        parts.isTwelveHour = true;
+        parts.hasTime = true;
+        return true;
+    }
+
+    /** Checks that exactly two digits start at a position, returning the position after them. */
+    private static int readFixedField(String text, int position) {
+        if (position == NO_MATCH || countDigits(text, position) != FIXED_FIELD_DIGITS) {
+            return NO_MATCH;
+        }
+        return position + FIXED_FIELD_DIGITS;
+    }
+
+    private static int expect(String text, int position, char expected) {
+        if (position == NO_MATCH || position >= text.length() || text.charAt(position) != expected) {
+            return NO_MATCH;
+        }
+        return position + 1;
+    }
+
+    /** Builds the date of an input without a time. */
+    private static LocalDate toDate(Recognized parts) {
+        LocalDate date = toDate(parts.year, parts.month, parts.day);
+        if (date == null && parts.shape == Shape.SLASH) {
+            // dd/MM/uuuu takes precedence; MM/dd/uuuu is the fallback
+            date = toDate(parts.year, parts.day, parts.month);
+        }
+        return date;
+    }
 
-        return null;
+    private static LocalDate toDate(int year, int month, int day) {
+        if (month < 1 || month > MONTHS || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static LocalDateTime toDateTime(Recognized parts) {
+        LocalDate date = toDate(parts.year, parts.month, parts.day);
+        int hour = parts.hour;
+        if (parts.isTwelveHour) {
+            if (hour < 1 || hour > HOURS_PER_HALF_DAY) {
+                return null;
+            }
+            hour = hour % HOURS_PER_HALF_DAY + (parts.isPm ? HOURS_PER_HALF_DAY : 0);
+        }
+        if (date == null || hour > MAX_HOUR || parts.minute > MAX_MINUTE) {
+            return null;
+        }
+        return LocalDateTime.of(date, LocalTime.of(hour, parts.minute));
+    }
+
+    private static int countDigits(String text, int position) {
+        int end = position;
+        while (end < text.length() && isDigit(text.charAt(end))) {
+            end++;
+        }
+        return end - position;
+    }
+
+    /**
+     * Returns the value of a run of digits, or {@link Integer#MAX_VALUE} if it is larger,
+     * which is out of range for every field.
+     */
+    private static int number(String text, int from, int to) {
+        long value = 0;
+        for (int i = from; i < to; i++) {
+            value = value * 10 + (text.charAt(i) - '0');
+            if (value > Integer.MAX_VALUE) {
+                return Integer.MAX_VALUE;
+            }
+        }
+        return (int) value;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Compares part of the text with a word, ignoring case the way a case-insensitive
+     * formatter does.
+     */
+    private static boolean regionEqualsIgnoreCase(String text, int position, String word) {
+        if (position < 0 || position + word.length() > text.length()) {
+            return false;
+        }
+        for (int i = 0; i < word.length(); i++) {
+            char c1 = text.charAt(position + i);
+            char c2 = word.charAt(i);
+            if (c1 != c2 && Character.toUpperCase(c1) != Character.toUpperCase(c2)
+                    && Character.toLowerCase(c1) != Character.toLowerCase(c2)) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -139,7 +440,14 @@ public class DateTimeParser {
         if (date == null) {
             return "";
         }
-        return date.format(OUTPUT_DATE_FORMATTER);
+        long epochDay = date.toEpochDay();
+        int slot = cacheSlot(epochDay);
+        FormattedText cached = DATE_CACHE[slot];
+        if (cached == null || cached.key != epochDay) {
+            cached = new FormattedText(epochDay, date.format(OUTPUT_DATE_FORMATTER));
+            DATE_CACHE[slot] = cached;
+        }
+        return cached.text;
     }
 
     /**
@@ -152,7 +460,25 @@ public class DateTimeParser {
         if (dateTime == null) {
             return "";
         }
-        return dateTime.format(OUTPUT_DATETIME_FORMATTER);
+        // Seconds are not shown, so date-times within the same minute share an entry.
+        long epochMinute = dateTime.toLocalDate().toEpochDay() * MINUTES_PER_DAY
+                + dateTime.getHour() * MINUTES_PER_HOUR + dateTime.getMinute();
+        int slot = cacheSlot(epochMinute);
+        FormattedText cached = DATETIME_CACHE[slot];
+        if (cached == null || cached.key != epochMinute) {
+            cached = new FormattedText(epochMinute, dateTime.format(OUTPUT_DATETIME_FORMATTER));
+            DATETIME_CACHE[slot] = cached;
+        }
+        return cached.text;
+    }
+
+    /**
+     * Returns the cache slot of a key by Fibonacci hashing, which spreads both consecutive
+     * days and date-times on the hour, whose minute keys are all multiples of 60, over
+     * every slot.
+     */
+    private static int cacheSlot(long key) {
+        return (int) ((key * FIBONACCI_MULTIPLIER) >>> (Long.SIZE - FORMAT_CACHE_BITS));
     }
 
     /**
@@ -162,10 +488,7 @@ public class DateTimeParser {
      * @return ISO formatted date string
      */
     public static String formatDateForStorage(LocalDate date) {
-        if (date == null) {
-            return "";
-        }
-        return date.format(DateTimeFormatter.ISO_LOCAL_DATE);
+        return StorageDateCodec.appendDate(new StringBuilder(), date).toString();
     }
 
     /**
@@ -175,10 +498,7 @@ public class DateTimeParser {
      * @return ISO formatted date-time string
      */
     public static String formatDateTimeForStorage(LocalDateTime dateTime) {
-        if (dateTime == null) {
-            return "";
-        }
-        return dateTime.format(DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HHmm"));
+        return StorageDateCodec.appendDateTime(new StringBuilder(), dateTime).toString();
     }
 
     /**
@@ -188,14 +508,7 @@ public class DateTimeParser {
      * @return the parsed LocalDate, or null if parsing fails
      */
     public static LocalDate parseDateFromStorage(String dateString) {
-        if (dateString == null || dateString.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return LocalDate.parse(dateString.trim(), DateTimeFormatter.ISO_LOCAL_DATE);
-        } catch (DateTimeParseException e) {
-            return null;
-        }
+        return StorageDateCodec.parseDate(dateString);
     }
 
     /**
@@ -205,14 +518,6 @@ public class DateTimeParser {
      * @return the parsed LocalDateTime, or null if parsing fails
      */
     public static LocalDateTime parseDateTimeFromStorage(String dateTimeString) {
-        if (dateTimeString == null || dateTimeString.trim().isEmpty()) {
-            return null;
-        }
-        try {
-            return LocalDateTime.parse(dateTimeString.trim(),
-                    DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HHmm"));
-        } catch (DateTimeParseException e) {
-            return null;
-        }
+        return StorageDateCodec.parseDateTime(dateTimeString);
     }
 }
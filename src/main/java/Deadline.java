@@ -30,15 +30,16 @@ public class Deadline extends Task {
     }
 
     /**
-     * Returns a string representation of this deadline task.
+     * Appends a string representation of this deadline task.
      * The format is "[D] [X] description (by: date)" if done,
      * "[D] [ ] description (by: date)" if not done.
      *
-     * @return a string representation of the deadline task
+     * @param out the builder to append to
      */
     @Override
-    public String toString() {
-        String formattedDate = DateTimeParser.formatDate(by);
-        return "[D] " + super.toString() + " (by: " + formattedDate + ")";
+    protected void render(StringBuilder out) {
+        out.append("[D] ");
+        super.render(out);
+        out.append(" (by: ").append(DateTimeParser.formatDate(by)).append(')');
     }
 }
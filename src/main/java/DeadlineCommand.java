@@ -1,8 +1,6 @@
 package chatbot;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-
 /**
  * Represents a command to add a deadline task.
  */
@@ -29,10 +27,9 @@ public class DeadlineCommand extends Command {
      * @return a message confirming the task was added
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         Task task = new Deadline(description, by);
-        tasks.add(task);
-        storage.save(tasks);
-        return "Added: " + task;
+        SaveResult saved = tasks.add(task);
+        return withSaveStatus("Added: " + task, saved);
     }
 }
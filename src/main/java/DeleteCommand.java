@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to delete a task.
  */
@@ -25,14 +23,19 @@ public class DeleteCommand extends Command {
      * @return a message confirming the task was deleted, or an error message if index is invalid
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         assert tasks != null && storage != null : "tasks and storage must not be null";
-        if (index < 0 || index >= tasks.size()) {
+        if (!tasks.isValidIndex(index)) {
             return "That task number doesn't exist. Use 'list' to see your tasks.";
         }
-        Task removed = tasks.remove(index);
-        storage.save(tasks);
-        return "Removed! 🗑️\n  " + removed
-                + "\nYou have " + tasks.size() + " task(s) left.";
+        Task removed = tasks.get(index);
+        SaveResult saved = tasks.delete(index);
+        return withSaveStatus("Removed! 🗑️\n  " + removed
+                + "\nYou have " + tasks.size() + " task(s) left.", saved);
+    }
+
+    @Override
+    public boolean canExecute(TaskList tasks) {
+        return tasks.isValidIndex(index);
     }
 }
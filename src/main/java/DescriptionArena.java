@@ -0,0 +1,318 @@
+package chatbot;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Stores task descriptions as bytes in one shared array, keeping each distinct text once.
+ *
+ * {@link #intern(String)} returns a small integer handle for a description. A text that is
+ * already stored, such as a recurring "standup", gets the handle it already has, so the bytes
+ * are kept once however many tasks use it. Texts made only of Latin-1 characters are stored
+ * one byte per character; anything else is stored as UTF-8.
+ *
+ * Every text also refers to its lower-cased form, interned the same way (a text that is
+ * already lower case refers to itself), so {@link #foldedContains(int, String)} can search
+ * descriptions without lower-casing them again for every query.
+ *
+ * Handles are reference counted. Once nothing refers to a text, its bytes become garbage and
+ * are dropped when the array is compacted; its handle is then reused. This class is not
+ * thread-safe.
+ */
+public class DescriptionArena {
+    private static final int INITIAL_ENTRIES = 16;
+    private static final int INITIAL_BYTES = 1024;
+    private static final int LATIN1_LIMIT = 0xFF;
+    /** Set in the stored length of texts encoded as UTF-8 rather than Latin-1. */
+    private static final int UTF8_BIT = 1 << 31;
+    private static final int EMPTY_SLOT = -1;
+    private static final int FREE = -1;
+
+    private byte[] bytes = new byte[INITIAL_BYTES];
+    private int byteSize;
+    private int garbageBytes;
+
+    private int[] starts = new int[INITIAL_ENTRIES];
+    private int[] lengths = new int[INITIAL_ENTRIES];
+    private int[] folded = new int[INITIAL_ENTRIES];
+    private int[] references = new int[INITIAL_ENTRIES];
+    private int entryCount;
+    private int[] freeEntries = new int[INITIAL_ENTRIES];
+    private int freeCount;
+
+    /** Open-addressing hash table of entry handles, keyed by content. */
+    private int[] slots = newSlots(INITIAL_ENTRIES * 2);
+    private int slotsUsed;
+
+    private String lastKeyword;
+    private byte[] lastLatin1Keyword;
+    private byte[] lastUtf8Keyword;
+
+    /**
+     * Stores a text, or finds it if it is already stored, and adds a reference to it.
+     *
+     * @param text the text to store
+     * @return the handle of the text
+     */
+    public int intern(String text) {
+        boolean isLatin1 = isLatin1(text);
+        byte[] encoded = text.getBytes(isLatin1 ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+        int storedLength = isLatin1 ? encoded.length : encoded.length | UTF8_BIT;
+        int hash = hash(encoded, 0, encoded.length, storedLength);
+
+        int slot = hash & (slots.length - 1);
+        while (slots[slot] != EMPTY_SLOT) {
+            int entry = slots[slot];
+            if (lengths[entry] == storedLength && Arrays.equals(bytes, starts[entry],
+                    starts[entry] + encoded.length, encoded, 0, encoded.length)) {
+                retain(entry);
+                return entry;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+
+        int entry = newEntry(encoded, storedLength);
+        slots[slot] = entry;
+        slotsUsed++;
+        String lowerCase = text.toLowerCase();
+        folded[entry] = lowerCase.equals(text) ? entry : intern(lowerCase);
+        if (slotsUsed * 2 > slots.length) {
+            rebuildSlots(slots.length * 2);
+        }
+        return entry;
+    }
+
+    /**
+     * Drops a reference to a text. Once no references are left, the text is garbage.
+     *
+     * @param handle the handle returned by {@link #intern(String)}
+     */
+    public void release(int handle) {
+        assert references[handle] > 0 : "released more often than interned";
+        if (--references[handle] > 0) {
+            return;
+        }
+        garbageBytes += byteLength(handle);
+        if (folded[handle] != handle) {
+            release(folded[handle]);
+        }
+        if (garbageBytes > Math.max(byteSize - garbageBytes, INITIAL_BYTES)) {
+            compact();
+        }
+    }
+
+    /**
+     * Decodes a stored text.
+     *
+     * @param handle the handle of the text
+     * @return the text
+     */
+    public String get(int handle) {
+        return new String(bytes, starts[handle], byteLength(handle), charsetOf(handle));
+    }
+
+    /**
+     * Appends a stored text without creating a String for it, unless it is UTF-8 with
+     * characters outside ASCII.
+     *
+     * @param handle the handle of the text
+     * @param out the builder to append to
+     */
+    public void appendTo(int handle, StringBuilder out) {
+        int start = starts[handle];
+        int end = start + byteLength(handle);
+        if (isUtf8(handle)) {
+            for (int i = start; i < end; i++) {
+                if (bytes[i] < 0) {
+                    out.append(get(handle));
+                    return;
+                }
+            }
+        }
+        for (int i = start; i < end; i++) {
+            out.append((char) (bytes[i] & LATIN1_LIMIT));
+        }
+    }
+
+    /**
+     * Returns whether the lower-cased form of a stored text contains the given keyword,
+     * which is what {@code text.toLowerCase().contains(lowerCaseKeyword)} would return.
+     *
+     * @param handle the handle of the text
+     * @param lowerCaseKeyword the keyword, already lower-cased
+     * @return true if the keyword occurs in the lower-cased text
+     */
+    public boolean foldedContains(int handle, String lowerCaseKeyword) {
+        int lowerCase = folded[handle];
+        byte[] keyword = encodeKeyword(lowerCaseKeyword, isUtf8(lowerCase));
+        if (keyword == null) {
+            // The keyword has a character that Latin-1 text cannot contain.
+            return false;
+        }
+        int start = starts[lowerCase];
+        int last = start + byteLength(lowerCase) - keyword.length;
+        for (int from = start; from <= last; from++) {
+            if (Arrays.equals(bytes, from, from + keyword.length, keyword, 0, keyword.length)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the number of distinct texts stored, counting lower-cased forms.
+     *
+     * @return the number of referenced texts
+     */
+    public int getTextCount() {
+        int count = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (references[entry] > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of bytes used by referenced texts.
+     *
+     * @return the live byte count
+     */
+    public int getByteCount() {
+        return byteSize - garbageBytes;
+    }
+
+    /**
+     * Adds a reference to an entry, bringing a garbage entry and its lower-cased form back.
+     */
+    private void retain(int entry) {
+        if (references[entry]++ > 0) {
+            return;
+        }
+        garbageBytes -= byteLength(entry);
+        if (folded[entry] != entry) {
+            retain(folded[entry]);
+        }
+    }
+
+    private int newEntry(byte[] encoded, int storedLength) {
+        if (byteSize + encoded.length > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, byteSize + encoded.length));
+        }
+        System.arraycopy(encoded, 0, bytes, byteSize, encoded.length);
+
+        int entry;
+        if (freeCount > 0) {
+            entry = freeEntries[--freeCount];
+        } else {
+            if (entryCount == starts.length) {
+                int capacity = entryCount * 2;
+                starts = Arrays.copyOf(starts, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+                folded = Arrays.copyOf(folded, capacity);
+                references = Arrays.copyOf(references, capacity);
+            }
+            entry = entryCount++;
+        }
+        starts[entry] = byteSize;
+        lengths[entry] = storedLength;
+        references[entry] = 1;
+        byteSize += encoded.length;
+        return entry;
+    }
+
+    /**
+     * Copies the referenced texts into a new array and frees the handles of the others.
+     */
+    private void compact() {
+        byte[] compacted = new byte[Math.max((byteSize - garbageBytes) * 2, INITIAL_BYTES)];
+        int position = 0;
+        freeCount = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (references[entry] == 0) {
+                lengths[entry] = FREE;
+                if (freeCount == freeEntries.length) {
+                    freeEntries = Arrays.copyOf(freeEntries, freeCount * 2);
+                }
+                freeEntries[freeCount++] = entry;
+                continue;
+            }
+            int length = byteLength(entry);
+            System.arraycopy(bytes, starts[entry], compacted, position, length);
+            starts[entry] = position;
+            position += length;
+        }
+        bytes = compacted;
+        byteSize = position;
+        garbageBytes = 0;
+        rebuildSlots(slots.length);
+    }
+
+    private void rebuildSlots(int capacity) {
+        slots = newSlots(capacity);
+        slotsUsed = 0;
+        for (int entry = 0; entry < entryCount; entry++) {
+            if (lengths[entry] == FREE) {
+                continue;
+            }
+            int slot = hash(bytes, starts[entry], starts[entry] + byteLength(entry), lengths[entry])
+                    & (slots.length - 1);
+            while (slots[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & (slots.length - 1);
+            }
+            slots[slot] = entry;
+            slotsUsed++;
+        }
+    }
+
+    /**
+     * Returns the keyword in the given encoding, or null if Latin-1 cannot represent it.
+     * The last keyword is remembered, since a search asks about the same one for every row.
+     */
+    private byte[] encodeKeyword(String keyword, boolean isUtf8) {
+        if (!keyword.equals(lastKeyword)) {
+            lastKeyword = keyword;
+            lastLatin1Keyword = isLatin1(keyword) ? keyword.getBytes(StandardCharsets.ISO_8859_1) : null;
+            lastUtf8Keyword = keyword.getBytes(StandardCharsets.UTF_8);
+        }
+        return isUtf8 ? lastUtf8Keyword : lastLatin1Keyword;
+    }
+
+    private int byteLength(int entry) {
+        return lengths[entry] & ~UTF8_BIT;
+    }
+
+    private boolean isUtf8(int entry) {
+        return (lengths[entry] & UTF8_BIT) != 0;
+    }
+
+    private Charset charsetOf(int entry) {
+        return isUtf8(entry) ? StandardCharsets.UTF_8 : StandardCharsets.ISO_8859_1;
+    }
+
+    private static boolean isLatin1(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) > LATIN1_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int hash(byte[] source, int from, int to, int storedLength) {
+        int hash = storedLength;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + source[i];
+        }
+        // Spread the high bits, since the table is indexed by the low ones.
+        return hash ^ (hash >>> 16);
+    }
+
+    private static int[] newSlots(int capacity) {
+        int[] slots = new int[capacity];
+        Arrays.fill(slots, EMPTY_SLOT);
+        return slots;
+    }
+}
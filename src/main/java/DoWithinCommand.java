@@ -1,8 +1,6 @@
 package chatbot;
 
 import java.time.LocalDate;
-import java.util.ArrayList;
-
 /**
  * Represents a command to add a DoWithinTask (a task to be done within a period).
  */
@@ -35,10 +33,9 @@ public class DoWithinCommand extends Command {
      * @return a message confirming the task was added
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         DoWithinTask task = new DoWithinTask(description, from, to);
-        tasks.add(task);
-        storage.save(tasks);
-        return SUCCESS_PREFIX + task + String.format(TASK_COUNT_FORMAT, tasks.size());
+        SaveResult saved = tasks.add(task);
+        return withSaveStatus(SUCCESS_PREFIX + task + String.format(TASK_COUNT_FORMAT, tasks.size()), saved);
     }
 }
@@ -42,16 +42,17 @@ public class DoWithinTask extends Task {
     }
 
     /**
-     * Returns a string representation of this DoWithinTask.
+     * Appends a string representation of this DoWithinTask.
      * The format is "[P] [X] description (within: start to end)" if done,
      * "[P] [ ] description (within: start to end)" if not done.
      *
-     * @return a string representation of the task
+     * @param out the builder to append to
      */
     @Override
-    public String toString() {
-        String formattedFrom = DateTimeParser.formatDate(from);
-        String formattedTo = DateTimeParser.formatDate(to);
-        return "[P] " + super.toString() + " (within: " + formattedFrom + " to " + formattedTo + ")";
+    protected void render(StringBuilder out) {
+        out.append("[P] ");
+        super.render(out);
+        out.append(" (within: ").append(DateTimeParser.formatDate(from))
+                .append(" to ").append(DateTimeParser.formatDate(to)).append(')');
     }
 }
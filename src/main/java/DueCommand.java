@@ -0,0 +1,59 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Represents a command to list the unfinished deadlines and do-within tasks due by a date.
+ */
+public class DueCommand extends Command {
+    private static final String TASK_SEPARATOR = ". ";
+
+    private final LocalDate date;
+
+    /**
+     * Constructs a DueCommand.
+     *
+     * @param date the last due date to include
+     */
+    public DueCommand(LocalDate date) {
+        this.date = date;
+    }
+
+    /**
+     * Lists the matching tasks, soonest first, numbered by their position in the list so
+     * they can be marked directly.
+     *
+     * @param tasks the list of tasks
+     * @param storage the storage handler (not used)
+     * @return the matching tasks, or a message saying there are none
+     */
+    @Override
+    public String execute(TaskList tasks, Storage storage) {
+        assert tasks != null && storage != null : "tasks and storage must not be null";
+        String formattedDate = DateTimeParser.formatDate(date);
+        List<Integer> positions = tasks.getDateIndex().findDueBy(date);
+        if (positions.isEmpty()) {
+            return "Nothing is due by " + formattedDate + ". Enjoy the breathing room!";
+        }
+        return numbered(tasks, positions, "Here are the unfinished tasks due by " + formattedDate + ":");
+    }
+
+    /**
+     * Renders the tasks at the given positions under a header, numbered as in {@code list}.
+     *
+     * @param tasks the list of tasks
+     * @param positions the 0-based positions to show, in order
+     * @param header the first line
+     * @return the rendered lines
+     */
+    static String numbered(TaskList tasks, List<Integer> positions, String header) {
+        StringBuilder out = new StringBuilder(header.length() + positions.size() * Task.TYPICAL_RENDERED_LENGTH);
+        out.append(header);
+        for (int position : positions) {
+            out.append('\n').append(position + 1).append(TASK_SEPARATOR);
+            tasks.appendTask(position, out);
+        }
+        return out.toString();
+    }
+}
@@ -42,16 +42,17 @@ public class Event extends Task {
     }
 
     /**
-     * Returns a string representation of this event task.
+     * Appends a string representation of this event task.
      * The format is "[E] [X] description (from: start to: end)" if done,
      * "[E] [ ] description (from: start to: end)" if not done.
      *
-     * @return a string representation of the event task
+     * @param out the builder to append to
      */
     @Override
-    public String toString() {
-        String formattedFrom = DateTimeParser.formatDateTime(from);
-        String formattedTo = DateTimeParser.formatDateTime(to);
-        return "[E] " + super.toString() + " (from: " + formattedFrom + " to: " + formattedTo + ")";
+    protected void render(StringBuilder out) {
+        out.append("[E] ");
+        super.render(out);
+        out.append(" (from: ").append(DateTimeParser.formatDateTime(from))
+                .append(" to: ").append(DateTimeParser.formatDateTime(to)).append(')');
     }
 }
@@ -1,7 +1,7 @@
 package chatbot;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents a command to add an event task.
@@ -25,17 +25,22 @@ public class EventCommand extends Command {
     }
 
     /**
-     * Executes the command to add an event task to the task list.
+     * Executes the command to add an event task to the task list, warning about any
+     * existing events it overlaps.
      *
      * @param tasks the list of tasks
      * @param storage the storage handler
      * @return a message confirming the task was added
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         Task task = new Event(description, from, to);
-        tasks.add(task);
-        storage.save(tasks);
-        return "Added: " + task;
+        List<Integer> conflicts = tasks.getDateIndex().findOverlappingEvents(from, to);
+        SaveResult saved = tasks.add(task);
+        String message = "Added: " + task;
+        if (!conflicts.isEmpty()) {
+            message += "\n" + DueCommand.numbered(tasks, conflicts, "Heads up: this overlaps with:");
+        }
+        return withSaveStatus(message, saved);
     }
 }
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a fallback command that treats unrecognized input as a todo.
  * This maintains backward compatibility with the original behavior where
@@ -27,10 +25,9 @@ public class FallbackTodoCommand extends Command {
      * @return a message confirming the task was added, followed by the original input
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         Task task = new Todo(input);
-        tasks.add(task);
-        storage.save(tasks);
-        return "Added: " + task + "\n" + input;
+        SaveResult saved = tasks.add(task);
+        return withSaveStatus("Added: " + task + "\n" + input, saved);
     }
 }
@@ -1,51 +1,150 @@
 package chatbot;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 /**
- * Represents a command to find tasks matching a keyword.
+ * Represents a command to find tasks matching a keyword, optionally including archived tasks.
+ *
+ * By default the keyword may occur anywhere in a description, and the working tasks are looked
+ * up in the {@link TrigramIndex} unless the keyword is too short for it. In the word modes the
+ * keyword is split into words, which must match whole words of the description, and the
+ * working tasks are looked up in the {@link KeywordIndex}. The fuzzy mode also accepts words
+ * a few typos away and lists the closest matches first.
  */
 public class FindCommand extends Command {
     private static final String EMPTY_RESULT_MESSAGE = "No matching tasks found.";
     private static final String TASK_SEPARATOR = ". ";
     private static final String HEADER = "Here are the matching tasks in your list:";
 
+    private static final String ARCHIVE_HEADER = "Matching archived tasks:";
+
+    /**
+     * How the keyword is matched against descriptions.
+     */
+    public enum Mode {
+        /** The keyword occurs anywhere in the description. */
+        SUBSTRING,
+        /** Every word of the keyword is a word of the description. */
+        ALL_WORDS,
+        /** At least one word of the keyword is a word of the description. */
+        ANY_WORD,
+        /** Every word of the keyword is close, in edit distance, to a word of the description. */
+        FUZZY
+    }
+
     private final String keyword;
+    private final Mode mode;
+    private final boolean includesArchive;
 
     /**
-     * Constructs a FindCommand with the given keyword.
+     * Constructs a FindCommand with the given keyword that searches the working tasks only.
      *
      * @param keyword the keyword to search for
      */
     public FindCommand(String keyword) {
+        this(keyword, false);
+    }
+
+    /**
+     * Constructs a FindCommand with the given keyword.
+     *
+     * @param keyword the keyword to search for
+     * @param includesArchive whether archived tasks are searched as well
+     */
+    public FindCommand(String keyword, boolean includesArchive) {
+        this(keyword, Mode.SUBSTRING, includesArchive);
+    }
+
+    /**
+     * Constructs a FindCommand with the given keyword and matching mode.
+     *
+     * @param keyword the keyword to search for
+     * @param mode how the keyword is matched
+     * @param includesArchive whether archived tasks are searched as well
+     */
+    public FindCommand(String keyword, Mode mode, boolean includesArchive) {
         this.keyword = keyword;
+        this.mode = mode;
+        this.includesArchive = includesArchive;
     }
 
     /**
      * Executes the command to find tasks containing the keyword.
      *
      * @param tasks the list of tasks
-     * @param storage the storage handler (not used)
+     * @param storage the storage handler, read only when archived tasks are searched
      * @return a message listing all matching tasks, or a message indicating no matches found
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         assert tasks != null && storage != null : "tasks and storage must not be null";
-        String lowerKeyword = keyword.toLowerCase();
-        List<Task> matchingTasks = tasks.stream()
-                .filter(task -> task.getDescription().toLowerCase().contains(lowerKeyword))
-                .collect(Collectors.toList());
+        List<Integer> positions = matchingPositions(tasks);
+        StringBuilder result = new StringBuilder(HEADER.length() + positions.size() * Task.TYPICAL_RENDERED_LENGTH);
+        int matchCount = 0;
+        for (int i : positions) {
+            if (matchCount == 0) {
+                result.append(HEADER);
+            }
+            result.append("\n").append(++matchCount).append(TASK_SEPARATOR);
+            tasks.appendTask(i, result);
+        }
+        List<Task> matchingArchived = includesArchive ? matching(storage.loadArchive()) : List.of();
+
+        String warning = includesArchive ? ListCommand.archiveWarning(storage) : "";
+        if (matchCount == 0 && matchingArchived.isEmpty()) {
+            return EMPTY_RESULT_MESSAGE + warning;
+        }
 
-        if (matchingTasks.isEmpty()) {
-            return EMPTY_RESULT_MESSAGE;
+        if (!matchingArchived.isEmpty()) {
+            if (result.length() > 0) {
+                result.append("\n");
+            }
+            result.append(ARCHIVE_HEADER).append("\n").append(ListCommand.numbered(matchingArchived));
         }
+        return result.append(warning).toString();
+    }
 
-        String numberedList = IntStream.range(0, matchingTasks.size())
-                .mapToObj(i -> (i + 1) + TASK_SEPARATOR + matchingTasks.get(i))
-                .collect(Collectors.joining("\n"));
-        return HEADER + "\n" + numberedList;
+    private List<Integer> matchingPositions(TaskList tasks) {
+        switch (mode) {
+        case ALL_WORDS:
+            return tasks.getKeywordIndex().findAll(KeywordIndex.words(keyword));
+        case ANY_WORD:
+            return tasks.getKeywordIndex().findAny(KeywordIndex.words(keyword));
+        case FUZZY:
+            return tasks.getKeywordIndex().findSimilar(KeywordIndex.words(keyword));
+        default:
+            String lowerKeyword = keyword.toLowerCase();
+            if (lowerKeyword.length() >= TrigramIndex.MIN_KEYWORD_LENGTH) {
+                return tasks.getTrigramIndex().find(lowerKeyword);
+            }
+            return IntStream.range(0, tasks.size())
+                    .filter(i -> tasks.descriptionContains(i, lowerKeyword))
+                    .boxed()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Task> matching(List<Task> tasks) {
+        return tasks.stream()
+                .filter(this::matches)
+                .collect(Collectors.toList());
+    }
+
+    private boolean matches(Task task) {
+        switch (mode) {
+        case ALL_WORDS:
+            return KeywordIndex.words(task.getDescription()).containsAll(KeywordIndex.words(keyword));
+        case ANY_WORD:
+            List<String> words = KeywordIndex.words(task.getDescription());
+            return KeywordIndex.words(keyword).stream().anyMatch(words::contains);
+        case FUZZY:
+            List<String> taskWords = KeywordIndex.words(task.getDescription());
+            return KeywordIndex.words(keyword).stream().allMatch(word -> taskWords.stream()
+                    .anyMatch(taskWord -> BkTree.distance(word, taskWord) <= KeywordIndex.maxEdits(word)));
+        default:
+            return task.getDescription().toLowerCase().contains(keyword.toLowerCase());
+        }
     }
 }
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to show the list of available commands.
  */
@@ -13,15 +11,20 @@ public class HelpCommand extends Command {
             "  deadline <description> /by <date>",
             "  event <description> /from <date-time> /to <date-time>",
             "  dowithin <description> /from <date> /to <date>",
-            "  list",
+            "  list [/archive]",
+            "  list [/done | /undone] [/type <todo|deadline|event|dowithin>]",
             "  mark <task number>",
             "  unmark <task number>",
             "  delete <task number>",
-            "  find <keyword>",
+            "  find [/all | /any | ~]<keyword> [/archive]",
+            "  due <date>",
+            "  on <date>",
+            "  between <date> <date>",
+            "  conflicts",
             "  bye");
 
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         return HELP_MESSAGE;
     }
 }
@@ -0,0 +1,226 @@
+package chatbot;
+
+/**
+ * A set of half-open intervals {@code [start, end)}, each tagged with a task id, that can
+ * report the intervals overlapping a query range without looking at the others.
+ *
+ * The intervals are kept in a treap ordered by start and then by id, and every node also
+ * records the largest end in its subtree. A query skips a subtree whose largest end is at or
+ * before the query's start, and everything to the right of a node that starts at or after
+ * the query's end, so every node it visits is on the path to a reported interval or to one
+ * end of the range: O(log n + k) when the overlapping intervals sit together, and never
+ * more than O((k + 1) log n).
+ *
+ * Priorities are derived from a counter by a hash, which keeps the tree balanced in
+ * expectation without depending on the order of insertion.
+ *
+ * This class is not thread-safe.
+ */
+public class IntervalTree {
+    private static final long PRIORITY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Receives the intervals found by a query or traversal.
+     */
+    @FunctionalInterface
+    public interface Visitor {
+        /**
+         * Called once per interval, in order of start and then of id.
+         *
+         * @param start the start of the interval, inclusive
+         * @param end the end of the interval, exclusive
+         * @param id the id the interval was added with
+         */
+        void visit(long start, long end, int id);
+    }
+
+    private static final class Node {
+        final long start;
+        final long end;
+        final int id;
+        final long priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(long start, long end, int id, long priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+    }
+
+    private Node root;
+    private int size;
+    private long insertions;
+
+    /**
+     * Adds an interval.
+     *
+     * @param start the start of the interval, inclusive
+     * @param end the end of the interval, exclusive, greater than {@code start}
+     * @param id the id of the task; no other interval with the same start may have it
+     */
+    public void insert(long start, long end, int id) {
+        assert start < end : "interval must not be empty";
+        long priority = ++insertions * PRIORITY_MULTIPLIER;
+        root = insert(root, new Node(start, end, id, priority ^ (priority >>> 29)));
+        size++;
+    }
+
+    /**
+     * Removes the interval with the given start and id.
+     *
+     * @param start the start the interval was added with
+     * @param id the id the interval was added with
+     */
+    public void remove(long start, int id) {
+        int before = size;
+        root = remove(root, start, id);
+        assert size < before : "interval not found";
+    }
+
+    /**
+     * Visits every interval that overlaps {@code [from, to)}.
+     *
+     * @param from the start of the query range, inclusive
+     * @param to the end of the query range, exclusive
+     * @param visitor receives the overlapping intervals
+     */
+    public void query(long from, long to, Visitor visitor) {
+        query(root, from, to, visitor);
+    }
+
+    /**
+     * Visits every interval in order.
+     *
+     * @param visitor receives the intervals
+     */
+    public void forEach(Visitor visitor) {
+        query(root, Long.MIN_VALUE, Long.MAX_VALUE, visitor);
+    }
+
+    /**
+     * Returns the number of intervals.
+     *
+     * @return the interval count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes every interval.
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    private static Node insert(Node root, Node node) {
+        if (root == null) {
+            return node;
+        }
+        if (compare(node.start, node.id, root) < 0) {
+            root.left = insert(root.left, node);
+            if (root.left.priority > root.priority) {
+                root = rotateRight(root);
+            }
+        } else {
+            root.right = insert(root.right, node);
+            if (root.right.priority > root.priority) {
+                root = rotateLeft(root);
+            }
+        }
+        update(root);
+        return root;
+    }
+
+    private Node remove(Node root, long start, int id) {
+        if (root == null) {
+            return null;
+        }
+        int comparison = compare(start, id, root);
+        if (comparison == 0) {
+            size--;
+            return merge(root.left, root.right);
+        }
+        if (comparison < 0) {
+            root.left = remove(root.left, start, id);
+        } else {
+            root.right = remove(root.right, start, id);
+        }
+        update(root);
+        return root;
+    }
+
+    private static void query(Node node, long from, long to, Visitor visitor) {
+        if (node == null || node.maxEnd <= from) {
+            return;
+        }
+        query(node.left, from, to, visitor);
+        if (node.start >= to) {
+            return;
+        }
+        if (node.end > from) {
+            visitor.visit(node.start, node.end, node.id);
+        }
+        query(node.right, from, to, visitor);
+    }
+
+    /**
+     * Joins two treaps where every node of {@code left} sorts before every node of {@code right}.
+     */
+    private static Node merge(Node left, Node right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            update(left);
+            return left;
+        }
+        right.left = merge(left, right.left);
+        update(right);
+        return right;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int compare(long start, int id, Node node) {
+        int comparison = Long.compare(start, node.start);
+        return comparison != 0 ? comparison : Integer.compare(id, node.id);
+    }
+}
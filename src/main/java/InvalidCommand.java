@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents an invalid or unrecognized command.
  * This command is used when user input cannot be parsed into a valid command.
@@ -26,7 +24,12 @@ public class InvalidCommand extends Command {
      * @return the error message
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         return errorMessage;
     }
+
+    @Override
+    public boolean canExecute(TaskList tasks) {
+        return false;
+    }
 }
@@ -0,0 +1,365 @@
+package chatbot;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Storage that appends one small record per mutation instead of rewriting the whole file.
+ *
+ * The task file itself is kept as a snapshot in the usual text format. Every add, mark,
+ * unmark and delete is appended to a journal file next to it, and {@link #load()} replays
+ * the journal on top of the snapshot. Once the journal grows past a size threshold it is
+ * folded into a fresh snapshot on a background thread.
+ *
+ * Compaction rotates the live journal to a "compacting" file, writes the new snapshot to a
+ * "next" file, deletes the compacting journal and only then renames the next snapshot into
+ * place. A crash at any point leaves enough on disk for {@link #load()} to either roll the
+ * compaction forward or discard it.
+ *
+ * A full {@link #save(List)} writes its snapshot to a "saving" file, deletes both journals,
+ * whose records the snapshot already holds, and only then moves the snapshot into place.
+ * Once the saving file exists it supersedes every journal, so {@link #load()} rolls an
+ * interrupted save forward instead of replaying records the snapshot already contains.
+ */
+public class JournalStorage extends Storage {
+    /** Default journal size (in bytes) after which a compaction is started. */
+    public static final long DEFAULT_COMPACTION_THRESHOLD = 1L << 20;
+
+    private static final String JOURNAL_SUFFIX = ".journal";
+    private static final String COMPACTING_SUFFIX = ".journal.compacting";
+    private static final String NEXT_SNAPSHOT_SUFFIX = ".next";
+    private static final String SAVING_SUFFIX = ".saving";
+    private static final String RECORD_ADD = "A";
+    private static final String RECORD_MARK = "M";
+    private static final String RECORD_UNMARK = "U";
+    private static final String RECORD_DELETE = "X";
+    private static final String RECORD_DELIMITER = " | ";
+    private static final int RECORD_TYPE_LENGTH = 1;
+
+    private final File snapshotFile;
+    private final File journalFile;
+    private final File compactingFile;
+    private final File nextSnapshotFile;
+    private final File savingFile;
+    private final long compactionThreshold;
+    private final ExecutorService compactor;
+
+    private FileOutputStream journalStream;
+    private Writer journalWriter;
+    private long journalSize;
+    private Future<?> pendingCompaction;
+    /** Whether a saving file was written but could not be moved into place yet. */
+    private boolean hasUnpublishedSave;
+
+    /**
+     * Constructs a JournalStorage with the default compaction threshold.
+     *
+     * @param filePath the path to the snapshot file
+     */
+    public JournalStorage(String filePath) {
+        this(filePath, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Constructs a JournalStorage that compacts once the journal reaches the given size.
+     *
+     * @param filePath the path to the snapshot file
+     * @param compactionThreshold the journal size in bytes that triggers a compaction
+     */
+    public JournalStorage(String filePath, long compactionThreshold) {
+        super(filePath);
+        assert compactionThreshold > 0 : "compactionThreshold must be positive";
+        this.snapshotFile = new File(filePath);
+        this.journalFile = new File(filePath + JOURNAL_SUFFIX);
+        this.compactingFile = new File(filePath + COMPACTING_SUFFIX);
+        this.nextSnapshotFile = new File(filePath + NEXT_SNAPSHOT_SUFFIX);
+        this.savingFile = new File(filePath + SAVING_SUFFIX);
+        this.compactionThreshold = compactionThreshold;
+        this.compactor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-compactor");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Loads the snapshot and replays any journal records on top of it.
+     * An interrupted save is rolled forward, and an interrupted compaction is rolled forward
+     * or discarded, first.
+     */
+    @Override
+    public synchronized List<Task> load() {
+        if (savingFile.exists()) {
+            publishSave();
+        }
+        recoverInterruptedCompaction();
+        List<Task> tasks = super.load();
+        replay(compactingFile, tasks);
+        replay(journalFile, tasks);
+        journalSize = journalFile.length();
+        return tasks;
+    }
+
+    /**
+     * Writes a full snapshot synchronously and starts a new, empty journal.
+     */
+    @Override
+    public synchronized SaveResult save(List<Task> tasks) {
+        SaveResult refused = checkWritable();
+        if (refused != null) {
+            return refused;
+        }
+        awaitPendingCompaction();
+        closeJournal();
+        try {
+            writeTasks(savingFile, tasks);
+        } catch (IOException e) {
+            return SaveResult.failure(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+        return publishSave();
+    }
+
+    @Override
+    public synchronized SaveResult saveAdded(List<Task> tasks, Task task) {
+        return append(tasks, RECORD_ADD + RECORD_DELIMITER + formatTask(task));
+    }
+
+    @Override
+    public synchronized SaveResult saveMarked(List<Task> tasks, int index) {
+        return append(tasks, RECORD_MARK + RECORD_DELIMITER + index);
+    }
+
+    @Override
+    public synchronized SaveResult saveUnmarked(List<Task> tasks, int index) {
+        return append(tasks, RECORD_UNMARK + RECORD_DELIMITER + index);
+    }
+
+    @Override
+    public synchronized SaveResult saveDeleted(List<Task> tasks, int index) {
+        return append(tasks, RECORD_DELETE + RECORD_DELIMITER + index);
+    }
+
+    /**
+     * Waits for a running compaction and closes the journal.
+     */
+    @Override
+    public synchronized void close() {
+        awaitPendingCompaction();
+        closeJournal();
+        compactor.shutdown();
+        super.close();
+    }
+
+    private SaveResult append(List<Task> tasks, String record) {
+        SaveResult refused = checkWritable();
+        if (refused != null) {
+            return refused;
+        }
+        if (hasUnpublishedSave) {
+            // Records must not go to a journal that the pending saving file would discard.
+            SaveResult published = publishSave();
+            if (!published.isSuccessful()) {
+                return published;
+            }
+        }
+        try {
+            if (journalWriter == null) {
+                journalFile.getAbsoluteFile().getParentFile().mkdirs();
+                journalStream = new FileOutputStream(journalFile, true);
+                journalWriter = new OutputStreamWriter(journalStream, StandardCharsets.UTF_8);
+            }
+            String line = record + System.lineSeparator();
+            journalWriter.write(line);
+            journalWriter.flush();
+            if (isDurable()) {
+                journalStream.getChannel().force(false);
+            }
+            journalSize += line.getBytes(StandardCharsets.UTF_8).length;
+        } catch (IOException e) {
+            // Fall back to a full snapshot so the mutation is not lost.
+            return save(tasks);
+        }
+        if (journalSize >= compactionThreshold) {
+            startCompaction(tasks);
+        }
+        return SaveResult.success();
+    }
+
+    /**
+     * Rotates the live journal and writes a snapshot of the current list in the background.
+     * The list is copied here so later mutations cannot disturb the snapshot's structure;
+     * done flags may still change, but mark and unmark records are absolute and replay cleanly.
+     */
+    private void startCompaction(List<Task> tasks) {
+        if (pendingCompaction != null && !pendingCompaction.isDone() || compactingFile.exists()) {
+            return;
+        }
+        closeJournal();
+        if (!journalFile.renameTo(compactingFile)) {
+            return;
+        }
+        journalSize = 0;
+        List<Task> snapshot = new ArrayList<>(tasks);
+        pendingCompaction = compactor.submit(() -> compact(snapshot));
+    }
+
+    private void compact(List<Task> snapshot) {
+        try {
+            writeTasks(nextSnapshotFile, snapshot);
+        } catch (IOException e) {
+            // Keep the compacting journal; load() still replays it and the next save folds it in.
+            nextSnapshotFile.delete();
+            return;
+        }
+        synchronized (this) {
+            if (!compactingFile.exists()) {
+                // A synchronous save has already superseded this compaction.
+                nextSnapshotFile.delete();
+                return;
+            }
+            compactingFile.delete();
+            replaceSnapshot();
+        }
+    }
+
+    /**
+     * Finishes or discards a compaction that was interrupted by a crash.
+     * The next snapshot is only complete once the compacting journal has been deleted.
+     */
+    private void recoverInterruptedCompaction() {
+        if (!nextSnapshotFile.exists()) {
+            return;
+        }
+        if (compactingFile.exists()) {
+            nextSnapshotFile.delete();
+        } else {
+            replaceSnapshot();
+        }
+    }
+
+    /**
+     * Moves the saving file into place. Its snapshot already holds every journal record, so
+     * the journals are deleted first; until the move, the saving file is what marks them as
+     * folded in.
+     */
+    private SaveResult publishSave() {
+        compactingFile.delete();
+        journalFile.delete();
+        nextSnapshotFile.delete();
+        journalSize = 0;
+        hasUnpublishedSave = compactingFile.exists() || journalFile.exists() || !replaceSnapshot(savingFile);
+        if (hasUnpublishedSave) {
+            return SaveResult.failure("Could not replace " + snapshotFile + " with " + savingFile);
+        }
+        return SaveResult.success();
+    }
+
+    private void replaceSnapshot() {
+        replaceSnapshot(nextSnapshotFile);
+    }
+
+    private boolean replaceSnapshot(File source) {
+        snapshotFile.delete();
+        return source.renameTo(snapshotFile);
+    }
+
+    private void replay(File journal, List<Task> tasks) {
+        if (!journal.exists()) {
+            return;
+        }
+        try (Scanner scanner = new Scanner(journal, StandardCharsets.UTF_8)) {
+            while (scanner.hasNextLine()) {
+                applyRecord(scanner.nextLine().trim(), tasks);
+            }
+        } catch (IOException e) {
+            // Nothing more can be replayed from this journal.
+        }
+    }
+
+    /**
+     * Applies one journal record to the list. Malformed records, such as a line torn by a
+     * crash, are skipped.
+     */
+    private void applyRecord(String record, List<Task> tasks) {
+        if (record.length() <= RECORD_TYPE_LENGTH + RECORD_DELIMITER.length()
+                || !record.startsWith(RECORD_DELIMITER, RECORD_TYPE_LENGTH)) {
+            return;
+        }
+        String type = record.substring(0, RECORD_TYPE_LENGTH);
+        String payload = record.substring(RECORD_TYPE_LENGTH + RECORD_DELIMITER.length());
+
+        if (RECORD_ADD.equals(type)) {
+            Task task = parseTask(payload);
+            if (task != null) {
+                tasks.add(task);
+            }
+            return;
+        }
+
+        int index;
+        try {
+            index = Integer.parseInt(payload);
+        } catch (NumberFormatException e) {
+            return;
+        }
+        if (index < 0 || index >= tasks.size()) {
+            return;
+        }
+        switch (type) {
+        case RECORD_MARK:
+            tasks.get(index).markDone();
+            break;
+        case RECORD_UNMARK:
+            tasks.get(index).unmarkDone();
+            break;
+        case RECORD_DELETE:
+            tasks.remove(index);
+            break;
+        default:
+            break;
+        }
+    }
+
+    private void awaitPendingCompaction() {
+        Future<?> compaction = pendingCompaction;
+        if (compaction == null) {
+            return;
+        }
+        pendingCompaction = null;
+        // Drop the lock while the compactor finishes its own synchronized step.
+        boolean interrupted = false;
+        while (!compaction.isDone()) {
+            try {
+                wait(10);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeJournal() {
+        if (journalWriter == null) {
+            return;
+        }
+        try {
+            journalWriter.close();
+        } catch (IOException e) {
+            // The records were already flushed after each append.
+        }
+        journalWriter = null;
+        journalStream = null;
+    }
+}
@@ -0,0 +1,280 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * An inverted index from the words of task descriptions to the tasks that contain them.
+ *
+ * A description is split into words at every character that is not a letter or a digit, and
+ * the words are lower-cased. Each word keeps a posting list: the ids (from
+ * {@link TaskPositions}) of the tasks containing it, in ascending order. Since ids are handed
+ * out in list order, appending a task appends to its posting lists, and a query for several
+ * words intersects or merges the lists without looking at the tasks that do not match.
+ *
+ * For {@link #findSimilar(List)}, the words seen so far are also kept in a {@link BkTree},
+ * built on the first such query, so a misspelt word is matched against the vocabulary rather
+ * than against every description.
+ *
+ * Deleting a task only counts its id as dead in each of its {@link PostingList}s, so queries
+ * stay proportional to the number of matches. The list the index was built for updates it on
+ * every change. It is not thread-safe.
+ */
+public class KeywordIndex implements TaskIndex {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] NO_TERMS = new int[0];
+
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<PostingList> postings = new ArrayList<>();
+    private final TaskPositions positions;
+    private int[][] termsById;
+    private BkTree vocabulary;
+
+    /**
+     * Builds the index for the tasks currently in the list and adds it to the list.
+     *
+     * @param tasks the list to index
+     */
+    public KeywordIndex(TaskList tasks) {
+        termsById = new int[Math.max(tasks.size(), INITIAL_CAPACITY)][];
+        positions = tasks.addIndex(this);
+    }
+
+    /**
+     * Splits a text into lower-cased words, dropping repeats.
+     *
+     * @param text the text to split
+     * @return the distinct words in order of first occurrence
+     */
+    public static List<String> words(String text) {
+        Set<String> words = new LinkedHashSet<>();
+        String lowerCase = text.toLowerCase();
+        int start = -1;
+        for (int i = 0; i <= lowerCase.length(); i++) {
+            boolean isWordChar = i < lowerCase.length() && Character.isLetterOrDigit(lowerCase.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(lowerCase.substring(start, i));
+                start = -1;
+            }
+        }
+        return new ArrayList<>(words);
+    }
+
+    /**
+     * Returns the positions of the tasks whose descriptions contain every one of the words.
+     *
+     * @param words the words to look for, as returned by {@link #words(String)}
+     * @return 0-based positions in ascending order
+     */
+    public List<Integer> findAll(List<String> words) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String word : words) {
+            PostingList list = postingsOf(word);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+        }
+        List<Integer> result = new ArrayList<>();
+        if (!lists.isEmpty()) {
+            PostingList.intersect(lists, positions::isLive, id -> result.add(positions.positionOf(id)));
+        }
+        return result;
+    }
+
+    /**
+     * Returns the positions of the tasks whose descriptions contain at least one of the words.
+     *
+     * @param words the words to look for, as returned by {@link #words(String)}
+     * @return 0-based positions in ascending order
+     */
+    public List<Integer> findAny(List<String> words) {
+        List<PostingList> lists = new ArrayList<>();
+        for (String word : words) {
+            PostingList list = postingsOf(word);
+            if (list != null) {
+                lists.add(list);
+            }
+        }
+        // Merge the lists with a heap of {list, cursor} pairs ordered by the id at the cursor.
+        PriorityQueue<int[]> heads = new PriorityQueue<>(Math.max(lists.size(), 1),
+                (a, b) -> Integer.compare(lists.get(a[0]).get(a[1]), lists.get(b[0]).get(b[1])));
+        for (int i = 0; i < lists.size(); i++) {
+            if (lists.get(i).size() > 0) {
+                heads.add(new int[] {i, 0});
+            }
+        }
+        List<Integer> result = new ArrayList<>();
+        int lastId = -1;
+        while (!heads.isEmpty()) {
+            int[] head = heads.poll();
+            PostingList list = lists.get(head[0]);
+            int id = list.get(head[1]);
+            if (id != lastId && positions.isLive(id)) {
+                result.add(positions.positionOf(id));
+            }
+            lastId = id;
+            if (++head[1] < list.size()) {
+                heads.add(head);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the positions of the tasks that have, for every one of the words, a word
+     * within {@link #maxEdits(String)} edits of it. Tasks are ranked by the sum of the
+     * distances of their closest words, and tasks with equal sums by position.
+     *
+     * @param words the words to look for, as returned by {@link #words(String)}
+     * @return 0-based positions, closest matches first
+     */
+    public List<Integer> findSimilar(List<String> words) {
+        if (vocabulary == null) {
+            vocabulary = new BkTree();
+            termIds.keySet().forEach(vocabulary::add);
+        }
+        // matchedWords[id] counts the query words matched so far; a task only stays in the
+        // running while it has matched every earlier word.
+        int[] matchedWords = new int[positions.getIdLimit()];
+        int[] totals = new int[positions.getIdLimit()];
+        int[] matches = new int[INITIAL_CAPACITY];
+        int matchCount = 0;
+        int maxTotal = 0;
+        for (int w = 0; w < words.size(); w++) {
+            String word = words.get(w);
+            List<List<String>> termsByDistance = new ArrayList<>();
+            for (int d = 0; d <= maxEdits(word); d++) {
+                termsByDistance.add(new ArrayList<>());
+            }
+            vocabulary.query(word, maxEdits(word), (term, distance) -> termsByDistance.get(distance).add(term));
+            // Closer terms first, so the first term that matches a task is its closest.
+            for (int d = 0; d < termsByDistance.size(); d++) {
+                for (String term : termsByDistance.get(d)) {
+                    PostingList list = postingsOf(term);
+                    for (int i = 0; i < list.size(); i++) {
+                        int id = list.get(i);
+                        if (matchedWords[id] != w || !positions.isLive(id)) {
+                            continue;
+                        }
+                        matchedWords[id] = w + 1;
+                        totals[id] += d;
+                        if (w == words.size() - 1) {
+                            if (matchCount == matches.length) {
+                                matches = Arrays.copyOf(matches, matchCount * 2);
+                            }
+                            matches[matchCount++] = id;
+                            maxTotal = Math.max(maxTotal, totals[id]);
+                        }
+                    }
+                }
+            }
+        }
+
+        // Order by total distance, then by id, which is list order.
+        Arrays.sort(matches, 0, matchCount);
+        List<Integer> result = new ArrayList<>(matchCount);
+        for (int total = 0; total <= maxTotal; total++) {
+            for (int i = 0; i < matchCount; i++) {
+                if (totals[matches[i]] == total) {
+                    result.add(positions.positionOf(matches[i]));
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns how many edits a word may be away from a word it matches in
+     * {@link #findSimilar(List)}: none for words of up to two characters, one for up to five,
+     * and two for longer ones.
+     *
+     * @param word the word looked for
+     * @return the largest edit distance accepted
+     */
+    public static int maxEdits(String word) {
+        if (word.length() <= 2) {
+            return 0;
+        }
+        return word.length() <= 5 ? 1 : 2;
+    }
+
+    @Override
+    public void taskAdded(int id, Task task) {
+        add(id, task);
+    }
+
+    @Override
+    public void taskUpdated(int id, Task task) {
+        int[] terms = termsOf(task);
+        if (Arrays.equals(terms, termsById[id])) {
+            // Marking a task does not change its words.
+            return;
+        }
+        for (int term : termsById[id]) {
+            postings.get(term).remove(id);
+        }
+        add(id, task);
+    }
+
+    @Override
+    public void taskRemoved(int id, Task task) {
+        for (int term : termsById[id]) {
+            postings.get(term).markDead(positions::isLive);
+        }
+        termsById[id] = NO_TERMS;
+    }
+
+    @Override
+    public void clear() {
+        termIds.clear();
+        postings.clear();
+        vocabulary = null;
+    }
+
+    private void add(int id, Task task) {
+        if (id >= termsById.length) {
+            termsById = Arrays.copyOf(termsById, Math.max(id + 1, termsById.length * 2));
+        }
+        int[] terms = termsOf(task);
+        for (int term : terms) {
+            postings.get(term).add(id);
+        }
+        termsById[id] = terms;
+    }
+
+    /**
+     * Returns the sorted term numbers of a task's words, numbering words not seen before.
+     */
+    private int[] termsOf(Task task) {
+        List<String> words = words(task.getDescription());
+        int[] terms = new int[words.size()];
+        for (int i = 0; i < terms.length; i++) {
+            Integer term = termIds.get(words.get(i));
+            if (term == null) {
+                term = postings.size();
+                termIds.put(words.get(i), term);
+                postings.add(new PostingList());
+                if (vocabulary != null) {
+                    vocabulary.add(words.get(i));
+                }
+            }
+            terms[i] = term;
+        }
+        Arrays.sort(terms);
+        return terms;
+    }
+
+    private PostingList postingsOf(String word) {
+        Integer term = termIds.get(word);
+        return term == null ? null : postings.get(term);
+    }
+}
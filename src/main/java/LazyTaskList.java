@@ -0,0 +1,275 @@
+package chatbot;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * A list of tasks backed by a mapped binary storage file that decodes records on demand.
+ *
+ * At load time only the offset of each record is recorded. A record becomes a {@link Task}
+ * the first time it is accessed, and decoded tasks are kept in a bounded, least-recently-used
+ * cache. Tasks added or replaced after loading have no record in the mapped file, so they
+ * are held in memory ("pinned") for as long as they are in the list. The slot of a pinned
+ * task that is removed or replaced is reused by the next task pinned, so a long session
+ * holds only as many slots as it ever had pinned tasks at once.
+ *
+ * Since a task's done flag is its only mutable state, a task evicted from the cache after
+ * being marked or unmarked leaves its new flag behind, so it is decoded correctly next time.
+ *
+ * This list is not thread-safe.
+ */
+public class LazyTaskList extends AbstractList<Task> implements RandomAccess {
+    /** Default number of decoded tasks kept in memory. */
+    public static final int DEFAULT_CACHE_SIZE = 10_000;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ByteBuffer buffer;
+    private final BinaryTaskCodec codec = new BinaryTaskCodec();
+    private final Map<Integer, Task> cache;
+    private final Map<Integer, Boolean> doneOverrides = new HashMap<>();
+    private final List<Task> pinned = new ArrayList<>();
+    /** Slots of {@link #pinned} whose task has left the list. */
+    private final ArrayDeque<Integer> freeSlots = new ArrayDeque<>();
+
+    /**
+     * One entry per task: a record offset (0 or more), or -(k + 1) for the k-th pinned task.
+     */
+    private int[] refs;
+    private int size;
+    private int lostRecordCount;
+
+    /**
+     * Constructs a view over the given records.
+     *
+     * @param buffer the buffer holding the binary storage file
+     * @param offsets the offset of each record, in list order
+     * @param count the number of valid entries in {@code offsets}
+     * @param cacheSize the maximum number of decoded tasks kept in memory
+     */
+    public LazyTaskList(ByteBuffer buffer, int[] offsets, int count, int cacheSize) {
+        assert cacheSize > 0 : "cacheSize must be positive";
+        this.buffer = buffer;
+        this.refs = offsets;
+        this.size = count;
+        this.cache = new LinkedHashMap<>(INITIAL_CAPACITY, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Task> eldest) {
+                if (size() <= cacheSize) {
+                    return false;
+                }
+                rememberDoneFlag(eldest.getKey(), eldest.getValue());
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Builds a view by indexing the records of a binary storage file.
+     * Descriptions and dates are not decoded.
+     *
+     * @param buffer the buffer holding the whole file, starting with a valid header
+     * @param cacheSize the maximum number of decoded tasks kept in memory
+     * @return the view; deleted and damaged records are left out
+     */
+    public static LazyTaskList index(ByteBuffer buffer, int cacheSize) {
+        int count = Math.max(BinaryTaskCodec.readRecordCount(buffer), 0);
+        LazyTaskList tasks = new LazyTaskList(buffer, new int[Math.max(count, INITIAL_CAPACITY)], 0, cacheSize);
+        tasks.lostRecordCount = new BinaryTaskCodec().scan(buffer, (offset, recordSize) -> {
+            if (!BinaryTaskCodec.isDeleted(buffer, offset)) {
+                tasks.appendRef(offset);
+            }
+        });
+        return tasks;
+    }
+
+    /**
+     * Returns the number of damaged records left out when this view was indexed.
+     *
+     * @return the lost record count
+     */
+    public int getLostRecordCount() {
+        return lostRecordCount;
+    }
+
+    /**
+     * Returns the number of tasks held in memory because they were added or replaced after
+     * the file was indexed.
+     *
+     * @return the pinned task count
+     */
+    public int getPinnedCount() {
+        return pinned.size() - freeSlots.size();
+    }
+
+    @Override
+    public Task get(int index) {
+        int ref = refAt(index);
+        if (ref < 0) {
+            return pinned.get(-ref - 1);
+        }
+        Task task = cache.get(ref);
+        if (task == null) {
+            task = decode(ref);
+            cache.put(ref, task);
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Replaces a task. Writing back the task already decoded at that position (as
+     * {@link TaskList} does after a mark or unmark) keeps it unpinned.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        if (previous == task) {
+            return previous;
+        }
+        forget(refs[index]);
+        refs[index] = pin(task);
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        if (size == refs.length) {
+            refs = Arrays.copyOf(refs, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        System.arraycopy(refs, index, refs, index + 1, size - index);
+        refs[index] = pin(task);
+        size++;
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        forget(refs[index]);
+        System.arraycopy(refs, index + 1, refs, index, size - index - 1);
+        size--;
+        modCount++;
+        return removed;
+    }
+
+    /**
+     * Returns an independent copy of this list that shares the mapped file.
+     * Only the offset index and the tasks already in memory are copied; nothing is decoded.
+     *
+     * @return a copy that later changes to this list do not affect
+     */
+    public LazyTaskList snapshot() {
+        LazyTaskList copy = new LazyTaskList(buffer, Arrays.copyOf(refs, Math.max(size, INITIAL_CAPACITY)),
+                size, Math.max(cache.size(), 1));
+        copy.pinned.addAll(pinned);
+        copy.freeSlots.addAll(freeSlots);
+        copy.cache.putAll(cache);
+        copy.doneOverrides.putAll(doneOverrides);
+        return copy;
+    }
+
+    /**
+     * Writes every task as a binary record. Records that were never decoded, or whose
+     * decoded task is unchanged, are copied byte for byte from the mapped file.
+     *
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeRecords(DataOutput out) throws IOException {
+        byte[] copy = new byte[0];
+        for (int i = 0; i < size; i++) {
+            int ref = refs[i];
+            Task task = ref < 0 ? pinned.get(-ref - 1) : cache.get(ref);
+            boolean isUnchanged = ref >= 0 && (task == null
+                    ? !doneOverrides.containsKey(ref)
+                    : task.isDone() == BinaryTaskCodec.isDone(buffer, ref));
+            if (!isUnchanged) {
+                BinaryTaskCodec.writeTask(out, task != null ? task : get(i));
+                continue;
+            }
+            int recordSize = BinaryTaskCodec.recordSize(buffer, ref);
+            if (copy.length < recordSize) {
+                copy = new byte[recordSize];
+            }
+            buffer.get(ref, copy, 0, recordSize);
+            out.write(copy, 0, recordSize);
+        }
+    }
+
+    private void appendRef(int ref) {
+        if (size == refs.length) {
+            refs = Arrays.copyOf(refs, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        refs[size++] = ref;
+    }
+
+    private int refAt(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return refs[index];
+    }
+
+    private Task decode(int offset) {
+        Task task = codec.readTask(buffer, offset);
+        if (task == null) {
+            // The offset index only holds records that fit in the file, so this is a bad type byte.
+            task = new Todo("");
+        }
+        Boolean isDone = doneOverrides.get(offset);
+        if (isDone != null) {
+            if (isDone) {
+                task.markDone();
+            } else {
+                task.unmarkDone();
+            }
+        }
+        return task;
+    }
+
+    private void rememberDoneFlag(int offset, Task task) {
+        if (task.isDone() == BinaryTaskCodec.isDone(buffer, offset)) {
+            doneOverrides.remove(offset);
+        } else {
+            doneOverrides.put(offset, task.isDone());
+        }
+    }
+
+    private int pin(Task task) {
+        Integer slot = freeSlots.poll();
+        if (slot == null) {
+            pinned.add(task);
+            return -pinned.size();
+        }
+        pinned.set(slot, task);
+        return -slot - 1;
+    }
+
+    private void forget(int ref) {
+        if (ref < 0) {
+            pinned.set(-ref - 1, null);
+            freeSlots.push(-ref - 1);
+        } else {
+            cache.remove(ref);
+            doneOverrides.remove(ref);
+        }
+    }
+}
@@ -1,25 +1,123 @@
 package chatbot;
 
-import java.util.ArrayList;
-import java.util.stream.Collectors;
-import java.util.stream.IntStream;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
 
 /**
- * Represents a command to list all tasks.
+ * Represents a command to list all tasks, optionally followed by the archived ones, or only
+ * the tasks with a given status and type, which are picked out by the {@link TaskFilterIndex}.
  */
 public class ListCommand extends Command {
     private static final int DISPLAY_INDEX_OFFSET = 1;
     private static final String TASK_SEPARATOR = ". ";
     private static final String EMPTY_LIST_MESSAGE = "Your list is empty — time to add something! ✨";
+    private static final String ARCHIVE_HEADER = "Archived tasks:";
+    private static final String EMPTY_ARCHIVE_MESSAGE = "Your archive is empty.";
+    private static final String DAMAGED_ARCHIVE_MESSAGE =
+            "Warning: %d archive file(s) are damaged, so some archived tasks could not be read.";
+    private static final String FILTERED_HEADER = "Here are the tasks matching your filters:";
+    private static final String EMPTY_FILTERED_MESSAGE = "No tasks match those filters.";
+
+    private final boolean includesArchive;
+    private final TaskFilterIndex.Status status;
+    private final Set<TaskType> types;
+
+    /**
+     * Constructs a ListCommand that lists the working tasks only.
+     */
+    public ListCommand() {
+        this(false);
+    }
+
+    /**
+     * Constructs a ListCommand.
+     *
+     * @param includesArchive whether archived tasks are listed after the working tasks
+     */
+    public ListCommand(boolean includesArchive) {
+        this.includesArchive = includesArchive;
+        this.status = TaskFilterIndex.Status.ANY;
+        this.types = EnumSet.noneOf(TaskType.class);
+    }
+
+    /**
+     * Constructs a ListCommand that lists the working tasks with the given status and types.
+     *
+     * @param status whether to list done tasks, undone tasks or both
+     * @param types the types to list, or an empty set for every type
+     */
+    public ListCommand(TaskFilterIndex.Status status, Set<TaskType> types) {
+        this.includesArchive = false;
+        this.status = status;
+        this.types = types;
+    }
 
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         assert tasks != null && storage != null : "tasks and storage must not be null";
-        if (tasks.isEmpty()) {
-            return EMPTY_LIST_MESSAGE;
+        if (status != TaskFilterIndex.Status.ANY || !types.isEmpty()) {
+            List<Integer> positions = tasks.getFilterIndex().find(status, types);
+            return positions.isEmpty()
+                    ? EMPTY_FILTERED_MESSAGE
+                    : DueCommand.numbered(tasks, positions, FILTERED_HEADER);
+        }
+        String listed = tasks.isEmpty() ? EMPTY_LIST_MESSAGE : numbered(tasks);
+        if (!includesArchive) {
+            return listed;
+        }
+        List<Task> archived = storage.loadArchive();
+        if (archived.isEmpty()) {
+            return listed + "\n" + EMPTY_ARCHIVE_MESSAGE + archiveWarning(storage);
+        }
+        return listed + "\n" + ARCHIVE_HEADER + "\n" + numbered(archived) + archiveWarning(storage);
+    }
+
+    /**
+     * Returns a line warning about damaged archive segments found by the last archive load,
+     * preceded by a line break, or an empty string if the whole archive was read.
+     *
+     * @param storage the storage the archive was loaded from
+     * @return the warning line, or an empty string
+     */
+    static String archiveWarning(Storage storage) {
+        LoadReport report = storage.getArchiveReport();
+        if (!report.hasLostRecords()) {
+            return "";
+        }
+        return "\n" + String.format(DAMAGED_ARCHIVE_MESSAGE, report.getLostCount());
+    }
+
+    /**
+     * Numbers the working tasks, letting the list render each row itself into one builder
+     * sized for the whole listing.
+     */
+    private static String numbered(TaskList tasks) {
+        StringBuilder out = new StringBuilder(tasks.size() * Task.TYPICAL_RENDERED_LENGTH);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                out.append('\n');
+            }
+            out.append(i + DISPLAY_INDEX_OFFSET).append(TASK_SEPARATOR);
+            tasks.appendTask(i, out);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Numbers tasks that are not in the working list, such as archived ones, from 1.
+     *
+     * @param tasks the tasks to number
+     * @return the numbered lines
+     */
+    static String numbered(List<Task> tasks) {
+        StringBuilder out = new StringBuilder(tasks.size() * Task.TYPICAL_RENDERED_LENGTH);
+        for (int i = 0; i < tasks.size(); i++) {
+            if (i > 0) {
+                out.append('\n');
+            }
+            out.append(i + DISPLAY_INDEX_OFFSET).append(TASK_SEPARATOR).append(tasks.get(i));
         }
-        return IntStream.range(0, tasks.size())
-                .mapToObj(i -> (i + DISPLAY_INDEX_OFFSET) + TASK_SEPARATOR + tasks.get(i))
-                .collect(Collectors.joining("\n"));
+        return out.toString();
     }
 }
@@ -0,0 +1,108 @@
+package chatbot;
+
+/**
+ * Describes how much of a storage file could be read by the last load.
+ */
+public class LoadReport {
+    private static final LoadReport EMPTY = new LoadReport(0, 0, null, false);
+
+    private final int loadedCount;
+    private final int lostCount;
+    private final String backupPath;
+    private final boolean isReadOnly;
+
+    private LoadReport(int loadedCount, int lostCount, String backupPath, boolean isReadOnly) {
+        this.loadedCount = loadedCount;
+        this.lostCount = lostCount;
+        this.backupPath = backupPath;
+        this.isReadOnly = isReadOnly;
+    }
+
+    /**
+     * Returns the report of a load that has not read anything yet.
+     *
+     * @return an empty report
+     */
+    public static LoadReport empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Returns a report of a finished load.
+     *
+     * @param loadedCount the number of tasks loaded
+     * @param lostCount the number of records that were damaged and could not be loaded
+     * @return the report
+     */
+    public static LoadReport of(int loadedCount, int lostCount) {
+        assert loadedCount >= 0 && lostCount >= 0 : "counts must not be negative";
+        return new LoadReport(loadedCount, lostCount, null, false);
+    }
+
+    /**
+     * Returns a copy of this report noting that the unreadable file was copied aside before
+     * anything could overwrite it.
+     *
+     * @param backupPath the path of the copy
+     * @return the report
+     */
+    public LoadReport withBackup(String backupPath) {
+        return new LoadReport(loadedCount, lostCount, backupPath, isReadOnly);
+    }
+
+    /**
+     * Returns a copy of this report noting that the unreadable file could not be copied aside
+     * either, so it must not be written until it can be read.
+     *
+     * @return the report
+     */
+    public LoadReport asReadOnly() {
+        return new LoadReport(loadedCount, lostCount, backupPath, true);
+    }
+
+    /**
+     * Returns the number of tasks loaded.
+     *
+     * @return the loaded task count
+     */
+    public int getLoadedCount() {
+        return loadedCount;
+    }
+
+    /**
+     * Returns the number of records that could not be loaded.
+     *
+     * @return the lost record count
+     */
+    public int getLostCount() {
+        return lostCount;
+    }
+
+    /**
+     * Returns whether any records were lost.
+     *
+     * @return true if at least one record could not be loaded
+     */
+    public boolean hasLostRecords() {
+        return lostCount > 0;
+    }
+
+    /**
+     * Returns where a copy of an unreadable file was kept.
+     *
+     * @return the path of the copy, or null if none was made
+     */
+    public String getBackupPath() {
+        return backupPath;
+    }
+
+    /**
+     * Returns whether the file must be left untouched because it could neither be read nor
+     * copied aside.
+     *
+     * @return true if saves are refused
+     */
+    public boolean isReadOnly() {
+        return isReadOnly;
+    }
+}
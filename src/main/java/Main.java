@@ -95,6 +95,10 @@ public class Main extends Application {
         dialogContainer.getChildren().add(
                 DialogBox.getChatBotDialog("Hey there! 👋 I'm ChatBot, your friendly task buddy.",
                         "Tell me what you need — I'm here to help!"));
+        String loadWarning = chatBot.getLoadWarning();
+        if (loadWarning != null) {
+            dialogContainer.getChildren().add(DialogBox.getChatBotDialog(loadWarning));
+        }
     }
 
     private void setupInputHandlers() {
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to mark a task as done.
  */
@@ -25,13 +23,17 @@ public class MarkCommand extends Command {
      * @return a message confirming the task was marked, or an error message if index is invalid
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         assert tasks != null && storage != null : "tasks and storage must not be null";
-        if (index < 0 || index >= tasks.size()) {
+        if (!tasks.isValidIndex(index)) {
             return "Hmm, that task number doesn't exist. Try 'list' to see your tasks!";
         }
-        tasks.get(index).markDone();
-        storage.save(tasks);
-        return "Awesome! One less thing to worry about ✓\n  " + tasks.get(index);
+        SaveResult saved = tasks.mark(index);
+        return withSaveStatus("Awesome! One less thing to worry about ✓\n  " + tasks.get(index), saved);
+    }
+
+    @Override
+    public boolean canExecute(TaskList tasks) {
+        return tasks.isValidIndex(index);
     }
 }
@@ -0,0 +1,397 @@
+package chatbot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list of tasks kept outside the Java heap, as binary records in a direct or mapped buffer.
+ *
+ * The buffer holds an image of a binary storage file, in the layout described by
+ * {@link BinaryTaskCodec}, so a file mapped privately with {@link #index(ByteBuffer)} is
+ * used as the live list without copying it. The heap only holds one {@code int} offset per
+ * task; however many tasks there are, the garbage collector has almost nothing to trace.
+ *
+ * Like a {@link TaskStore}, {@link #get(int)} decodes a new {@link Task} on every call, and
+ * a changed task has to be written back with {@link #set(int, Task)}. A record of the same
+ * size is overwritten in place; otherwise, and on removal, the old record is tombstoned and
+ * a new one is appended. Once tombstones take up more than half of the buffer, the live
+ * records are copied into a fresh buffer. The {@link TaskRows} methods read records
+ * directly, so listing and searching allocate no tasks.
+ *
+ * This list is not thread-safe.
+ */
+public class OffHeapTaskList extends AbstractList<Task> implements RandomAccess, TaskRows {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    private static final int MIN_GARBAGE_TO_COMPACT = 64 * 1024;
+    private static final int ASCII_LIMIT = 0x80;
+
+    private final BinaryTaskCodec codec = new BinaryTaskCodec();
+    private final ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+    private final DataOutputStream encoder = new DataOutputStream(encoded);
+
+    private ByteBuffer buffer;
+    /** End of the last record; records are only ever appended here. */
+    private int end;
+    private int recordCount;
+    private int garbageBytes;
+    /** Offset of the record of each task, in list order. */
+    private int[] offsets;
+    private int size;
+    private int lostRecordCount;
+    private byte[] scratch = new byte[INITIAL_CAPACITY];
+    private String lastKeyword;
+    private byte[] lastKeywordBytes;
+
+    /**
+     * Constructs an empty list in a new direct buffer.
+     */
+    public OffHeapTaskList() {
+        this(newImage(INITIAL_BUFFER_SIZE), BinaryTaskCodec.HEADER_SIZE, new int[INITIAL_CAPACITY], 0);
+    }
+
+    /**
+     * Constructs a list holding the given tasks, in order, in a new direct buffer.
+     *
+     * @param tasks the tasks to copy
+     */
+    public OffHeapTaskList(Collection<? extends Task> tasks) {
+        this();
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    private OffHeapTaskList(ByteBuffer buffer, int end, int[] offsets, int size) {
+        this.buffer = buffer;
+        this.end = end;
+        this.offsets = offsets;
+        this.size = size;
+    }
+
+    /**
+     * Uses the records of a binary storage file as a list. The buffer is written to when the
+     * list changes, so a file should be mapped in private (copy-on-write) mode.
+     *
+     * @param buffer the whole file, starting with a valid header
+     * @return the list; deleted and damaged records are left out
+     */
+    public static OffHeapTaskList index(ByteBuffer buffer) {
+        assert BinaryTaskCodec.hasValidHeader(buffer) : "file must start with a valid header";
+        int count = Math.max(BinaryTaskCodec.readRecordCount(buffer), 0);
+        OffHeapTaskList tasks = new OffHeapTaskList(buffer, BinaryTaskCodec.HEADER_SIZE,
+                new int[Math.max(count, INITIAL_CAPACITY)], 0);
+        int[] liveBytes = new int[1];
+        tasks.lostRecordCount = new BinaryTaskCodec().scan(buffer, (offset, recordSize) -> {
+            if (!BinaryTaskCodec.isDeleted(buffer, offset)) {
+                tasks.insertOffset(tasks.size, offset);
+                liveBytes[0] += recordSize;
+            }
+            tasks.recordCount++;
+            tasks.end = offset + recordSize;
+        });
+        tasks.garbageBytes = tasks.end - BinaryTaskCodec.HEADER_SIZE - liveBytes[0];
+        tasks.buffer.putInt(BinaryTaskCodec.RECORD_COUNT_OFFSET, tasks.recordCount);
+        return tasks;
+    }
+
+    /**
+     * Returns the number of damaged records left out by {@link #index(ByteBuffer)}.
+     *
+     * @return the lost record count
+     */
+    public int getLostRecordCount() {
+        return lostRecordCount;
+    }
+
+    /**
+     * Decodes a new task from the record at the given position.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        return codec.readTask(buffer, offsets[index]);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Writes a task over the record at the given position.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        int offset = offsets[index];
+        byte[] record = encode(task);
+        if (record.length == BinaryTaskCodec.recordSize(buffer, offset)) {
+            buffer.put(offset, record);
+            return previous;
+        }
+        tombstone(offset);
+        offsets[index] = append(record);
+        compactIfWasteful();
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        insertOffset(index, append(encode(task)));
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        tombstone(offsets[index]);
+        System.arraycopy(offsets, index + 1, offsets, index, size - index - 1);
+        size--;
+        modCount++;
+        compactIfWasteful();
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        end = BinaryTaskCodec.HEADER_SIZE;
+        recordCount = 0;
+        garbageBytes = 0;
+        size = 0;
+        buffer.putInt(BinaryTaskCodec.RECORD_COUNT_OFFSET, 0);
+        modCount++;
+    }
+
+    @Override
+    public void appendRow(int index, StringBuilder out) {
+        checkIndex(index, size);
+        int offset = offsets[index];
+        byte type = BinaryTaskCodec.getType(buffer, offset);
+        TaskRows.appendPrefix(out, type, BinaryTaskCodec.isDone(buffer, offset));
+        appendDescription(offset, out);
+        TaskRows.appendDates(out, type, BinaryTaskCodec.getFirstDate(buffer, offset),
+                BinaryTaskCodec.getSecondDate(buffer, offset));
+    }
+
+    /**
+     * Compares ASCII descriptions with an ASCII keyword byte by byte, folding case on the fly.
+     * Anything else is decoded and compared as {@code FindCommand} always has.
+     */
+    @Override
+    public boolean descriptionContains(int index, String lowerCaseKeyword) {
+        checkIndex(index, size);
+        int length = copyDescription(offsets[index]);
+        byte[] keyword = asciiKeyword(lowerCaseKeyword);
+        if (keyword == null) {
+            return copiedDescription(length).toLowerCase().contains(lowerCaseKeyword);
+        }
+        if (keyword.length == 0) {
+            return true;
+        }
+        byte[] description = scratch;
+        byte first = keyword[0];
+        int last = length - keyword.length;
+        for (int from = 0; from < length; from++) {
+            byte b = description[from];
+            if (b < 0) {
+                // Lower-casing some non-ASCII characters yields ASCII ones, so only the full
+                // comparison is sure to agree.
+                return copiedDescription(length).toLowerCase().contains(lowerCaseKeyword);
+            }
+            if (from <= last && toLowerAscii(b) == first && matchesAt(description, from, keyword)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the bytes of an ASCII keyword, or null if it has other characters. The last
+     * keyword is remembered, since a search asks about the same one for every row.
+     */
+    private byte[] asciiKeyword(String lowerCaseKeyword) {
+        if (!lowerCaseKeyword.equals(lastKeyword)) {
+            lastKeyword = lowerCaseKeyword;
+            lastKeywordBytes = isAscii(lowerCaseKeyword)
+                    ? lowerCaseKeyword.getBytes(StandardCharsets.US_ASCII)
+                    : null;
+        }
+        return lastKeywordBytes;
+    }
+
+    private static boolean matchesAt(byte[] description, int from, byte[] keyword) {
+        for (int i = 1; i < keyword.length; i++) {
+            if (toLowerAscii(description[from + i]) != keyword[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns an independent copy of this list in a new direct buffer.
+     *
+     * @return a copy that later changes to this list do not affect
+     */
+    public OffHeapTaskList snapshot() {
+        ByteBuffer copy = ByteBuffer.allocateDirect(Math.max(end, INITIAL_BUFFER_SIZE));
+        copy.put(0, buffer, 0, end);
+        OffHeapTaskList snapshot = new OffHeapTaskList(copy, end,
+                Arrays.copyOf(offsets, Math.max(size, INITIAL_CAPACITY)), size);
+        snapshot.recordCount = recordCount;
+        snapshot.garbageBytes = garbageBytes;
+        return snapshot;
+    }
+
+    /**
+     * Writes the record of every task, in list order, byte for byte.
+     *
+     * @param out the output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeRecords(DataOutput out) throws IOException {
+        byte[] copy = new byte[0];
+        for (int i = 0; i < size; i++) {
+            int recordSize = BinaryTaskCodec.recordSize(buffer, offsets[i]);
+            if (copy.length < recordSize) {
+                copy = new byte[Math.max(recordSize, copy.length * 2)];
+            }
+            buffer.get(offsets[i], copy, 0, recordSize);
+            out.write(copy, 0, recordSize);
+        }
+    }
+
+    private byte[] encode(Task task) {
+        encoded.reset();
+        try {
+            BinaryTaskCodec.writeTask(encoder, task);
+        } catch (IOException e) {
+            throw new AssertionError("writing to memory cannot fail", e);
+        }
+        return encoded.toByteArray();
+    }
+
+    /**
+     * Appends a record after the last one and returns its offset.
+     */
+    private int append(byte[] record) {
+        if (end + record.length > buffer.capacity()) {
+            ByteBuffer grown = ByteBuffer.allocateDirect(Math.max(buffer.capacity() * 2, end + record.length));
+            grown.put(0, buffer, 0, end);
+            buffer = grown;
+        }
+        int offset = end;
+        buffer.put(offset, record);
+        end += record.length;
+        recordCount++;
+        buffer.putInt(BinaryTaskCodec.RECORD_COUNT_OFFSET, recordCount);
+        return offset;
+    }
+
+    private void tombstone(int offset) {
+        byte flags = buffer.get(offset + BinaryTaskCodec.FLAGS_OFFSET);
+        buffer.put(offset + BinaryTaskCodec.FLAGS_OFFSET, (byte) (flags | BinaryTaskCodec.FLAG_DELETED));
+        garbageBytes += BinaryTaskCodec.recordSize(buffer, offset);
+    }
+
+    private void insertOffset(int index, int offset) {
+        if (size == offsets.length) {
+            offsets = Arrays.copyOf(offsets, Math.max(INITIAL_CAPACITY, size * 2));
+        }
+        System.arraycopy(offsets, index, offsets, index + 1, size - index);
+        offsets[index] = offset;
+        size++;
+    }
+
+    /**
+     * Copies the live records, in list order, into a new buffer once tombstones and damaged
+     * regions outweigh them.
+     */
+    private void compactIfWasteful() {
+        int liveBytes = end - BinaryTaskCodec.HEADER_SIZE - garbageBytes;
+        if (garbageBytes < MIN_GARBAGE_TO_COMPACT || garbageBytes <= liveBytes) {
+            return;
+        }
+        ByteBuffer compacted = newImage(Math.max(BinaryTaskCodec.HEADER_SIZE + liveBytes * 2, INITIAL_BUFFER_SIZE));
+        int position = BinaryTaskCodec.HEADER_SIZE;
+        for (int i = 0; i < size; i++) {
+            int recordSize = BinaryTaskCodec.recordSize(buffer, offsets[i]);
+            compacted.put(position, buffer, offsets[i], recordSize);
+            offsets[i] = position;
+            position += recordSize;
+        }
+        compacted.putInt(BinaryTaskCodec.RECORD_COUNT_OFFSET, size);
+        buffer = compacted;
+        end = position;
+        recordCount = size;
+        garbageBytes = 0;
+    }
+
+    private void appendDescription(int offset, StringBuilder out) {
+        int length = copyDescription(offset);
+        for (int i = 0; i < length; i++) {
+            if (scratch[i] < 0) {
+                out.append(copiedDescription(length));
+                return;
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            out.append((char) scratch[i]);
+        }
+    }
+
+    /**
+     * Copies the description bytes of a record into the scratch array in one bulk read.
+     *
+     * @return the number of bytes copied
+     */
+    private int copyDescription(int offset) {
+        int length = BinaryTaskCodec.getDescriptionLength(buffer, offset);
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        buffer.get(offset + BinaryTaskCodec.RECORD_HEADER_SIZE, scratch, 0, length);
+        return length;
+    }
+
+    private String copiedDescription(int length) {
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isAscii(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) >= ASCII_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static byte toLowerAscii(byte b) {
+        return b >= 'A' && b <= 'Z' ? (byte) (b + ('a' - 'A')) : b;
+    }
+
+    private static ByteBuffer newImage(int capacity) {
+        ByteBuffer image = ByteBuffer.allocateDirect(capacity);
+        image.putInt(0, BinaryTaskCodec.MAGIC);
+        image.putShort(Integer.BYTES, BinaryTaskCodec.VERSION);
+        image.putInt(BinaryTaskCodec.RECORD_COUNT_OFFSET, 0);
+        return image;
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -2,25 +2,90 @@ package chatbot;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
 
 /**
  * Parses user input and returns the corresponding Command object.
+ *
+ * Commands are looked up in a table by their first word, ignoring case, and the rest of the
+ * input is handed to the {@link ArgumentParser} registered for that word. Adding a command
+ * means registering a parser for it with {@link #register(String, ArgumentParser)}.
  */
 public class Parser {
-    private static final int COMMAND_TODO_LENGTH = 5;
-    private static final int COMMAND_DEADLINE_LENGTH = 9;
-    private static final int COMMAND_EVENT_LENGTH = 6;
-    private static final int COMMAND_DOWITHIN_LENGTH = 9;
-    private static final int COMMAND_MARK_LENGTH = 5;
-    private static final int COMMAND_UNMARK_LENGTH = 7;
-    private static final int COMMAND_DELETE_LENGTH = 7;
-    private static final int COMMAND_FIND_LENGTH = 5;
     private static final String UNKNOWN_COMMAND_MESSAGE =
             "I don't understand that command. Please use 'help' to see the available commands.";
     private static final int MIN_PARTS_FOR_DEADLINE = 4;
     private static final int MIN_PARTS_FOR_EVENT = 5;
     private static final int MIN_PARTS_FOR_TASK = 3;
     private static final int INDEX_OFFSET = 1;
+    private static final String ARCHIVE_FLAG = "/archive";
+    private static final String ALL_WORDS_FLAG = "/all ";
+    private static final String ANY_WORD_FLAG = "/any ";
+    private static final String FUZZY_PREFIX = "~";
+    private static final String INVALID_DATE_MESSAGE = "Oops! Invalid date format. "
+            + "Please use English month names and formats like: "
+            + "2025-02-01, Feb 1 2025, or 01/02/2025";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Map<String, ArgumentParser> COMMANDS = new HashMap<>();
+
+    /**
+     * Turns the text after a command word into a command.
+     */
+    @FunctionalInterface
+    public interface ArgumentParser {
+        /**
+         * Parses the arguments of a command.
+         *
+         * @param arguments the input after the command word, trimmed; empty if there is none
+         * @return the command, or an {@link InvalidCommand} explaining what is wrong
+         */
+        Command parse(String arguments);
+    }
+
+    static {
+        register("bye", withoutArguments(ByeCommand::new));
+        register("help", withoutArguments(HelpCommand::new));
+        register("conflicts", withoutArguments(ConflictsCommand::new));
+        register("list", Parser::parseList);
+        register("find", Parser::parseFind);
+        register("due", Parser::parseDue);
+        register("on", Parser::parseOn);
+        register("between", Parser::parseBetween);
+        register("todo", Parser::parseTodo);
+        register("deadline", Parser::parseDeadline);
+        register("event", Parser::parseEvent);
+        register("dowithin", Parser::parseDoWithin);
+        register("mark", Parser::parseMark);
+        register("unmark", Parser::parseUnmark);
+        register("delete", Parser::parseDelete);
+    }
+
+    /**
+     * Registers the parser of a command, replacing any parser already registered for its word.
+     *
+     * @param commandWord the first word of the command; matched ignoring case
+     * @param parser turns the rest of the input into the command
+     */
+    public static void register(String commandWord, ArgumentParser parser) {
+        assert !commandWord.isEmpty() && commandWord.trim().equals(commandWord) : "command word must be one word";
+        COMMANDS.put(commandWord.toLowerCase(Locale.ROOT), parser);
+    }
+
+    /**
+     * Removes the parser of a command, so that its word is no longer recognised.
+     *
+     * @param commandWord the first word of the command; matched ignoring case
+     * @return true if a parser was registered for the word
+     */
+    public static boolean unregister(String commandWord) {
+        return COMMANDS.remove(commandWord.toLowerCase(Locale.ROOT)) != null;
+    }
 
     /**
      * Parses the user input and returns the appropriate Command.
@@ -31,91 +96,108 @@ public class Parser {
     public static Command parse(String input) {
         assert input != null : "input must not be null";
         String trimmed = input.trim();
-
-        if (trimmed.equalsIgnoreCase("bye")) {
-            return new ByeCommand();
-        }
-        if (trimmed.equalsIgnoreCase("list")) {
-            return new ListCommand();
-        }
-        if (trimmed.equalsIgnoreCase("help")) {
-            return new HelpCommand();
-        }
-        if (trimmed.startsWith("find ")) {
-            return parseFind(trimmed);
-        }
-        if (trimmed.startsWith("todo ")) {
-            return parseTodo(trimmed);
-        }
-        if (trimmed.startsWith("deadline ")) {
-            return parseDeadline(trimmed);
+        int wordEnd = 0;
+        while (wordEnd < trimmed.length() && !Character.isWhitespace(trimmed.charAt(wordEnd))) {
+            wordEnd++;
         }
-        if (trimmed.startsWith("event ")) {
-            return parseEvent(trimmed);
+        ArgumentParser parser = COMMANDS.get(trimmed.substring(0, wordEnd).toLowerCase(Locale.ROOT));
+        if (parser == null) {
+            return new InvalidCommand(UNKNOWN_COMMAND_MESSAGE);
         }
-        if (trimmed.startsWith("dowithin ")) {
-            return parseDoWithin(trimmed);
+        return parser.parse(trimmed.substring(wordEnd).trim());
+    }
+
+    /**
+     * Returns a parser for a command that takes no arguments; any text after its word makes
+     * the input an unknown command.
+     */
+    private static ArgumentParser withoutArguments(Supplier<Command> command) {
+        return arguments -> arguments.isEmpty() ? command.get() : new InvalidCommand(UNKNOWN_COMMAND_MESSAGE);
+    }
+
+    private static Command parseList(String arguments) {
+        if (arguments.isEmpty()) {
+            return new ListCommand();
         }
-        if (trimmed.startsWith("mark ")) {
-            return parseMark(trimmed.substring(COMMAND_MARK_LENGTH).trim());
+        if (arguments.equalsIgnoreCase(ARCHIVE_FLAG)) {
+            return new ListCommand(true);
         }
-        if (trimmed.startsWith("mark")) {
-            String[] parts = trimmed.split("\\s+");
-            if (parts.length < 2) {
-                return new InvalidCommand("Oops! Please specify which task to mark. Usage: mark <task number>");
-            }
-            return parseMark(parts[1]);
+        return parseListFilters(arguments);
+    }
+
+    private static Command parseFind(String arguments) {
+        String keyword = arguments;
+        boolean includesArchive = keyword.endsWith(ARCHIVE_FLAG);
+        if (includesArchive) {
+            keyword = keyword.substring(0, keyword.length() - ARCHIVE_FLAG.length()).trim();
         }
-        if (trimmed.startsWith("unmark ")) {
-            return parseUnmark(trimmed.substring(COMMAND_UNMARK_LENGTH).trim());
+        FindCommand.Mode mode = FindCommand.Mode.SUBSTRING;
+        if (keyword.startsWith(ALL_WORDS_FLAG)) {
+            mode = FindCommand.Mode.ALL_WORDS;
+            keyword = keyword.substring(ALL_WORDS_FLAG.length()).trim();
+        } else if (keyword.startsWith(ANY_WORD_FLAG)) {
+            mode = FindCommand.Mode.ANY_WORD;
+            keyword = keyword.substring(ANY_WORD_FLAG.length()).trim();
+        } else if (keyword.startsWith(FUZZY_PREFIX)) {
+            mode = FindCommand.Mode.FUZZY;
+            keyword = keyword.substring(FUZZY_PREFIX.length()).trim();
         }
-        if (trimmed.startsWith("delete ")) {
-            return parseDelete(trimmed.substring(COMMAND_DELETE_LENGTH).trim());
+        boolean hasWords = mode == FindCommand.Mode.SUBSTRING || !KeywordIndex.words(keyword).isEmpty();
+        if (keyword.isEmpty() || !hasWords) {
+            return new InvalidCommand("Oops! Please specify a keyword to search for. "
+                    + "Usage: find [/all | /any | ~]<keyword> [/archive]");
         }
-        return new InvalidCommand(UNKNOWN_COMMAND_MESSAGE);
+        return new FindCommand(keyword, mode, includesArchive);
     }
 
-    private static Command parseFind(String trimmed) {
-        String keyword = trimmed.substring(COMMAND_FIND_LENGTH).trim();
-        if (keyword.isEmpty()) {
-            return new InvalidCommand("Oops! Please specify a keyword to search for. Usage: find <keyword>");
+    private static Command parseListFilters(String filters) {
+        TaskFilterIndex.Status status = TaskFilterIndex.Status.ANY;
+        Set<TaskType> types = EnumSet.noneOf(TaskType.class);
+        String[] tokens = WHITESPACE.split(filters);
+        for (int i = 0; i < tokens.length; i++) {
+            if (tokens[i].equalsIgnoreCase("/done")) {
+                status = TaskFilterIndex.Status.DONE;
+            } else if (tokens[i].equalsIgnoreCase("/undone")) {
+                status = TaskFilterIndex.Status.UNDONE;
+            } else if (tokens[i].equalsIgnoreCase("/type") && i + 1 < tokens.length
+                    && TaskType.fromName(tokens[i + 1]) != null) {
+                types.add(TaskType.fromName(tokens[++i]));
+            } else {
+                return new InvalidCommand("Oops! I don't know the filter '" + tokens[i] + "'. Usage: "
+                        + "list [/archive] or list [/done | /undone] [/type <todo|deadline|event|dowithin>]");
+            }
         }
-        return new FindCommand(keyword);
+        return new ListCommand(status, types);
     }
 
-    private static Command parseTodo(String trimmed) {
-        String desc = trimmed.substring(COMMAND_TODO_LENGTH).trim();
+    private static Command parseTodo(String desc) {
         if (desc.isEmpty()) {
             return new InvalidCommand("Oops! Todo description cannot be empty.");
         }
         return new TodoCommand(desc);
     }
 
-    private static Command parseDeadline(String trimmed) {
-        String rest = trimmed.substring(COMMAND_DEADLINE_LENGTH).trim();
-        String[] parts = rest.split(" /by ", 2);
+    private static Command parseDeadline(String rest) {
+        String[] parts = splitOnce(rest, " /by ");
         if (parts.length < 2) {
             return new InvalidCommand("Oops! Please use the format: deadline <description> /by <date>");
         }
         String desc = parts[0].trim();
         LocalDate by = DateTimeParser.parseDate(parts[1].trim());
         if (by == null) {
-            return new InvalidCommand("Oops! Invalid date format. "
-                    + "Please use English month names and formats like: "
-                    + "2025-02-01, Feb 1 2025, or 01/02/2025");
+            return new InvalidCommand(INVALID_DATE_MESSAGE);
         }
         return new DeadlineCommand(desc, by);
     }
 
-    private static Command parseEvent(String trimmed) {
-        String rest = trimmed.substring(COMMAND_EVENT_LENGTH).trim();
-        String[] descriptionAndTimes = rest.split(" /from ", 2);
+    private static Command parseEvent(String rest) {
+        String[] descriptionAndTimes = splitOnce(rest, " /from ");
         if (descriptionAndTimes.length < 2) {
             return new InvalidCommand("Oops! Please use the format: "
                     + "event <description> /from <date-time> /to <date-time>");
         }
         String desc = descriptionAndTimes[0].trim();
-        String[] fromToParts = descriptionAndTimes[1].split(" /to ", 2);
+        String[] fromToParts = splitOnce(descriptionAndTimes[1], " /to ");
         if (fromToParts.length < 2) {
             return new InvalidCommand("Oops! Please use the format: "
                     + "event <description> /from <date-time> /to <date-time>");
@@ -133,15 +215,14 @@ public class Parser {
         return new EventCommand(desc, from, to);
     }
 
-    private static Command parseDoWithin(String trimmed) {
-        String rest = trimmed.substring(COMMAND_DOWITHIN_LENGTH).trim();
-        String[] descriptionAndDates = rest.split(" /from ", 2);
+    private static Command parseDoWithin(String rest) {
+        String[] descriptionAndDates = splitOnce(rest, " /from ");
         if (descriptionAndDates.length < 2) {
             return new InvalidCommand("Oops! Please use the format: "
                     + "dowithin <description> /from <date> /to <date>");
         }
         String desc = descriptionAndDates[0].trim();
-        String[] fromToParts = descriptionAndDates[1].split(" /to ", 2);
+        String[] fromToParts = splitOnce(descriptionAndDates[1], " /to ");
         if (fromToParts.length < 2) {
             return new InvalidCommand("Oops! Please use the format: "
                     + "dowithin <description> /from <date> /to <date>");
@@ -149,9 +230,7 @@ public class Parser {
         LocalDate from = DateTimeParser.parseDate(fromToParts[0].trim());
         LocalDate to = DateTimeParser.parseDate(fromToParts[1].trim());
         if (from == null || to == null) {
-            return new InvalidCommand("Oops! Invalid date format. "
-                    + "Please use English month names and formats like: "
-                    + "2025-02-01, Feb 1 2025, or 01/02/2025");
+            return new InvalidCommand(INVALID_DATE_MESSAGE);
         }
         if (from.isAfter(to)) {
             return new InvalidCommand("The start date must be before or equal to the end date.");
@@ -159,7 +238,45 @@ public class Parser {
         return new DoWithinCommand(desc, from, to);
     }
 
+    private static Command parseDue(String rest) {
+        LocalDate date = DateTimeParser.parseDate(rest);
+        if (date == null) {
+            return new InvalidCommand(INVALID_DATE_MESSAGE + ". Usage: due <date>");
+        }
+        return new DueCommand(date);
+    }
+
+    private static Command parseOn(String rest) {
+        LocalDate date = DateTimeParser.parseDate(rest);
+        if (date == null) {
+            return new InvalidCommand(INVALID_DATE_MESSAGE + ". Usage: on <date>");
+        }
+        return new BetweenCommand(date);
+    }
+
+    /**
+     * Parses two dates separated by whitespace. Since a date may itself contain spaces
+     * ("Feb 1 2025"), every split point is tried until both halves are valid dates.
+     */
+    private static Command parseBetween(String rest) {
+        for (int split = rest.indexOf(' '); split >= 0; split = rest.indexOf(' ', split + 1)) {
+            LocalDate from = DateTimeParser.parseDate(rest.substring(0, split));
+            LocalDate to = from == null ? null : DateTimeParser.parseDate(rest.substring(split + 1));
+            if (to == null) {
+                continue;
+            }
+            if (from.isAfter(to)) {
+                return new InvalidCommand("The start date must be before or equal to the end date.");
+            }
+            return new BetweenCommand(from, to);
+        }
+        return new InvalidCommand(INVALID_DATE_MESSAGE + ". Usage: between <date> <date>");
+    }
+
     private static Command parseMark(String rest) {
+        if (rest.isEmpty()) {
+            return new InvalidCommand("Oops! Please specify which task to mark. Usage: mark <task number>");
+        }
         Integer index = parseTaskIndex(rest);
         if (index != null) {
             return new MarkCommand(index);
@@ -190,12 +307,38 @@ public class Parser {
      * @return the 0-based index, or null if the string is not a valid positive integer
      */
     private static Integer parseTaskIndex(String taskNumberString) {
-        try {
-            int taskNumber = Integer.parseInt(taskNumberString.trim());
-            int index = taskNumber - INDEX_OFFSET;
-            return index >= 0 ? index : null;
-        } catch (NumberFormatException e) {
+        String digits = taskNumberString.trim();
+        if (digits.startsWith("+")) {
+            digits = digits.substring(1);
+        }
+        if (digits.isEmpty()) {
             return null;
         }
+        // Read as Integer.parseInt would, without the exception for text that is not a number.
+        // A minus sign can only give a number below 1, so it is rejected with the rest.
+        long taskNumber = 0;
+        for (int i = 0; i < digits.length(); i++) {
+            int digit = Character.digit(digits.charAt(i), 10);
+            if (digit < 0) {
+                return null;
+            }
+            taskNumber = taskNumber * 10 + digit;
+            if (taskNumber > Integer.MAX_VALUE) {
+                return null;
+            }
+        }
+        return taskNumber >= INDEX_OFFSET ? (int) taskNumber - INDEX_OFFSET : null;
+    }
+
+    /**
+     * Splits a text around the first occurrence of a separator, as {@code text.split(separator, 2)}
+     * does for a separator without regex characters, but without compiling a pattern.
+     */
+    private static String[] splitOnce(String text, String separator) {
+        int at = text.indexOf(separator);
+        if (at < 0) {
+            return new String[] {text};
+        }
+        return new String[] {text.substring(0, at), text.substring(at + separator.length())};
     }
 }
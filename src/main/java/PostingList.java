@@ -0,0 +1,156 @@
+package chatbot;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * The ids of the tasks that share one key of an index, such as a word or a trigram, in
+ * ascending order.
+ *
+ * Ids come from {@link TaskPositions}, so tasks appended to the list are appended here too.
+ * Deleted tasks are only counted as dead; {@link #markDead(IntPredicate)} drops them once they
+ * make up half of the list, so walking a list costs at most twice its live length. This class
+ * is not thread-safe.
+ */
+public class PostingList {
+    private int[] ids = new int[1];
+    private int size;
+    private int dead;
+
+    /**
+     * Adds an id, normally one larger than every id already in the list.
+     *
+     * @param id the id to add
+     */
+    public void add(int id) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+        int insertAt = size;
+        while (insertAt > 0 && ids[insertAt - 1] > id) {
+            insertAt--;
+        }
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+    }
+
+    /**
+     * Removes an id straight away.
+     *
+     * @param id an id in the list
+     */
+    public void remove(int id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        assert index >= 0 : "id not in posting list";
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Counts one more id of the list as belonging to a deleted task, and drops the dead ids
+     * once they make up half of the list.
+     *
+     * @param isLive tells which ids still belong to a task
+     */
+    public void markDead(IntPredicate isLive) {
+        if (++dead * 2 <= size) {
+            return;
+        }
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (isLive.test(ids[i])) {
+                ids[kept++] = ids[i];
+            }
+        }
+        size = kept;
+        dead = 0;
+    }
+
+    /**
+     * Returns the number of ids, dead ones included.
+     *
+     * @return the length of the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the id at an index.
+     *
+     * @param index the 0-based index
+     * @return the id
+     */
+    public int get(int index) {
+        return ids[index];
+    }
+
+    /**
+     * Passes the live ids found in every one of the lists to an action, in ascending order.
+     *
+     * The lists take turns proposing the smallest id that could still be common to all of
+     * them: each list skips ahead to the current proposal by galloping, and proposes the id it
+     * lands on if that is larger. A lookup costs the logarithm of the distance skipped, so a
+     * long run of ids missing from another list is passed over rather than walked.
+     *
+     * @param lists the lists to intersect, at least one
+     * @param isLive tells which ids still belong to a task
+     * @param action receives the ids in the intersection
+     */
+    public static void intersect(List<PostingList> lists, IntPredicate isLive, IntConsumer action) {
+        PostingList[] sorted = lists.toArray(new PostingList[0]);
+        Arrays.sort(sorted, (a, b) -> Integer.compare(a.size, b.size));
+        int count = sorted.length;
+        int[] cursors = new int[count];
+        if (sorted[0].size == 0) {
+            return;
+        }
+        int proposal = sorted[0].ids[0];
+        int agreeing = 1;
+        int i = 1 % count;
+        while (true) {
+            PostingList list = sorted[i];
+            if (agreeing == count) {
+                if (isLive.test(proposal)) {
+                    action.accept(proposal);
+                }
+                if (++cursors[i] == list.size) {
+                    return;
+                }
+                proposal = list.ids[cursors[i]];
+                agreeing = 1;
+            } else {
+                int index = gallop(list, cursors[i], proposal);
+                if (index >= 0) {
+                    cursors[i] = index;
+                    agreeing++;
+                } else {
+                    cursors[i] = -index - 1;
+                    if (cursors[i] == list.size) {
+                        return;
+                    }
+                    proposal = list.ids[cursors[i]];
+                    agreeing = 1;
+                }
+            }
+            i = (i + 1) % count;
+        }
+    }
+
+    /**
+     * Searches for an id at or after an index, doubling the step until it is passed and then
+     * searching the last step, with the result encoded as by {@link Arrays#binarySearch}.
+     */
+    private static int gallop(PostingList list, int from, int id) {
+        int low = from;
+        int step = 1;
+        while (low + step < list.size && list.ids[low + step] < id) {
+            low += step;
+            step *= 2;
+        }
+        return Arrays.binarySearch(list.ids, low, Math.min(low + step + 1, list.size), id);
+    }
+}
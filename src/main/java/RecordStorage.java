@@ -0,0 +1,290 @@
+package chatbot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Binary storage that updates records in place instead of rewriting the file.
+ *
+ * Every record of the binary format starts with a fixed-width header whose flags byte sits at
+ * a fixed position, so once the file offset of each task is known, marking or unmarking a task
+ * is a single one-byte positional write. Deleting a task sets the deleted flag on its record,
+ * leaving a tombstone, and adding a task appends a record and then bumps the record count in
+ * the file header. Once tombstones outnumber the live records, the file is compacted by a full
+ * rewrite, which goes through the usual atomic save.
+ *
+ * The positional writes are already as small as a write can be, so write-behind is not used.
+ * If a positional write fails, the whole file is rewritten instead.
+ */
+public class RecordStorage extends BinaryStorage {
+    /** Default minimum number of tombstones before a compaction is considered. */
+    public static final int DEFAULT_MIN_TOMBSTONES = 1024;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int minTombstones;
+    private final ByteBuffer flagBuffer = ByteBuffer.allocate(1);
+    private final ByteBuffer countBuffer = ByteBuffer.allocate(Integer.BYTES);
+
+    private FileChannel channel;
+    /** File offset of the record of each live task, in list order. */
+    private int[] offsets = new int[INITIAL_CAPACITY];
+    private int liveCount;
+    private int recordCount;
+    private int tombstoneCount;
+    private long endOffset;
+
+    /**
+     * Constructs a RecordStorage with the default compaction threshold.
+     *
+     * @param filePath the path to the storage file
+     */
+    public RecordStorage(String filePath) {
+        this(filePath, DEFAULT_MIN_TOMBSTONES);
+    }
+
+    /**
+     * Constructs a RecordStorage that compacts once tombstones reach the given number and
+     * outnumber the live records.
+     *
+     * @param filePath the path to the storage file
+     * @param minTombstones the minimum number of tombstones that triggers a compaction
+     */
+    public RecordStorage(String filePath, int minTombstones) {
+        super(filePath);
+        assert minTombstones > 0 : "minTombstones must be positive";
+        this.minTombstones = minTombstones;
+    }
+
+    /**
+     * Loads the tasks and records the file offset of each one.
+     */
+    @Override
+    public synchronized List<Task> load() {
+        List<Task> tasks = super.load();
+        if (!indexFile()) {
+            // Nothing to patch in place yet; the next change rewrites the file and indexes it.
+            liveCount = -1;
+        }
+        return tasks;
+    }
+
+    /**
+     * Writes the whole file, which also drops every tombstone.
+     */
+    @Override
+    public synchronized SaveResult save(List<Task> tasks) {
+        return saveNow(tasks);
+    }
+
+    @Override
+    protected synchronized SaveResult saveNow(List<Task> tasks) {
+        closeChannel();
+        SaveResult result = super.saveNow(tasks);
+        if (!result.isSuccessful() || !indexFile()) {
+            liveCount = -1;
+        }
+        return result;
+    }
+
+    /**
+     * Returns true: every change is already in the file, and a full save would only drop the
+     * tombstones, which compaction does when they outnumber the live records.
+     */
+    @Override
+    public boolean persistsEachChange() {
+        return true;
+    }
+
+    /**
+     * Does nothing; every change is already a small positional write.
+     */
+    @Override
+    public void enableWriteBehind(long windowMillis) {
+        // Positional writes gain nothing from being deferred.
+    }
+
+    @Override
+    public synchronized SaveResult saveAdded(List<Task> tasks, Task task) {
+        if (!isIndexed(tasks.size() - 1)) {
+            return save(tasks);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try {
+            BinaryTaskCodec.writeTask(new DataOutputStream(bytes), task);
+            FileChannel file = openChannel();
+            // The record is only counted once it is fully written, so a torn append is ignored.
+            writeFully(file, ByteBuffer.wrap(bytes.toByteArray()), endOffset);
+            forceIfDurable(file);
+            countBuffer.clear();
+            countBuffer.putInt(0, recordCount + 1);
+            writeFully(file, countBuffer, BinaryTaskCodec.RECORD_COUNT_OFFSET);
+            forceIfDurable(file);
+        } catch (IOException e) {
+            return save(tasks);
+        }
+        appendOffset(Math.toIntExact(endOffset));
+        recordCount++;
+        endOffset += bytes.size();
+        return SaveResult.success();
+    }
+
+    @Override
+    public synchronized SaveResult saveMarked(List<Task> tasks, int index) {
+        return writeFlags(tasks, index, BinaryTaskCodec.flagsFor(true));
+    }
+
+    @Override
+    public synchronized SaveResult saveUnmarked(List<Task> tasks, int index) {
+        return writeFlags(tasks, index, BinaryTaskCodec.flagsFor(false));
+    }
+
+    @Override
+    public synchronized SaveResult saveDeleted(List<Task> tasks, int index) {
+        if (!isIndexed(tasks.size() + 1) || index < 0 || index >= liveCount) {
+            return save(tasks);
+        }
+        try {
+            writeFlag(offsets[index], BinaryTaskCodec.FLAG_DELETED);
+        } catch (IOException e) {
+            return save(tasks);
+        }
+        System.arraycopy(offsets, index + 1, offsets, index, liveCount - index - 1);
+        liveCount--;
+        tombstoneCount++;
+        if (tombstoneCount >= minTombstones && tombstoneCount > liveCount) {
+            return save(tasks);
+        }
+        return SaveResult.success();
+    }
+
+    /**
+     * Closes the file channel.
+     */
+    @Override
+    public synchronized void close() {
+        closeChannel();
+        super.close();
+    }
+
+    /**
+     * Returns the number of deleted records still taking up space in the file.
+     *
+     * @return the tombstone count
+     */
+    public synchronized int getTombstoneCount() {
+        return tombstoneCount;
+    }
+
+    private SaveResult writeFlags(List<Task> tasks, int index, byte flags) {
+        if (!isIndexed(tasks.size()) || index < 0 || index >= liveCount) {
+            return save(tasks);
+        }
+        try {
+            writeFlag(offsets[index], flags);
+        } catch (IOException e) {
+            return save(tasks);
+        }
+        return SaveResult.success();
+    }
+
+    private void writeFlag(int recordOffset, byte flags) throws IOException {
+        FileChannel file = openChannel();
+        flagBuffer.clear();
+        flagBuffer.put(0, flags);
+        writeFully(file, flagBuffer, recordOffset + BinaryTaskCodec.FLAGS_OFFSET);
+        forceIfDurable(file);
+    }
+
+    /**
+     * Returns whether the offset index is usable and describes a list of the given size
+     * (before the change being saved). Anything else means the list was changed behind
+     * this storage's back, and only a full rewrite is safe.
+     */
+    private boolean isIndexed(int expectedLiveCount) {
+        return liveCount >= 0 && liveCount == expectedLiveCount;
+    }
+
+    /**
+     * Rebuilds the offset index by walking the records of the file.
+     *
+     * @return false if the file is missing, unreadable, damaged or has no current binary header
+     */
+    private boolean indexFile() {
+        liveCount = 0;
+        recordCount = 0;
+        tombstoneCount = 0;
+        endOffset = BinaryTaskCodec.HEADER_SIZE;
+        File file = new File(getFilePath());
+        if (!file.exists()) {
+            return false;
+        }
+        MappedByteBuffer buffer;
+        try (FileChannel readChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = readChannel.map(FileChannel.MapMode.READ_ONLY, 0, readChannel.size());
+        } catch (IOException | IllegalArgumentException e) {
+            return false;
+        }
+        if (!BinaryTaskCodec.hasValidHeader(buffer)) {
+            return false;
+        }
+        int lost = new BinaryTaskCodec().scan(buffer, (offset, size) -> {
+            if (BinaryTaskCodec.isDeleted(buffer, offset)) {
+                tombstoneCount++;
+            } else {
+                appendOffset(offset);
+            }
+            recordCount++;
+            endOffset = offset + size;
+        });
+        // A damaged file is rewritten from the recovered tasks before anything is patched in it.
+        return lost == 0;
+    }
+
+    private void appendOffset(int offset) {
+        if (liveCount == offsets.length) {
+            offsets = Arrays.copyOf(offsets, liveCount * 2);
+        }
+        offsets[liveCount++] = offset;
+    }
+
+    private FileChannel openChannel() throws IOException {
+        if (channel == null) {
+            channel = FileChannel.open(new File(getFilePath()).toPath(), StandardOpenOption.WRITE);
+        }
+        return channel;
+    }
+
+    private void closeChannel() {
+        if (channel == null) {
+            return;
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Every write was already forced or left to the file system.
+        }
+        channel = null;
+    }
+
+    private void forceIfDurable(FileChannel file) throws IOException {
+        if (isDurable()) {
+            file.force(false);
+        }
+    }
+
+    private static void writeFully(FileChannel file, ByteBuffer source, long position) throws IOException {
+        long at = position;
+        while (source.hasRemaining()) {
+            at += file.write(source, at);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package chatbot;
+
+/**
+ * Represents the outcome of persisting tasks to disk.
+ */
+public class SaveResult {
+    private static final SaveResult SUCCESS = new SaveResult(null);
+
+    private final String errorMessage;
+
+    private SaveResult(String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * Returns the result of a save that succeeded (or was deferred without error).
+     *
+     * @return a successful result
+     */
+    public static SaveResult success() {
+        return SUCCESS;
+    }
+
+    /**
+     * Returns the result of a save that failed.
+     *
+     * @param errorMessage a description of what went wrong
+     * @return a failed result
+     */
+    public static SaveResult failure(String errorMessage) {
+        assert errorMessage != null : "errorMessage must not be null";
+        return new SaveResult(errorMessage);
+    }
+
+    /**
+     * Returns whether the save succeeded.
+     *
+     * @return true if the tasks were saved
+     */
+    public boolean isSuccessful() {
+        return errorMessage == null;
+    }
+
+    /**
+     * Returns a description of the failure.
+     *
+     * @return the error message, or null if the save succeeded
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+}
@@ -1,19 +1,43 @@
 package chatbot;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
 import java.io.FileNotFoundException;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 /**
  * Handles loading and saving tasks to the hard disk.
  *
  * Level-7 requirement: tasks are persisted between runs.
- * This class is deliberately silent on errors so that
- * the user-facing behaviour (console output) remains
- * identical to earlier levels.
+ * Saves never leave a half-written file behind: the new content is written to a temporary
+ * file in the same directory, forced to disk and then atomically moved over the old file.
+ * Failures are reported through a {@link SaveResult} rather than thrown.
+ *
+ * A file that exists but cannot be read is never replaced by an empty list: it is copied
+ * aside before anything is saved over it, and if even that fails, saves are refused until a
+ * later {@link #load()} can read it.
  */
 public class Storage {
     private static final int MIN_PARTS_FOR_TASK = 3;
@@ -28,16 +52,43 @@ public class Storage {
     private static final int INDEX_EVENT_TO = 4;
     private static final int INDEX_DOWITHIN_FROM = 3;
     private static final int INDEX_DOWITHIN_TO = 4;
-    private static final String DONE_FLAG = "1";
-    private static final String UNDONE_FLAG = "0";
-    private static final String TYPE_TODO = "T";
-    private static final String TYPE_DEADLINE = "D";
-    private static final String TYPE_EVENT = "E";
-    private static final String TYPE_DOWITHIN = "P";
-    private static final String DELIMITER = " \\| ";
+    private static final char DONE_FLAG = '1';
+    private static final char UNDONE_FLAG = '0';
+    private static final char TYPE_TODO = 'T';
+    private static final char TYPE_DEADLINE = 'D';
+    private static final char TYPE_EVENT = 'E';
+    private static final char TYPE_DOWITHIN = 'P';
     private static final String STORAGE_DELIMITER = " | ";
+    private static final int FORMAT_CAPACITY = 64;
+    private static final ThreadLocal<StorageLineTokenizer> TOKENIZER =
+            ThreadLocal.withInitial(StorageLineTokenizer::new);
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+    private static final long DEFAULT_PARALLEL_LOAD_THRESHOLD = 8L << 20;
+    private static final int PARALLEL_CHUNK_SIZE = 1 << 20;
+
+    /** Suffix of the copy kept of a file that could not be read. */
+    public static final String UNREADABLE_SUFFIX = ".unreadable";
 
     private final String filePath;
+    private WriteBehindSaver writeBehindSaver;
+    private boolean isDurable = true;
+    private long parallelLoadThreshold = DEFAULT_PARALLEL_LOAD_THRESHOLD;
+    private volatile LoadReport loadReport = LoadReport.empty();
+
+    /**
+     * Writes the content of a file to a stream.
+     */
+    @FunctionalInterface
+    protected interface ContentWriter {
+        /**
+         * Writes the content.
+         *
+         * @param out the stream to write to; it must not be closed
+         * @throws IOException if writing fails
+         */
+        void write(OutputStream out) throws IOException;
+    }
 
     /**
      * Constructs a Storage instance with the given file path.
@@ -51,18 +102,29 @@ public class Storage {
 
     /**
      * Loads tasks from the storage file.
-     * If the file (or its parent directory) does not exist
-     * or cannot be read, an empty list is returned instead.
+     * Files above the parallel-load threshold are parsed in chunks on several threads.
+     * Lines that cannot be parsed are skipped and counted in {@link #getLoadReport()}.
+     * If the file (or its parent directory) does not exist, an empty list is returned instead.
+     * If it exists but cannot be read, it is kept as described by {@link #keepUnreadable(int)}.
      */
-    public ArrayList<Task> load() {
-        ArrayList<Task> tasks = new ArrayList<>();
+    public List<Task> load() {
+        List<Task> tasks = new ArrayList<>();
         File file = new File(filePath);
+        setLoadReport(LoadReport.empty());
 
         if (!file.exists()) {
             // No previous data; start with an empty list.
             return tasks;
         }
+        if (file.length() >= parallelLoadThreshold && file.length() <= Integer.MAX_VALUE
+                && isLineSplittable(Charset.defaultCharset())) {
+            List<Task> loaded = loadInParallel(file);
+            if (loaded != null) {
+                return loaded;
+            }
+        }
 
+        int lost = 0;
         try (Scanner scanner = new Scanner(file)) {
             while (scanner.hasNextLine()) {
                 String line = scanner.nextLine().trim();
@@ -72,117 +134,536 @@ public class Storage {
                 Task task = parseTask(line);
                 if (task != null) {
                     tasks.add(task);
+                } else {
+                    lost++;
                 }
             }
+            if (scanner.ioException() != null) {
+                return keepUnreadable(tasks.size() + lost + 1);
+            }
         } catch (FileNotFoundException e) {
-            // Treat as no data; return whatever has been loaded so far.
-            return new ArrayList<>();
+            return keepUnreadable(1);
         }
 
+        setLoadReport(LoadReport.of(tasks.size(), lost));
         return tasks;
     }
 
+    /**
+     * Gives up on a storage file that exists but cannot be read. It is left as it is and
+     * copied aside first, so that the next save cannot destroy it. If it cannot be copied
+     * either, the load report says so and every save is refused until the file is loaded
+     * successfully.
+     *
+     * @param lostCount the number of tasks known to be lost, at least 1
+     * @return an empty list
+     */
+    protected List<Task> keepUnreadable(int lostCount) {
+        LoadReport report = LoadReport.of(0, lostCount);
+        Path file = Paths.get(filePath);
+        Path backup = Paths.get(filePath + UNREADABLE_SUFFIX);
+        try {
+            if (!Files.isRegularFile(file)) {
+                throw new IOException(filePath + " is not a regular file");
+            }
+            Files.copy(file, backup, StandardCopyOption.REPLACE_EXISTING);
+            report = report.withBackup(backup.toString());
+        } catch (IOException e) {
+            report = report.asReadOnly();
+        }
+        setLoadReport(report);
+        return new ArrayList<>();
+    }
+
+    /**
+     * Returns a failure if the last load could neither read the storage file nor copy it aside,
+     * in which case nothing may be written over it.
+     *
+     * @return the failure, or null if the file may be written
+     */
+    protected SaveResult checkWritable() {
+        if (loadReport.isReadOnly()) {
+            return SaveResult.failure(filePath + " could not be read, so it was left untouched");
+        }
+        return null;
+    }
+
+    /**
+     * Returns how much of the storage file the last {@link #load()} could read.
+     *
+     * @return the report of the last load
+     */
+    public LoadReport getLoadReport() {
+        return loadReport;
+    }
+
+    /**
+     * Records the outcome of a load for {@link #getLoadReport()}.
+     *
+     * @param report the report of the load that just finished
+     */
+    protected void setLoadReport(LoadReport report) {
+        this.loadReport = report;
+    }
+
+    /**
+     * Loads the archived (completed) tasks kept apart from the working list.
+     * Storage modes without an archive have none.
+     *
+     * @return the archived tasks, oldest segment first
+     */
+    public List<Task> loadArchive() {
+        return new ArrayList<>();
+    }
+
+    /**
+     * Returns how much of the archive the last {@link #loadArchive()} could read.
+     * Storage modes without an archive always report an empty one.
+     *
+     * @return the report of the last archive load
+     */
+    public LoadReport getArchiveReport() {
+        return LoadReport.empty();
+    }
+
+    /**
+     * Sets the file size from which {@link #load()} parses the file on several threads.
+     *
+     * @param bytes the threshold in bytes
+     */
+    public void setParallelLoadThreshold(long bytes) {
+        this.parallelLoadThreshold = bytes;
+    }
+
+    /**
+     * Loads a large file by splitting it at line boundaries into chunks that are parsed
+     * on the common fork-join pool. The chunks are joined back in file order.
+     * Returns null if the file cannot be mapped, so that it is read sequentially instead.
+     */
+    private List<Task> loadInParallel(File file) {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException | IllegalArgumentException e) {
+            return null;
+        }
+
+        List<int[]> chunks = splitAtLineBoundaries(buffer);
+        AtomicInteger lost = new AtomicInteger();
+        List<List<Task>> parsedChunks = chunks.parallelStream()
+                .map(chunk -> parseChunk(buffer, chunk[0], chunk[1], lost))
+                .collect(Collectors.toList());
+
+        int total = parsedChunks.stream().mapToInt(List::size).sum();
+        List<Task> tasks = new ArrayList<>(total);
+        parsedChunks.forEach(tasks::addAll);
+        setLoadReport(LoadReport.of(tasks.size(), lost.get()));
+        return tasks;
+    }
+
+    /**
+     * Returns [start, end) byte ranges of roughly {@code PARALLEL_CHUNK_SIZE} bytes,
+     * each ending just after a line feed (or at the end of the file).
+     */
+    private static List<int[]> splitAtLineBoundaries(MappedByteBuffer buffer) {
+        List<int[]> chunks = new ArrayList<>();
+        int limit = buffer.limit();
+        int start = 0;
+        while (start < limit) {
+            int end = Math.min(start + PARALLEL_CHUNK_SIZE, limit);
+            while (end < limit && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new int[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private List<Task> parseChunk(MappedByteBuffer buffer, int start, int end, AtomicInteger lost) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        String text = new String(bytes, Charset.defaultCharset());
+
+        List<Task> tasks = new ArrayList<>();
+        int unparsed = 0;
+        int lineStart = 0;
+        while (lineStart < text.length()) {
+            int lineEnd = text.indexOf('\n', lineStart);
+            if (lineEnd < 0) {
+                lineEnd = text.length();
+            }
+            String line = text.substring(lineStart, lineEnd).trim();
+            lineStart = lineEnd + 1;
+            if (line.isEmpty()) {
+                continue;
+            }
+            Task task = parseTask(line);
+            if (task != null) {
+                tasks.add(task);
+            } else {
+                unparsed++;
+            }
+        }
+        lost.addAndGet(unparsed);
+        return tasks;
+    }
+
+    /**
+     * Returns whether a line feed byte always marks the end of a line in the given charset,
+     * so the raw file can be split without decoding it first.
+     */
+    private static boolean isLineSplittable(Charset charset) {
+        return charset.equals(StandardCharsets.UTF_8)
+                || charset.equals(StandardCharsets.US_ASCII)
+                || charset.equals(StandardCharsets.ISO_8859_1);
+    }
+
     /**
      * Saves the given list of tasks to the storage file.
      * Any existing content is overwritten.
+     * In write-behind mode the list is only marked dirty and written later by the saver thread.
+     *
+     * @param tasks the tasks to save
+     * @return the outcome of the save; in write-behind mode, the outcome of the last background write
      */
-    public void save(ArrayList<Task> tasks) {
-        File file = new File(filePath);
-        File parent = file.getParentFile();
-        if (parent != null && !parent.exists()) {
-            parent.mkdirs();
+    public SaveResult save(List<Task> tasks) {
+        if (writeBehindSaver != null) {
+            return writeBehindSaver.markDirty(tasks);
+        }
+        return saveNow(tasks);
+    }
+
+    /**
+     * Switches this storage to write-behind mode. Saves are then coalesced by a background
+     * thread into at most one write per window; see {@link WriteBehindSaver}.
+     *
+     * @param windowMillis how long to wait after the first unsaved change before writing
+     */
+    public void enableWriteBehind(long windowMillis) {
+        if (writeBehindSaver == null) {
+            writeBehindSaver = new WriteBehindSaver(this, windowMillis);
         }
+    }
 
-        try (FileWriter writer = new FileWriter(file)) {
+    /**
+     * Writes any changes still waiting in write-behind mode.
+     * Does nothing if write-behind is not enabled.
+     *
+     * @return the outcome of the write
+     */
+    public SaveResult flush() {
+        if (writeBehindSaver != null) {
+            return writeBehindSaver.flush();
+        }
+        return SaveResult.success();
+    }
+
+    /**
+     * Returns whether every change reaches the file as it is made, in a form that a full save
+     * would only rewrite, so that nothing but {@link #flush()} is left to do on exit.
+     * The default storage returns false, so exiting saves the whole list once more.
+     *
+     * @return true if exiting needs no full save
+     */
+    public boolean persistsEachChange() {
+        return false;
+    }
+
+    /**
+     * Sets whether saves are forced to disk before the old file is replaced.
+     * Turning this off keeps saves atomic but not durable across a power loss.
+     *
+     * @param isDurable true to force every save to disk
+     */
+    public void setDurable(boolean isDurable) {
+        this.isDurable = isDurable;
+    }
+
+    /**
+     * Returns whether saves are forced to disk.
+     *
+     * @return true if every save is forced to disk
+     */
+    protected boolean isDurable() {
+        return isDurable;
+    }
+
+    /**
+     * Returns a copy of the list that stays consistent while it is written,
+     * even if the original list is changed in the meantime.
+     *
+     * @param tasks the live list of tasks
+     * @return a snapshot of the list
+     */
+    protected List<Task> snapshot(List<Task> tasks) {
+        return new ArrayList<>(tasks);
+    }
+
+    /**
+     * Writes the given list of tasks to the storage file immediately.
+     *
+     * @param tasks the tasks to write
+     * @return the outcome of the write
+     */
+    protected SaveResult saveNow(List<Task> tasks) {
+        SaveResult refused = checkWritable();
+        if (refused != null) {
+            return refused;
+        }
+        try {
+            writeTasks(new File(filePath), tasks);
+            return SaveResult.success();
+        } catch (IOException e) {
+            return SaveResult.failure(e.getMessage() != null ? e.getMessage() : e.toString());
+        }
+    }
+
+    /**
+     * Writes every task to the given file in the text storage format, replacing its content.
+     *
+     * @param file the file to write
+     * @param tasks the tasks to write
+     * @throws IOException if the file cannot be written
+     */
+    protected void writeTasks(File file, List<Task> tasks) throws IOException {
+        writeAtomically(file, out -> {
+            Writer writer = new OutputStreamWriter(out, Charset.defaultCharset());
             for (Task task : tasks) {
                 String line = formatTask(task);
                 writer.write(line);
                 writer.write(System.lineSeparator());
             }
+            writer.flush();
+        });
+    }
+
+    /**
+     * Replaces the content of a file without ever exposing a partially written version.
+     * The content goes to a temporary file in the same directory, is forced to disk
+     * (unless durability is turned off) and is then atomically moved over the target.
+     * The replaced file keeps its permissions, and a new one gets the usual ones for new files.
+     *
+     * @param file the file to replace
+     * @param content writes the new content to the stream it is given
+     * @throws IOException if the file cannot be written or replaced
+     */
+    protected void writeAtomically(File file, ContentWriter content) throws IOException {
+        Path target = file.getAbsoluteFile().toPath();
+        Path directory = target.getParent();
+        Files.createDirectories(directory);
+        Path temp = createTempFile(target);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE);
+                    OutputStream out = new BufferedOutputStream(Channels.newOutputStream(channel),
+                            WRITE_BUFFER_SIZE)) {
+                content.write(out);
+                out.flush();
+                if (isDurable) {
+                    channel.force(true);
+                }
+            }
+            moveOver(temp, target);
+            if (isDurable) {
+                forceDirectory(directory);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Creates an empty temporary file next to the target. Unlike {@link Files#createTempFile},
+     * which makes the file readable by its owner only, this leaves the permissions to the
+     * process's defaults and then copies those of the target, if there is one, so moving the
+     * file over the target does not change who can read it.
+     */
+    private static Path createTempFile(Path target) throws IOException {
+        String prefix = target.getFileName().toString();
+        while (true) {
+            Path temp = target.resolveSibling(prefix + Long.toUnsignedString(ThreadLocalRandom.current().nextLong())
+                    + TEMP_SUFFIX);
+            try {
+                Files.newByteChannel(temp, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE).close();
+            } catch (FileAlreadyExistsException e) {
+                continue;
+            }
+            PosixFileAttributeView permissions = Files.getFileAttributeView(temp, PosixFileAttributeView.class);
+            if (permissions != null && Files.exists(target)) {
+                permissions.setPermissions(Files.getPosixFilePermissions(target));
+            }
+            return temp;
+        }
+    }
+
+    private static void moveOver(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Forces the directory entry of a rename to disk. Not every platform allows a directory
+     * to be opened, in which case the rename is left to the file system.
+     */
+    private static void forceDirectory(Path directory) {
+        try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+            channel.force(true);
         } catch (IOException e) {
-            // Intentionally ignore I/O errors to keep text UI unchanged.
+            // Directories cannot be synced on this platform.
         }
     }
 
+    /**
+     * Records that the given task was appended to the list.
+     * The default implementation rewrites the whole file.
+     *
+     * @param tasks the full list of tasks after the addition
+     * @param task the task that was added
+     * @return the outcome of the save
+     */
+    public SaveResult saveAdded(List<Task> tasks, Task task) {
+        return save(tasks);
+    }
+
+    /**
+     * Records that the task at the given index was marked as done.
+     * The default implementation rewrites the whole file.
+     *
+     * @param tasks the full list of tasks after the change
+     * @param index the 0-based index of the marked task
+     * @return the outcome of the save
+     */
+    public SaveResult saveMarked(List<Task> tasks, int index) {
+        return save(tasks);
+    }
+
+    /**
+     * Records that the task at the given index was marked as not done.
+     * The default implementation rewrites the whole file.
+     *
+     * @param tasks the full list of tasks after the change
+     * @param index the 0-based index of the unmarked task
+     * @return the outcome of the save
+     */
+    public SaveResult saveUnmarked(List<Task> tasks, int index) {
+        return save(tasks);
+    }
+
+    /**
+     * Records that the task at the given index was removed from the list.
+     * The default implementation rewrites the whole file.
+     *
+     * @param tasks the full list of tasks after the removal
+     * @param index the 0-based index the task had before it was removed
+     * @return the outcome of the save
+     */
+    public SaveResult saveDeleted(List<Task> tasks, int index) {
+        return save(tasks);
+    }
+
+    /**
+     * Writes any pending changes and releases any resources held by this storage.
+     */
+    public void close() {
+        if (writeBehindSaver != null) {
+            writeBehindSaver.close();
+        }
+    }
+
+    /**
+     * Returns the path of the storage file.
+     *
+     * @return the storage file path
+     */
+    protected String getFilePath() {
+        return filePath;
+    }
+
     /**
      * Parses a single line from the storage file into a Task object.
      * Expected formats: T|1|desc ; D|0|desc|by ; E|1|desc|from|to ; P|0|desc|from|to
+     * Fields are split by a {@link StorageLineTokenizer}, so escaped pipes in the
+     * description are restored.
      *
      * @param line the line to parse
      * @return the parsed Task, or null if parsing fails
      */
-    private Task parseTask(String line) {
-        String[] parts = line.split(DELIMITER);
-        if (parts.length < MIN_PARTS_FOR_TASK) {
+    protected Task parseTask(String line) {
+        StorageLineTokenizer fields = TOKENIZER.get();
+        if (fields.tokenize(line) < MIN_PARTS_FOR_TASK) {
             return null;
         }
-        String type = parts[INDEX_TYPE];
-        String doneFlag = parts[INDEX_DONE_FLAG];
-        String description = parts[INDEX_DESCRIPTION];
+        String description = fields.fieldAsString(INDEX_DESCRIPTION);
 
-        Task task = parseTaskByType(type, parts, description);
-        if (task != null && DONE_FLAG.equals(doneFlag)) {
+        Task task = parseTaskByType(fields, description);
+        if (task != null && fields.fieldIs(INDEX_DONE_FLAG, DONE_FLAG)) {
             task.markDone();
         }
         return task;
     }
 
     /**
-     * Parses a task from storage parts by type (T/D/E/P).
+     * Parses a task from storage fields by type (T/D/E/P).
      */
-    private Task parseTaskByType(String type, String[] parts, String description) {
-        switch (type) {
+    private Task parseTaskByType(StorageLineTokenizer fields, String description) {
+        if (fields.field(INDEX_TYPE).length() != 1) {
+            return null;
+        }
+        switch (fields.field(INDEX_TYPE).charAt(0)) {
         case TYPE_TODO:
             return new Todo(description);
         case TYPE_DEADLINE:
-            return parseDeadlineFromParts(parts, description);
+            return parseDeadlineFromFields(fields, description);
         case TYPE_EVENT:
-            return parseEventFromParts(parts, description);
+            return parseEventFromFields(fields, description);
         case TYPE_DOWITHIN:
-            return parseDoWithinFromParts(parts, description);
+            return parseDoWithinFromFields(fields, description);
         default:
             return null;
         }
     }
 
-    private Task parseDeadlineFromParts(String[] parts, String description) {
-        if (parts.length < MIN_PARTS_FOR_DEADLINE) {
+    private Task parseDeadlineFromFields(StorageLineTokenizer fields, String description) {
+        if (fields.getFieldCount() < MIN_PARTS_FOR_DEADLINE) {
             return null;
         }
-        String byString = parts[INDEX_DEADLINE_DATE];
-        java.time.LocalDate by = DateTimeParser.parseDateFromStorage(byString);
+        CharSequence byField = fields.field(INDEX_DEADLINE_DATE);
+        java.time.LocalDate by = StorageDateCodec.parseDate(byField);
         if (by == null) {
-            by = DateTimeParser.parseDate(byString);
+            by = DateTimeParser.parseDate(byField.toString());
         }
         return by != null ? new Deadline(description, by) : null;
     }
 
-    private Task parseEventFromParts(String[] parts, String description) {
-        if (parts.length < MIN_PARTS_FOR_EVENT) {
+    private Task parseEventFromFields(StorageLineTokenizer fields, String description) {
+        if (fields.getFieldCount() < MIN_PARTS_FOR_EVENT) {
             return null;
         }
-        String fromString = parts[INDEX_EVENT_FROM];
-        String toString = parts[INDEX_EVENT_TO];
-        java.time.LocalDateTime from = DateTimeParser.parseDateTimeFromStorage(fromString);
-        java.time.LocalDateTime to = DateTimeParser.parseDateTimeFromStorage(toString);
+        CharSequence fromField = fields.field(INDEX_EVENT_FROM);
+        CharSequence toField = fields.field(INDEX_EVENT_TO);
+        java.time.LocalDateTime from = StorageDateCodec.parseDateTime(fromField);
+        java.time.LocalDateTime to = StorageDateCodec.parseDateTime(toField);
         if (from == null || to == null) {
-            from = DateTimeParser.parseDateTime(fromString);
-            to = DateTimeParser.parseDateTime(toString);
+            from = DateTimeParser.parseDateTime(fromField.toString());
+            to = DateTimeParser.parseDateTime(toField.toString());
         }
         return (from != null && to != null) ? new Event(description, from, to) : null;
     }
 
-    private Task parseDoWithinFromParts(String[] parts, String description) {
-        if (parts.length < MIN_PARTS_FOR_DOWITHIN) {
+    private Task parseDoWithinFromFields(StorageLineTokenizer fields, String description) {
+        if (fields.getFieldCount() < MIN_PARTS_FOR_DOWITHIN) {
             return null;
         }
-        String fromStr = parts[INDEX_DOWITHIN_FROM];
-        String toStr = parts[INDEX_DOWITHIN_TO];
-        java.time.LocalDate from = DateTimeParser.parseDateFromStorage(fromStr);
-        java.time.LocalDate to = DateTimeParser.parseDateFromStorage(toStr);
+        CharSequence fromField = fields.field(INDEX_DOWITHIN_FROM);
+        CharSequence toField = fields.field(INDEX_DOWITHIN_TO);
+        java.time.LocalDate from = StorageDateCodec.parseDate(fromField);
+        java.time.LocalDate to = StorageDateCodec.parseDate(toField);
         if (from == null || to == null) {
-            from = DateTimeParser.parseDate(fromStr);
-            to = DateTimeParser.parseDate(toStr);
+            from = DateTimeParser.parseDate(fromField.toString());
+            to = DateTimeParser.parseDate(toField.toString());
         }
         return (from != null && to != null) ? new DoWithinTask(description, from, to) : null;
     }
@@ -193,29 +674,36 @@ public class Storage {
      * @param task the task to format
      * @return the formatted string representation of the task
      */
-    private String formatTask(Task task) {
-        String doneFlag = task.isDone() ? DONE_FLAG : UNDONE_FLAG;
+    protected String formatTask(Task task) {
+        StringBuilder line = new StringBuilder(FORMAT_CAPACITY);
+        char doneFlag = task.isDone() ? DONE_FLAG : UNDONE_FLAG;
 
-        if (task instanceof Todo) {
-            return String.join(STORAGE_DELIMITER, TYPE_TODO, doneFlag, task.getDescription());
-        } else if (task instanceof Deadline) {
+        if (task instanceof Deadline) {
             Deadline d = (Deadline) task;
-            String byStorage = DateTimeParser.formatDateForStorage(d.getBy());
-            return String.join(STORAGE_DELIMITER, TYPE_DEADLINE, doneFlag, d.getDescription(), byStorage);
+            appendHeader(line, TYPE_DEADLINE, doneFlag, d.getDescription());
+            StorageDateCodec.appendDate(line.append(STORAGE_DELIMITER), d.getBy());
         } else if (task instanceof Event) {
             Event e = (Event) task;
-            String fromStorage = DateTimeParser.formatDateTimeForStorage(e.getFrom());
-            String toStorage = DateTimeParser.formatDateTimeForStorage(e.getTo());
-            return String.join(STORAGE_DELIMITER, TYPE_EVENT, doneFlag, e.getDescription(), fromStorage, toStorage);
+            appendHeader(line, TYPE_EVENT, doneFlag, e.getDescription());
+            StorageDateCodec.appendDateTime(line.append(STORAGE_DELIMITER), e.getFrom());
+            StorageDateCodec.appendDateTime(line.append(STORAGE_DELIMITER), e.getTo());
         } else if (task instanceof DoWithinTask) {
             DoWithinTask p = (DoWithinTask) task;
-            String fromStorage = DateTimeParser.formatDateForStorage(p.getFrom());
-            String toStorage = DateTimeParser.formatDateForStorage(p.getTo());
-            return String.join(STORAGE_DELIMITER, TYPE_DOWITHIN, doneFlag, p.getDescription(), fromStorage, toStorage);
+            appendHeader(line, TYPE_DOWITHIN, doneFlag, p.getDescription());
+            StorageDateCodec.appendDate(line.append(STORAGE_DELIMITER), p.getFrom());
+            StorageDateCodec.appendDate(line.append(STORAGE_DELIMITER), p.getTo());
         } else {
-            // Fallback: store as a generic todo-like task.
-            return String.join(STORAGE_DELIMITER, TYPE_TODO, doneFlag, task.getDescription());
+            // Todos, and any other task stored as a generic todo-like task.
+            appendHeader(line, TYPE_TODO, doneFlag, task.getDescription());
         }
+        return line.toString();
     }
-}
 
+    /**
+     * Appends the type, done flag and escaped description shared by every storage line.
+     */
+    private static void appendHeader(StringBuilder line, char type, char doneFlag, String description) {
+        line.append(type).append(STORAGE_DELIMITER).append(doneFlag).append(STORAGE_DELIMITER);
+        StorageLineTokenizer.appendEscaped(line, description);
+    }
+}
@@ -0,0 +1,59 @@
+package chatbot;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Converts task files from the text storage format to the binary format.
+ *
+ * Usage: {@code java chatbot.StorageConverter <text file> [binary file]}.
+ * Without a second argument the text file is converted in place.
+ */
+public class StorageConverter {
+    /**
+     * Reads a text storage file and writes its tasks in the binary format.
+     *
+     * @param textPath the path to the text storage file
+     * @param binaryPath the path of the binary file to write
+     * @return the converted tasks
+     * @throws IOException if the binary file cannot be written
+     */
+    public static List<Task> convert(String textPath, String binaryPath) throws IOException {
+        List<Task> tasks = new Storage(textPath).load();
+        new BinaryStorage(binaryPath).writeTasks(new File(binaryPath), tasks);
+        return tasks;
+    }
+
+    /**
+     * Converts a text storage file to the binary format, replacing it atomically.
+     * If the converted file cannot be written, the text file is left untouched.
+     *
+     * @param filePath the path to the text storage file
+     * @return the converted tasks
+     */
+    public static List<Task> convertInPlace(String filePath) {
+        List<Task> tasks = new Storage(filePath).load();
+        new BinaryStorage(filePath).save(tasks);
+        return tasks;
+    }
+
+    /**
+     * Converts the file named on the command line.
+     *
+     * @param args the text file and, optionally, the binary file to write
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Usage: StorageConverter <text file> [binary file]");
+            return;
+        }
+        String target = args.length > 1 ? args[1] : args[0];
+        try {
+            List<Task> tasks = convert(args[0], target);
+            System.out.println("Converted " + tasks.size() + " task(s) to " + target);
+        } catch (IOException e) {
+            System.out.println("Conversion failed: " + e.getMessage());
+        }
+    }
+}
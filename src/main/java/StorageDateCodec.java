@@ -0,0 +1,247 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Month;
+import java.time.Year;
+
+/**
+ * Reads and writes the dates kept in the storage file: {@code yyyy-MM-dd} for deadlines and
+ * do-within periods, and {@code yyyy-MM-dd'T'HHmm} for events.
+ *
+ * Both layouts are fixed, so the fields are read straight from the characters and written
+ * straight into the output with arithmetic, without a {@code DateTimeFormatter}, intermediate
+ * Strings or exceptions. The results are the same as those of the formatters the storage
+ * format was defined by, quirks included:
+ * <ul>
+ *   <li>dates follow {@code DateTimeFormatter.ISO_LOCAL_DATE}, which checks them strictly;</li>
+ *   <li>date-times follow {@code ofPattern("yyyy-MM-dd'T'HHmm")}, which resolves smartly: a day
+ *       of 29 to 31 past the end of the month is taken as its last day, {@code 2400} is
+ *       midnight of the next day, and the year is a year of the era, so years before 1 are
+ *       written as {@code 1 - year} and cannot be read back.</li>
+ * </ul>
+ * Years wider than four digits carry a {@code +} sign, as they do in those formats.
+ */
+public class StorageDateCodec {
+    private static final int YEAR_MIN_DIGITS = 4;
+    private static final int DATE_YEAR_MAX_DIGITS = 10;
+    private static final int DATE_TIME_YEAR_MAX_DIGITS = 19;
+    private static final int MAX_PADDED_YEAR = 9999;
+    private static final int FIELD_DIGITS = 2;
+    private static final int MONTHS = 12;
+    private static final int SMART_MAX_DAY = 31;
+    private static final int HOURS_PER_DAY = 24;
+    private static final int MAX_MINUTE = 59;
+    private static final char DATE_SEPARATOR = '-';
+    private static final char TIME_SEPARATOR = 'T';
+    private static final int NO_MATCH = -1;
+    /** Marks a year that could not be read; no valid year comes close. */
+    private static final long INVALID_YEAR = Long.MIN_VALUE;
+
+    /**
+     * Reads a date written as {@code yyyy-MM-dd}, ignoring surrounding whitespace.
+     *
+     * @param text the text to read
+     * @return the date, or null if the text is not a valid date in that layout
+     */
+    public static LocalDate parseDate(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        long year = readYear(text, start, end, DATE_YEAR_MAX_DIGITS);
+        int position = yearEnd(text, start, end);
+        if (year == INVALID_YEAR || position + FIELD_DIGITS * 2 + 2 != end) {
+            return null;
+        }
+        int month = readField(text, position, DATE_SEPARATOR);
+        int day = readField(text, position + FIELD_DIGITS + 1, DATE_SEPARATOR);
+        if (month < 1 || month > MONTHS || day < 1 || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of((int) year, month, day);
+    }
+
+    /**
+     * Reads a date-time written as {@code yyyy-MM-dd'T'HHmm}, ignoring surrounding whitespace.
+     *
+     * @param text the text to read
+     * @return the date-time, or null if the text is not a valid date-time in that layout
+     */
+    public static LocalDateTime parseDateTime(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int start = trimStart(text);
+        int end = trimEnd(text, start);
+        long year = readYear(text, start, end, DATE_TIME_YEAR_MAX_DIGITS);
+        int position = yearEnd(text, start, end);
+        if (year < 1 || year > Year.MAX_VALUE || position + FIELD_DIGITS * 4 + 3 != end) {
+            // A year of the era is at least 1, so a negative or zero year is never valid here.
+            return null;
+        }
+        int month = readField(text, position, DATE_SEPARATOR);
+        int day = readField(text, position + FIELD_DIGITS + 1, DATE_SEPARATOR);
+        int hour = readField(text, position + FIELD_DIGITS * 2 + 2, TIME_SEPARATOR);
+        int minute = readDigits(text, position + FIELD_DIGITS * 3 + 3);
+        if (month < 1 || month > MONTHS || day < 1 || day > SMART_MAX_DAY || hour < 0 || minute < 0
+                || minute > MAX_MINUTE || hour > HOURS_PER_DAY || hour == HOURS_PER_DAY && minute != 0) {
+            return null;
+        }
+        LocalDate date = LocalDate.of((int) year, month, Math.min(day, Month.of(month).length(Year.isLeap(year))));
+        if (hour < HOURS_PER_DAY) {
+            return LocalDateTime.of(date, LocalTime.of(hour, minute));
+        }
+        return date.equals(LocalDate.MAX) ? null : date.plusDays(1).atStartOfDay();
+    }
+
+    /**
+     * Appends a date as {@code yyyy-MM-dd}.
+     *
+     * @param out the builder to append to
+     * @param date the date, or null to append nothing
+     * @return the builder
+     */
+    public static StringBuilder appendDate(StringBuilder out, LocalDate date) {
+        if (date == null) {
+            return out;
+        }
+        appendYear(out, date.getYear());
+        appendField(out.append(DATE_SEPARATOR), date.getMonthValue());
+        return appendField(out.append(DATE_SEPARATOR), date.getDayOfMonth());
+    }
+
+    /**
+     * Appends a date-time as {@code yyyy-MM-dd'T'HHmm}. Seconds are dropped.
+     *
+     * @param out the builder to append to
+     * @param dateTime the date-time, or null to append nothing
+     * @return the builder
+     */
+    public static StringBuilder appendDateTime(StringBuilder out, LocalDateTime dateTime) {
+        if (dateTime == null) {
+            return out;
+        }
+        int year = dateTime.getYear();
+        appendYear(out, year >= 1 ? year : 1 - year);
+        appendField(out.append(DATE_SEPARATOR), dateTime.getMonthValue());
+        appendField(out.append(DATE_SEPARATOR), dateTime.getDayOfMonth());
+        appendField(out.append(TIME_SEPARATOR), dateTime.getHour());
+        return appendField(out, dateTime.getMinute());
+    }
+
+    /**
+     * Reads a year as the storage formats do: exactly four digits, or more with a leading
+     * {@code +}, or four or more with a leading {@code -} that is not {@code -0000}.
+     *
+     * @return the year, or {@link #INVALID_YEAR}
+     */
+    private static long readYear(CharSequence text, int start, int end, int maxDigits) {
+        if (start == end) {
+            return INVALID_YEAR;
+        }
+        char sign = text.charAt(start);
+        boolean isSigned = sign == '+' || sign == '-';
+        int digitsStart = isSigned ? start + 1 : start;
+        int digits = countDigits(text, digitsStart, end);
+        boolean hasValidWidth = sign == '+' ? digits > YEAR_MIN_DIGITS
+                : sign == '-' ? digits >= YEAR_MIN_DIGITS : digits == YEAR_MIN_DIGITS;
+        if (!hasValidWidth || digits > maxDigits) {
+            return INVALID_YEAR;
+        }
+        long year = 0;
+        for (int i = digitsStart; i < digitsStart + digits; i++) {
+            year = year * 10 + (text.charAt(i) - '0');
+            if (year > Year.MAX_VALUE + 1L) {
+                // Too large for any year; stop before the value overflows.
+                return INVALID_YEAR;
+            }
+        }
+        if (sign == '-' && year == 0 || year > Year.MAX_VALUE) {
+            return INVALID_YEAR;
+        }
+        return sign == '-' ? -year : year;
+    }
+
+    /** Returns where the year that starts the text ends, whether or not it is valid. */
+    private static int yearEnd(CharSequence text, int start, int end) {
+        if (start == end) {
+            return end;
+        }
+        char sign = text.charAt(start);
+        int digitsStart = sign == '+' || sign == '-' ? start + 1 : start;
+        return digitsStart + countDigits(text, digitsStart, end);
+    }
+
+    /**
+     * Reads a separator followed by a two-digit field. The caller has checked the length.
+     *
+     * @return the field value, or {@link #NO_MATCH}
+     */
+    private static int readField(CharSequence text, int position, char separator) {
+        return text.charAt(position) == separator ? readDigits(text, position + 1) : NO_MATCH;
+    }
+
+    /** Reads two digits, returning {@link #NO_MATCH} if either is not an ASCII digit. */
+    private static int readDigits(CharSequence text, int position) {
+        char tens = text.charAt(position);
+        char ones = text.charAt(position + 1);
+        if (!isDigit(tens) || !isDigit(ones)) {
+            return NO_MATCH;
+        }
+        return (tens - '0') * 10 + (ones - '0');
+    }
+
+    /** Appends a year padded to four digits, with a sign if it is negative or wider than that. */
+    private static void appendYear(StringBuilder out, int year) {
+        if (year < 0) {
+            out.append('-');
+        } else if (year > MAX_PADDED_YEAR) {
+            out.append('+');
+        }
+        int digits = Math.abs(year);
+        if (digits > MAX_PADDED_YEAR) {
+            out.append(digits);
+            return;
+        }
+        out.append((char) ('0' + digits / 1000))
+                .append((char) ('0' + digits / 100 % 10))
+                .append((char) ('0' + digits / 10 % 10))
+                .append((char) ('0' + digits % 10));
+    }
+
+    private static StringBuilder appendField(StringBuilder out, int value) {
+        return out.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static int countDigits(CharSequence text, int position, int end) {
+        int i = position;
+        while (i < end && isDigit(text.charAt(i))) {
+            i++;
+        }
+        return i - position;
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /** Returns the index of the first character after leading whitespace, as trimmed by String.trim. */
+    private static int trimStart(CharSequence text) {
+        int start = 0;
+        while (start < text.length() && text.charAt(start) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimEnd(CharSequence text, int start) {
+        int end = text.length();
+        while (end > start && text.charAt(end - 1) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+}
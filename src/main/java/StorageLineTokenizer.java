@@ -0,0 +1,144 @@
+package chatbot;
+
+/**
+ * Splits storage lines of the form {@code T | 0 | description | ...} into fields.
+ *
+ * The line is scanned once, without regular expressions, and each field is written into a
+ * reusable buffer, so tokenizing a line allocates nothing. Inside a field, a backslash escapes
+ * a following {@code |} or backslash; {@link #appendEscaped(StringBuilder, String)} writes
+ * fields in that form, so descriptions containing {@code " | "} survive a save and load.
+ * A backslash before any other character is kept as is, which keeps older files readable.
+ *
+ * A tokenizer keeps state between calls and must not be shared between threads.
+ */
+public class StorageLineTokenizer {
+    /** Maximum number of fields kept; anything after the last one is ignored. */
+    public static final int MAX_FIELDS = 8;
+
+    private static final char ESCAPE = '\\';
+    private static final char PIPE = '|';
+    private static final char SPACE = ' ';
+    private static final int DELIMITER_LENGTH = 3;
+    private static final int INITIAL_FIELD_CAPACITY = 64;
+
+    private final StringBuilder[] fields = new StringBuilder[MAX_FIELDS];
+    private int fieldCount;
+
+    /**
+     * Constructs a tokenizer with empty field buffers.
+     */
+    public StorageLineTokenizer() {
+        for (int i = 0; i < MAX_FIELDS; i++) {
+            fields[i] = new StringBuilder(INITIAL_FIELD_CAPACITY);
+        }
+    }
+
+    /**
+     * Splits the given line at every unescaped {@code " | "}.
+     *
+     * @param line the line to split
+     * @return the number of fields found, at most {@link #MAX_FIELDS}
+     */
+    public int tokenize(CharSequence line) {
+        fieldCount = 0;
+        StringBuilder field = startField();
+        int length = line.length();
+        int i = 0;
+        while (i < length) {
+            char c = line.charAt(i);
+            if (c == ESCAPE && i + 1 < length && isEscapable(line.charAt(i + 1))) {
+                field.append(line.charAt(i + 1));
+                i += 2;
+            } else if (c == SPACE && isDelimiterAt(line, i)) {
+                if (fieldCount == MAX_FIELDS) {
+                    break;
+                }
+                field = startField();
+                i += DELIMITER_LENGTH;
+            } else {
+                field.append(c);
+                i++;
+            }
+        }
+        return fieldCount;
+    }
+
+    /**
+     * Returns the number of fields found by the last call to {@link #tokenize(CharSequence)}.
+     *
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Returns a field of the last tokenized line. The buffer is reused by the next call.
+     *
+     * @param index the 0-based field index
+     * @return the unescaped field content
+     */
+    public CharSequence field(int index) {
+        assert index >= 0 && index < fieldCount : "field index out of range";
+        return fields[index];
+    }
+
+    /**
+     * Returns a field of the last tokenized line as a new String.
+     *
+     * @param index the 0-based field index
+     * @return the unescaped field content
+     */
+    public String fieldAsString(int index) {
+        return field(index).toString();
+    }
+
+    /**
+     * Returns whether a field consists of exactly the given character.
+     *
+     * @param index the 0-based field index
+     * @param c the expected character
+     * @return true if the field is that single character
+     */
+    public boolean fieldIs(int index, char c) {
+        if (index >= fieldCount) {
+            return false;
+        }
+        StringBuilder field = fields[index];
+        return field.length() == 1 && field.charAt(0) == c;
+    }
+
+    /**
+     * Appends a field value, escaping pipes and backslashes so it reads back unchanged.
+     *
+     * @param out the builder to append to
+     * @param value the raw field value
+     * @return the builder
+     */
+    public static StringBuilder appendEscaped(StringBuilder out, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (isEscapable(c)) {
+                out.append(ESCAPE);
+            }
+            out.append(c);
+        }
+        return out;
+    }
+
+    private StringBuilder startField() {
+        StringBuilder field = fields[fieldCount++];
+        field.setLength(0);
+        return field;
+    }
+
+    private static boolean isEscapable(char c) {
+        return c == PIPE || c == ESCAPE;
+    }
+
+    private static boolean isDelimiterAt(CharSequence line, int i) {
+        return i + DELIMITER_LENGTH <= line.length()
+                && line.charAt(i + 1) == PIPE
+                && line.charAt(i + 2) == SPACE;
+    }
+}
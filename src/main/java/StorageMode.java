@@ -0,0 +1,54 @@
+package chatbot;
+
+import java.util.Locale;
+
+/**
+ * Represents the different ways tasks can be persisted to disk.
+ */
+public enum StorageMode {
+    TEXT, JOURNAL, BINARY, LAZY, OFFHEAP, RECORD, ARCHIVE;
+
+    /** System property used to choose the storage mode at start-up. */
+    public static final String PROPERTY = "chatbot.storage";
+
+    /**
+     * Returns the mode named by the {@value #PROPERTY} system property,
+     * or {@link #TEXT} if it is unset or unknown.
+     *
+     * @return the configured storage mode
+     */
+    public static StorageMode fromProperty() {
+        String name = System.getProperty(PROPERTY, "");
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return TEXT;
+        }
+    }
+
+    /**
+     * Creates a storage of this mode for the given file.
+     *
+     * @param filePath the path to the storage file
+     * @return a new storage instance
+     */
+    public Storage create(String filePath) {
+        switch (this) {
+        case JOURNAL:
+            return new JournalStorage(filePath);
+        case BINARY:
+            return new BinaryStorage(filePath);
+        case LAZY:
+            return new BinaryStorage(filePath, BinaryStorage.LoadMode.LAZY);
+        case OFFHEAP:
+            return new BinaryStorage(filePath, BinaryStorage.LoadMode.OFF_HEAP);
+        case RECORD:
+            return new RecordStorage(filePath);
+        case ARCHIVE:
+            return new ArchiveStorage(filePath);
+        case TEXT:
+        default:
+            return new Storage(filePath);
+        }
+    }
+}
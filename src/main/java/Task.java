@@ -3,10 +3,18 @@ package chatbot;
 /**
  * Represents a task in the task list.
  * A task has a description and can be marked as done or not done.
+ *
+ * The text returned by {@link #toString()} is rendered once and kept until the task is
+ * marked or unmarked, the only change a task allows, so listing the same tasks again does
+ * not render them again. Subclasses add their parts in {@link #render(StringBuilder)}.
  */
 public class Task {
+    /** Room reserved for a rendered task, enough for most descriptions and dates. */
+    protected static final int TYPICAL_RENDERED_LENGTH = 64;
+
     private final String description;
     private boolean isDone;
+    private String rendered;
 
     /**
      * Constructs a Task with the given description.
@@ -24,6 +32,7 @@ public class Task {
      */
     public void markDone() {
         this.isDone = true;
+        this.rendered = null;
     }
 
     /**
@@ -31,6 +40,7 @@ public class Task {
      */
     public void unmarkDone() {
         this.isDone = false;
+        this.rendered = null;
     }
 
     /**
@@ -59,6 +69,20 @@ public class Task {
      */
     @Override
     public String toString() {
-        return (isDone ? "[X] " : "[ ] ") + description;
+        if (rendered == null) {
+            StringBuilder out = new StringBuilder(TYPICAL_RENDERED_LENGTH);
+            render(out);
+            rendered = out.toString();
+        }
+        return rendered;
+    }
+
+    /**
+     * Appends the text of this task, as returned by {@link #toString()}, without the cache.
+     *
+     * @param out the builder to append to
+     */
+    protected void render(StringBuilder out) {
+        out.append(isDone ? "[X] " : "[ ] ").append(description);
     }
 }
@@ -0,0 +1,103 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps a {@link CompressedBitmap} of task ids for each attribute that tasks are filtered by:
+ * one of every task, one of the done tasks and one per {@link TaskType}. A filter such as
+ * "undone deadlines" is then {@code deadlines AND NOT done}, worked out chunk by chunk
+ * rather than by looking at every task.
+ *
+ * Tasks are referred to by their id from {@link TaskPositions}. The list the index was built
+ * for updates it on every add, mark, unmark and delete. It is not thread-safe.
+ */
+public class TaskFilterIndex implements TaskIndex {
+    /**
+     * Which tasks to keep by whether they are done.
+     */
+    public enum Status {
+        ANY, DONE, UNDONE
+    }
+
+    private final Map<TaskType, CompressedBitmap> types = new EnumMap<>(TaskType.class);
+    private final TaskPositions positions;
+    private CompressedBitmap all;
+    private CompressedBitmap done;
+
+    /**
+     * Builds the index for the tasks currently in the list and adds it to the list.
+     *
+     * @param tasks the list to index
+     */
+    public TaskFilterIndex(TaskList tasks) {
+        clear();
+        positions = tasks.addIndex(this);
+    }
+
+    /**
+     * Returns the positions of the tasks that have one of the given types and the given status.
+     *
+     * @param status whether to keep done tasks, undone tasks or both
+     * @param wantedTypes the types to include, or an empty set for every type
+     * @return 0-based positions in ascending order
+     */
+    public List<Integer> find(Status status, Set<TaskType> wantedTypes) {
+        CompressedBitmap selected = all;
+        if (!wantedTypes.isEmpty()) {
+            selected = new CompressedBitmap();
+            for (TaskType type : wantedTypes) {
+                selected = CompressedBitmap.or(selected, types.get(type));
+            }
+        }
+        if (status == Status.DONE) {
+            selected = CompressedBitmap.and(selected, done);
+        } else if (status == Status.UNDONE) {
+            selected = CompressedBitmap.andNot(selected, done);
+        }
+        List<Integer> result = new ArrayList<>(selected.cardinality());
+        selected.forEach(id -> result.add(positions.positionOf(id)));
+        return result;
+    }
+
+    @Override
+    public void taskAdded(int id, Task task) {
+        add(id, task);
+    }
+
+    @Override
+    public void taskUpdated(int id, Task task) {
+        if (task.isDone()) {
+            done.add(id);
+        } else {
+            done.remove(id);
+        }
+    }
+
+    @Override
+    public void taskRemoved(int id, Task task) {
+        all.remove(id);
+        done.remove(id);
+        types.get(TaskType.of(task)).remove(id);
+    }
+
+    @Override
+    public void clear() {
+        all = new CompressedBitmap();
+        done = new CompressedBitmap();
+        for (TaskType type : TaskType.values()) {
+            types.put(type, new CompressedBitmap());
+        }
+    }
+
+    private void add(int id, Task task) {
+        all.add(id);
+        types.get(TaskType.of(task)).add(id);
+        if (task.isDone()) {
+            done.add(id);
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package chatbot;
+
+/**
+ * An index over the tasks of a {@link TaskList}, kept up to date by the list it was added to
+ * with {@link TaskList#addIndex(TaskIndex)}.
+ *
+ * Unlike a {@link TaskListListener}, an index is told the id each task has in the list's
+ * {@link TaskPositions}, which all the indexes of a list share. Ids are handed out and
+ * translated once per change, not once per index. When the list renumbers its tasks to drop
+ * the ids of deleted ones, it clears every index and adds the tasks again.
+ */
+public interface TaskIndex {
+    /**
+     * Called after a task has been inserted, and for every task when the index is added or
+     * the list renumbers its tasks.
+     *
+     * @param id the id of the new task
+     * @param task the new task
+     */
+    void taskAdded(int id, Task task);
+
+    /**
+     * Called after a task has been marked or unmarked.
+     *
+     * @param id the id of the task
+     * @param task the task, already in its new state
+     */
+    void taskUpdated(int id, Task task);
+
+    /**
+     * Called after a task has been removed. The id is no longer live.
+     *
+     * @param id the id the task had
+     * @param task the removed task
+     */
+    void taskRemoved(int id, Task task);
+
+    /**
+     * Forgets every task, before the list adds them again under new ids.
+     */
+    void clear();
+}
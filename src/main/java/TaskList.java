@@ -0,0 +1,500 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * The list of tasks the commands work on.
+ *
+ * Every change goes through this class: it updates the underlying list, tells the registered
+ * {@link TaskListListener}s and {@link TaskIndex}es, and hands the change to the
+ * {@link Storage} hook that persists it. Commands only get read access to the tasks otherwise.
+ * The indexes share one {@link TaskPositions}, so each change is numbered once for all of them.
+ *
+ * Lists that a storage builds in memory are copied into a {@link ChunkedList}, which deletes
+ * by position without shifting the whole list. Other lists, such as a {@link LazyTaskList}
+ * a {@link TaskStore} or an {@link OffHeapTaskList}, are used as they are. Since a list may
+ * hand out transient copies of its tasks, a changed task is always written back with
+ * {@code set}.
+ *
+ * Changes can be grouped into a batch with {@link #beginBatch()}. Inside a batch they are
+ * applied and indexed as usual, but only saved once, by {@link #commitBatch()}; until then
+ * each one is recorded in an undo log so that {@link #rollbackBatch()} can take the list
+ * back to where the batch began. Undoing a delete puts the task back in the middle of the
+ * list, which the indexes cannot number in place, so a rollback that does so stops updating
+ * them and rebuilds them once at the end.
+ *
+ * This class is not thread-safe. Code that changes the list while a {@link WriteBehindSaver}
+ * may be copying it must hold the monitor returned by {@link #getLock()}.
+ */
+public class TaskList implements Iterable<Task> {
+    /** Ids that may be handed out before the tasks are numbered again to drop deleted ones. */
+    private static final int MIN_RENUMBER_ID_LIMIT = 1024;
+
+    private final List<Task> tasks;
+    private final Storage storage;
+    private final List<TaskListListener> listeners = new ArrayList<>();
+    private final List<TaskIndex> indexes = new ArrayList<>();
+    private final List<Task> readOnlyView;
+    /** The ids shared by the indexes; null until the first index is added. */
+    private TaskPositions positions;
+    private DateIndex dateIndex;
+    private KeywordIndex keywordIndex;
+    private TrigramIndex trigramIndex;
+    private TaskFilterIndex filterIndex;
+    /** Undoes the changes of the open batch, oldest first; null when no batch is open. */
+    private List<Runnable> undoLog;
+    private boolean isRollingBack;
+    /** Set while rolling back once the indexes are left to be rebuilt when it ends. */
+    private boolean isIndexStale;
+
+    /**
+     * Constructs a TaskList holding the given tasks.
+     *
+     * @param tasks the tasks, typically as loaded by the storage
+     * @param storage the storage that persists every change
+     */
+    public TaskList(List<Task> tasks, Storage storage) {
+        assert tasks != null && storage != null : "tasks and storage must not be null";
+        this.tasks = tasks instanceof ArrayList ? new ChunkedList<>(tasks) : tasks;
+        this.storage = storage;
+        this.readOnlyView = Collections.unmodifiableList(this.tasks);
+    }
+
+    /**
+     * Registers a listener for every later change.
+     *
+     * @param listener the listener to add
+     */
+    public void addListener(TaskListListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds an index to keep up to date with every change, and adds the tasks currently in the
+     * list to it.
+     *
+     * @param index the index to add
+     * @return the positions that translate the ids the index is given, shared by every index
+     *     of this list
+     */
+    public TaskPositions addIndex(TaskIndex index) {
+        if (positions == null) {
+            positions = new TaskPositions();
+            for (int i = 0; i < tasks.size(); i++) {
+                positions.append();
+            }
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            index.taskAdded(positions.idAt(i), tasks.get(i));
+        }
+        indexes.add(index);
+        return positions;
+    }
+
+    /**
+     * Returns the number of tasks.
+     *
+     * @return the task count
+     */
+    public int size() {
+        return tasks.size();
+    }
+
+    /**
+     * Returns whether there are no tasks.
+     *
+     * @return true if the list is empty
+     */
+    public boolean isEmpty() {
+        return tasks.isEmpty();
+    }
+
+    /**
+     * Returns the task at the given position.
+     *
+     * @param index the 0-based index
+     * @return the task
+     */
+    public Task get(int index) {
+        return tasks.get(index);
+    }
+
+    /**
+     * Returns whether the given index refers to a task.
+     *
+     * @param index the 0-based index
+     * @return true if {@code 0 <= index < size()}
+     */
+    public boolean isValidIndex(int index) {
+        return index >= 0 && index < tasks.size();
+    }
+
+    @Override
+    public Iterator<Task> iterator() {
+        return readOnlyView.iterator();
+    }
+
+    /**
+     * Returns a sequential stream over the tasks.
+     *
+     * @return the stream
+     */
+    public Stream<Task> stream() {
+        return readOnlyView.stream();
+    }
+
+    /**
+     * Returns a read-only view of the tasks, in the form storages work with.
+     *
+     * @return an unmodifiable view that reflects later changes
+     */
+    public List<Task> asList() {
+        return readOnlyView;
+    }
+
+    /**
+     * Appends the task at the given position as {@link Task#toString()} renders it.
+     * Lists implementing {@link TaskRows} render the row without building a task.
+     *
+     * @param index the 0-based index
+     * @param out the builder to append to
+     */
+    public void appendTask(int index, StringBuilder out) {
+        if (tasks instanceof TaskRows) {
+            ((TaskRows) tasks).appendRow(index, out);
+        } else {
+            out.append(tasks.get(index));
+        }
+    }
+
+    /**
+     * Returns whether the description of the task at the given position, lower-cased,
+     * contains the given keyword. Lists implementing {@link TaskRows} answer without
+     * building a task.
+     *
+     * @param index the 0-based index
+     * @param lowerCaseKeyword the keyword, already lower-cased
+     * @return true if the task matches
+     */
+    public boolean descriptionContains(int index, String lowerCaseKeyword) {
+        if (tasks instanceof TaskRows) {
+            return ((TaskRows) tasks).descriptionContains(index, lowerCaseKeyword);
+        }
+        return tasks.get(index).getDescription().toLowerCase().contains(lowerCaseKeyword);
+    }
+
+    /**
+     * Returns the index of dated tasks, building it on first use. From then on it is kept
+     * up to date with every change.
+     *
+     * @return the date index
+     */
+    public DateIndex getDateIndex() {
+        if (dateIndex == null) {
+            dateIndex = new DateIndex(this);
+        }
+        return dateIndex;
+    }
+
+    /**
+     * Returns the index of description words, building it on first use. From then on it is
+     * kept up to date with every change.
+     *
+     * @return the keyword index
+     */
+    public KeywordIndex getKeywordIndex() {
+        if (keywordIndex == null) {
+            keywordIndex = new KeywordIndex(this);
+        }
+        return keywordIndex;
+    }
+
+    /**
+     * Returns the trigram index of descriptions, building it on first use. From then on it is
+     * kept up to date with every change.
+     *
+     * @return the trigram index
+     */
+    public TrigramIndex getTrigramIndex() {
+        if (trigramIndex == null) {
+            trigramIndex = new TrigramIndex(this);
+        }
+        return trigramIndex;
+    }
+
+    /**
+     * Returns the bitmap index of task status and type, building it on first use. From then on
+     * it is kept up to date with every change.
+     *
+     * @return the filter index
+     */
+    public TaskFilterIndex getFilterIndex() {
+        if (filterIndex == null) {
+            filterIndex = new TaskFilterIndex(this);
+        }
+        return filterIndex;
+    }
+
+    /**
+     * Returns the object to synchronize on while changing the list. It is the list handed to
+     * the storage, which a {@link WriteBehindSaver} locks while it takes a snapshot.
+     *
+     * @return the lock object
+     */
+    public Object getLock() {
+        return tasks;
+    }
+
+    /**
+     * Appends a task.
+     *
+     * @param task the task to add
+     * @return the outcome of saving the change
+     */
+    public SaveResult add(Task task) {
+        append(task);
+        if (undoLog != null) {
+            return SaveResult.success();
+        }
+        return storage.saveAdded(tasks, task);
+    }
+
+    /**
+     * Appends several tasks and saves them together.
+     *
+     * @param newTasks the tasks to add, in order
+     * @return the outcome of saving the change
+     */
+    public SaveResult addAll(List<Task> newTasks) {
+        for (Task task : newTasks) {
+            append(task);
+        }
+        return save();
+    }
+
+    /**
+     * Marks the task at the given position as done.
+     *
+     * @param index the 0-based index of a task
+     * @return the outcome of saving the change
+     */
+    public SaveResult mark(int index) {
+        setDone(index, true);
+        if (undoLog != null) {
+            return SaveResult.success();
+        }
+        return storage.saveMarked(tasks, index);
+    }
+
+    /**
+     * Marks the task at the given position as not done.
+     *
+     * @param index the 0-based index of a task
+     * @return the outcome of saving the change
+     */
+    public SaveResult unmark(int index) {
+        setDone(index, false);
+        if (undoLog != null) {
+            return SaveResult.success();
+        }
+        return storage.saveUnmarked(tasks, index);
+    }
+
+    /**
+     * Removes the task at the given position.
+     *
+     * @param index the 0-based index of a task
+     * @return the outcome of saving the change
+     */
+    public SaveResult delete(int index) {
+        remove(index);
+        if (undoLog != null) {
+            return SaveResult.success();
+        }
+        return storage.saveDeleted(tasks, index);
+    }
+
+    /**
+     * Removes every task matching the given condition and saves the result once.
+     *
+     * @param condition selects the tasks to remove
+     * @return the outcome of saving the change
+     */
+    public SaveResult deleteIf(Predicate<Task> condition) {
+        // Walk backwards so the indexes still to be visited are not shifted by a removal.
+        for (int index = tasks.size() - 1; index >= 0; index--) {
+            if (condition.test(tasks.get(index))) {
+                remove(index);
+            }
+        }
+        return save();
+    }
+
+    /**
+     * Saves the whole list. Inside a batch the save is left to {@link #commitBatch()}.
+     *
+     * @return the outcome of the save
+     */
+    public SaveResult save() {
+        if (undoLog != null) {
+            return SaveResult.success();
+        }
+        return storage.save(tasks);
+    }
+
+    /**
+     * Starts a batch: later changes are not saved until {@link #commitBatch()}, and can be
+     * undone together with {@link #rollbackBatch()}.
+     */
+    public void beginBatch() {
+        assert undoLog == null : "a batch is already open";
+        undoLog = new ArrayList<>();
+    }
+
+    /**
+     * Returns whether a batch is open.
+     *
+     * @return true between {@link #beginBatch()} and the commit or rollback that ends it
+     */
+    public boolean isInBatch() {
+        return undoLog != null;
+    }
+
+    /**
+     * Ends the open batch by saving the whole list once.
+     *
+     * @return the outcome of the save
+     */
+    public SaveResult commitBatch() {
+        assert undoLog != null : "no batch is open";
+        undoLog = null;
+        return storage.save(tasks);
+    }
+
+    /**
+     * Ends the open batch by undoing its changes, newest first. Nothing is saved, since the
+     * saved list is still the one from before the batch.
+     */
+    public void rollbackBatch() {
+        assert undoLog != null : "no batch is open";
+        List<Runnable> changes = undoLog;
+        undoLog = null;
+        isRollingBack = true;
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            changes.get(i).run();
+        }
+        isRollingBack = false;
+        if (isIndexStale) {
+            isIndexStale = false;
+            renumber();
+        }
+    }
+
+    private void append(Task task) {
+        insert(tasks.size(), task);
+        if (undoLog != null) {
+            undoLog.add(() -> remove(tasks.size() - 1));
+        }
+    }
+
+    private void insert(int index, Task task) {
+        if (index == tasks.size()) {
+            tasks.add(task);
+        } else {
+            tasks.add(index, task);
+        }
+        for (TaskListListener listener : listeners) {
+            listener.taskAdded(index, task);
+        }
+        if (positions == null || isIndexStale) {
+            return;
+        }
+        if (index != positions.size()) {
+            // Only appends can be numbered in place.
+            if (isRollingBack) {
+                isIndexStale = true;
+            } else {
+                renumber();
+            }
+            return;
+        }
+        int id = positions.append();
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskAdded(id, task);
+        }
+    }
+
+    private void setDone(int index, boolean isDone) {
+        Task task = tasks.get(index);
+        boolean wasDone = task.isDone();
+        if (isDone) {
+            task.markDone();
+        } else {
+            task.unmarkDone();
+        }
+        tasks.set(index, task);
+        notifyUpdated(index, task);
+        if (undoLog != null) {
+            undoLog.add(() -> setDone(index, wasDone));
+        }
+    }
+
+    private void remove(int index) {
+        Task removed = tasks.remove(index);
+        notifyRemoved(index, removed);
+        if (undoLog != null) {
+            undoLog.add(() -> insert(index, removed));
+        }
+    }
+
+    private void notifyUpdated(int index, Task task) {
+        for (TaskListListener listener : listeners) {
+            listener.taskUpdated(index, task);
+        }
+        if (positions == null || isIndexStale) {
+            return;
+        }
+        int id = positions.idAt(index);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskUpdated(id, task);
+        }
+    }
+
+    private void notifyRemoved(int index, Task task) {
+        for (TaskListListener listener : listeners) {
+            listener.taskRemoved(index, task);
+        }
+        if (positions == null || isIndexStale) {
+            return;
+        }
+        int id = positions.remove(index);
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.taskRemoved(id, task);
+        }
+        if (positions.getIdLimit() > Math.max(MIN_RENUMBER_ID_LIMIT, positions.size() * 2)) {
+            renumber();
+        }
+    }
+
+    /**
+     * Numbers the tasks from 0 again and rebuilds every index in one pass over the list.
+     */
+    private void renumber() {
+        positions.clear();
+        for (TaskIndex taskIndex : indexes) {
+            taskIndex.clear();
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            int id = positions.append();
+            Task task = tasks.get(i);
+            for (TaskIndex taskIndex : indexes) {
+                taskIndex.taskAdded(id, task);
+            }
+        }
+    }
+}
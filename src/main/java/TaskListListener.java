@@ -0,0 +1,33 @@
+package chatbot;
+
+/**
+ * Receives the changes made through a {@link TaskList}, so that indexes and counters built
+ * on top of the list can be kept up to date without rescanning it.
+ *
+ * Events are sent after the list has changed and before the change is saved.
+ */
+public interface TaskListListener {
+    /**
+     * Called after a task has been inserted.
+     *
+     * @param index the 0-based index of the new task
+     * @param task the new task
+     */
+    void taskAdded(int index, Task task);
+
+    /**
+     * Called after a task has been marked or unmarked.
+     *
+     * @param index the 0-based index of the task
+     * @param task the task, already in its new state
+     */
+    void taskUpdated(int index, Task task);
+
+    /**
+     * Called after a task has been removed.
+     *
+     * @param index the 0-based index the task had before it was removed
+     * @param task the removed task
+     */
+    void taskRemoved(int index, Task task);
+}
@@ -0,0 +1,156 @@
+package chatbot;
+
+import java.util.BitSet;
+
+/**
+ * Gives every task in a {@link TaskList} a stable id and translates between ids and positions.
+ *
+ * Indexes built on the list (such as {@link DateIndex}) refer to tasks by id, because a
+ * position changes whenever an earlier task is deleted. The list keeps one instance that all
+ * of its indexes share. Tasks are only appended, so ids
+ * are handed out in list order and the position of a task is the number of live ids below
+ * its own. That count is kept in a Fenwick tree, so both directions cost O(log n) and
+ * deleting a task does not renumber anything.
+ *
+ * Ids are not reused; once {@link #getIdLimit()} grows far beyond {@link #size()}, the list
+ * {@link #clear() clears} the ids and numbers its tasks again. This class is not thread-safe.
+ */
+public class TaskPositions {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final BitSet live = new BitSet();
+    /** Fenwick tree over ids; {@code tree[i]} covers ids {@code (i - lowbit(i), i]}, 1-based. */
+    private int[] tree = new int[INITIAL_CAPACITY + 1];
+    private int idLimit;
+    private int size;
+
+    /**
+     * Registers a task appended to the end of the list.
+     *
+     * @return the id of the new task
+     */
+    public int append() {
+        if (idLimit == capacity()) {
+            grow();
+        }
+        int id = idLimit++;
+        live.set(id);
+        update(id, 1);
+        size++;
+        return id;
+    }
+
+    /**
+     * Registers the removal of the task at the given position.
+     *
+     * @param position the 0-based position the task had
+     * @return the id of the removed task
+     */
+    public int remove(int position) {
+        int id = idAt(position);
+        live.clear(id);
+        update(id, -1);
+        size--;
+        return id;
+    }
+
+    /**
+     * Forgets every task, so that ids are handed out from 0 again.
+     */
+    public void clear() {
+        live.clear();
+        tree = new int[INITIAL_CAPACITY + 1];
+        idLimit = 0;
+        size = 0;
+    }
+
+    /**
+     * Returns the id of the task at the given position.
+     *
+     * @param position the 0-based position
+     * @return the id
+     */
+    public int idAt(int position) {
+        assert position >= 0 && position < size : "position out of range";
+        int index = 0;
+        int remaining = position + 1;
+        for (int step = Integer.highestOneBit(capacity()); step > 0; step >>= 1) {
+            int next = index + step;
+            if (next <= capacity() && tree[next] < remaining) {
+                index = next;
+                remaining -= tree[next];
+            }
+        }
+        // index is the largest 1-based index whose prefix holds fewer than position + 1 tasks.
+        return index;
+    }
+
+    /**
+     * Returns the current position of a task.
+     *
+     * @param id the id of a task that has not been removed
+     * @return the 0-based position
+     */
+    public int positionOf(int id) {
+        assert isLive(id) : "task has been removed";
+        int count = 0;
+        for (int index = id + 1; index > 0; index -= index & -index) {
+            count += tree[index];
+        }
+        return count - 1;
+    }
+
+    /**
+     * Returns whether the task with the given id is still in the list.
+     *
+     * @param id the id
+     * @return true if the task has not been removed
+     */
+    public boolean isLive(int id) {
+        return live.get(id);
+    }
+
+    /**
+     * Returns the number of tasks in the list.
+     *
+     * @return the task count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns one more than the highest id handed out so far.
+     *
+     * @return the id limit
+     */
+    public int getIdLimit() {
+        return idLimit;
+    }
+
+    private int capacity() {
+        return tree.length - 1;
+    }
+
+    private void update(int id, int delta) {
+        for (int index = id + 1; index <= capacity(); index += index & -index) {
+            tree[index] += delta;
+        }
+    }
+
+    /**
+     * Doubles the capacity and rebuilds the tree from the live set in linear time.
+     */
+    private void grow() {
+        tree = new int[capacity() * 2 + 1];
+        for (int id = live.nextSetBit(0); id >= 0; id = live.nextSetBit(id + 1)) {
+            tree[id + 1] = 1;
+        }
+        for (int index = 1; index <= capacity(); index++) {
+            int parent = index + (index & -index);
+            if (parent <= capacity()) {
+                tree[parent] += tree[index];
+            }
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package chatbot;
+
+import java.time.LocalDate;
+
+/**
+ * A list of tasks that can display and search its rows without building a {@link Task}
+ * for each one. {@link TaskList} uses these methods when its list implements them.
+ *
+ * The static helpers render the parts of a row around its description from fields encoded
+ * as in {@link BinaryTaskCodec}: a type byte, and epoch days or (for events) epoch minutes.
+ */
+public interface TaskRows {
+    /**
+     * Appends the row at the given position exactly as {@link Task#toString()} would render it.
+     *
+     * @param index the 0-based row index
+     * @param out the builder to append to
+     */
+    void appendRow(int index, StringBuilder out);
+
+    /**
+     * Returns whether the description of a row, lower-cased, contains the given keyword.
+     *
+     * @param index the 0-based row index
+     * @param lowerCaseKeyword the keyword, already lower-cased
+     * @return true if the row matches
+     */
+    boolean descriptionContains(int index, String lowerCaseKeyword);
+
+    /**
+     * Appends the type and status of a row, as in {@code "[D] [X] "}.
+     *
+     * @param out the builder to append to
+     * @param type the type byte of the row
+     * @param isDone whether the task is done
+     */
+    static void appendPrefix(StringBuilder out, byte type, boolean isDone) {
+        out.append('[').append((char) type).append("] ").append(isDone ? "[X] " : "[ ] ");
+    }
+
+    /**
+     * Appends the dates that follow the description of a row, if its type has any.
+     *
+     * @param out the builder to append to
+     * @param type the type byte of the row
+     * @param firstDate the first date field
+     * @param secondDate the second date field
+     */
+    static void appendDates(StringBuilder out, byte type, long firstDate, long secondDate) {
+        switch (type) {
+        case BinaryTaskCodec.TYPE_DEADLINE:
+            out.append(" (by: ").append(DateTimeParser.formatDate(LocalDate.ofEpochDay(firstDate))).append(')');
+            break;
+        case BinaryTaskCodec.TYPE_EVENT:
+            out.append(" (from: ").append(DateTimeParser.formatDateTime(BinaryTaskCodec.fromEpochMinute(firstDate)))
+                    .append(" to: ")
+                    .append(DateTimeParser.formatDateTime(BinaryTaskCodec.fromEpochMinute(secondDate)))
+                    .append(')');
+            break;
+        case BinaryTaskCodec.TYPE_DOWITHIN:
+            out.append(" (within: ").append(DateTimeParser.formatDate(LocalDate.ofEpochDay(firstDate)))
+                    .append(" to ").append(DateTimeParser.formatDate(LocalDate.ofEpochDay(secondDate)))
+                    .append(')');
+            break;
+        default:
+            break;
+        }
+    }
+}
@@ -0,0 +1,457 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A list of tasks stored column by column instead of as one object per task.
+ *
+ * Each task is a row across a type byte column, which also carries the done flag, two
+ * {@code long} date columns and a column of handles into a {@link DescriptionArena}, which
+ * keeps every distinct description once, along with its lower-cased form. As in the binary
+ * file format, the date columns hold epoch days for a Deadline (by) or DoWithinTask
+ * (from, to) and epoch minutes (UTC) for an Event (from, to); an {@code int} would run out
+ * of epoch minutes in the year 6053. A task costs about 21 bytes plus its share of the
+ * arena, instead of the several objects a {@link Task} with its dates and {@link String}
+ * needs, and a scan over one column touches only that column.
+ *
+ * As in a {@link ChunkedList}, the rows are kept in chunks of up to {@value #CHUNK_ROWS}
+ * rows, each with its own columns, so inserting or removing a row only shifts the rows of
+ * its chunk and the chunk table rather than every later row. Finding a row walks the chunk
+ * table from the chunk found last time, so sequential access is amortised O(1).
+ *
+ * {@link #get(int)} builds a new {@link Task} on every call, so a task read from the store
+ * is a transient copy: changing it has no effect until it is written back with
+ * {@link #set(int, Task)} (which {@link TaskList} does after every mark and unmark).
+ * The column accessors, and the {@link TaskRows} methods used by {@code list} and
+ * {@code find}, read a row without creating a task at all.
+ *
+ * This list is not thread-safe.
+ */
+public class TaskStore extends AbstractList<Task> implements RandomAccess, TaskRows {
+    /** Type code of a {@link Todo}. */
+    public static final byte TYPE_TODO = 'T';
+    /** Type code of a {@link Deadline}. */
+    public static final byte TYPE_DEADLINE = 'D';
+    /** Type code of an {@link Event}. */
+    public static final byte TYPE_EVENT = 'E';
+    /** Type code of a {@link DoWithinTask}. */
+    public static final byte TYPE_DOWITHIN = 'P';
+
+    /** Maximum number of rows in one chunk. */
+    private static final int CHUNK_ROWS = 512;
+    private static final int INITIAL_CHUNK_ROWS = 16;
+    private static final int INITIAL_CHUNKS = 4;
+    /** Bit of the type column set for a done task; the type codes are all ASCII. */
+    private static final byte DONE_FLAG = (byte) 0x80;
+    private static final int SECONDS_PER_MINUTE = 60;
+
+    /**
+     * A run of consecutive rows, one array per column.
+     */
+    private static final class Chunk {
+        private byte[] types;
+        private long[] firstDates;
+        private long[] secondDates;
+        private int[] descriptions;
+        private int size;
+
+        Chunk(int capacity) {
+            types = new byte[capacity];
+            firstDates = new long[capacity];
+            secondDates = new long[capacity];
+            descriptions = new int[capacity];
+        }
+
+        void ensureCapacity(int capacity) {
+            if (capacity <= types.length) {
+                return;
+            }
+            int newCapacity = Math.min(Math.max(capacity, types.length * 2), CHUNK_ROWS);
+            types = Arrays.copyOf(types, newCapacity);
+            firstDates = Arrays.copyOf(firstDates, newCapacity);
+            secondDates = Arrays.copyOf(secondDates, newCapacity);
+            descriptions = Arrays.copyOf(descriptions, newCapacity);
+        }
+
+        /**
+         * Copies {@code count} rows starting at {@code from} so that they start at {@code to}.
+         */
+        void shiftRows(int from, int to, int count) {
+            System.arraycopy(types, from, types, to, count);
+            System.arraycopy(firstDates, from, firstDates, to, count);
+            System.arraycopy(secondDates, from, secondDates, to, count);
+            System.arraycopy(descriptions, from, descriptions, to, count);
+        }
+
+        /**
+         * Copies {@code count} rows starting at {@code from} into another chunk, from its first row.
+         */
+        void copyRows(int from, Chunk target, int count) {
+            System.arraycopy(types, from, target.types, 0, count);
+            System.arraycopy(firstDates, from, target.firstDates, 0, count);
+            System.arraycopy(secondDates, from, target.secondDates, 0, count);
+            System.arraycopy(descriptions, from, target.descriptions, 0, count);
+        }
+    }
+
+    private Chunk[] chunks = new Chunk[INITIAL_CHUNKS];
+    private int chunkCount;
+    private DescriptionArena arena = new DescriptionArena();
+    private int size;
+
+    /** Chunk found by the last lookup, its position and the row index of its first row. */
+    private Chunk cursor;
+    private int cursorChunk;
+    private int cursorStart;
+
+    /**
+     * Constructs an empty store.
+     */
+    public TaskStore() {
+    }
+
+    /**
+     * Constructs a store holding the given tasks, in order.
+     *
+     * @param tasks the tasks to copy
+     */
+    public TaskStore(Collection<? extends Task> tasks) {
+        for (Task task : tasks) {
+            add(task);
+        }
+    }
+
+    /**
+     * Returns a new task holding the values of the given row.
+     */
+    @Override
+    public Task get(int index) {
+        checkIndex(index, size);
+        Chunk chunk = chunkOf(index);
+        int row = index - cursorStart;
+        String description = arena.get(chunk.descriptions[row]);
+        long firstDate = chunk.firstDates[row];
+        long secondDate = chunk.secondDates[row];
+        Task task;
+        switch (chunk.types[row] & ~DONE_FLAG) {
+        case TYPE_DEADLINE:
+            task = new Deadline(description, LocalDate.ofEpochDay(firstDate));
+            break;
+        case TYPE_EVENT:
+            task = new Event(description, fromEpochMinute(firstDate), fromEpochMinute(secondDate));
+            break;
+        case TYPE_DOWITHIN:
+            task = new DoWithinTask(description, LocalDate.ofEpochDay(firstDate), LocalDate.ofEpochDay(secondDate));
+            break;
+        case TYPE_TODO:
+        default:
+            task = new Todo(description);
+            break;
+        }
+        if ((chunk.types[row] & DONE_FLAG) != 0) {
+            task.markDone();
+        }
+        return task;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Overwrites the given row with the values of a task.
+     * The description is only interned again if it has changed.
+     */
+    @Override
+    public Task set(int index, Task task) {
+        Task previous = get(index);
+        Chunk chunk = cursor;
+        int row = index - cursorStart;
+        writeColumns(chunk, row, task);
+        if (!previous.getDescription().equals(task.getDescription())) {
+            int old = chunk.descriptions[row];
+            chunk.descriptions[row] = arena.intern(task.getDescription());
+            arena.release(old);
+        }
+        return previous;
+    }
+
+    @Override
+    public void add(int index, Task task) {
+        checkIndex(index, size + 1);
+        Chunk chunk;
+        int row;
+        if (index == size) {
+            if (chunkCount == 0 || chunks[chunkCount - 1].size == CHUNK_ROWS) {
+                insertChunk(chunkCount, new Chunk(chunkCount == 0 ? INITIAL_CHUNK_ROWS : CHUNK_ROWS));
+            }
+            chunk = chunks[chunkCount - 1];
+            row = chunk.size;
+        } else {
+            int position = locate(index);
+            if (chunks[position].size == CHUNK_ROWS) {
+                splitChunk(position);
+                if (index - cursorStart >= chunks[position].size) {
+                    cursorStart += chunks[position].size;
+                    position++;
+                    cursor = chunks[position];
+                    cursorChunk = position;
+                }
+            }
+            chunk = chunks[position];
+            row = index - cursorStart;
+        }
+        chunk.ensureCapacity(chunk.size + 1);
+        chunk.shiftRows(row, row + 1, chunk.size - row);
+        chunk.size++;
+        size++;
+        writeColumns(chunk, row, task);
+        chunk.descriptions[row] = arena.intern(task.getDescription());
+        modCount++;
+    }
+
+    @Override
+    public Task remove(int index) {
+        Task removed = get(index);
+        Chunk chunk = cursor;
+        int row = index - cursorStart;
+        arena.release(chunk.descriptions[row]);
+        chunk.shiftRows(row + 1, row, chunk.size - row - 1);
+        chunk.size--;
+        size--;
+        modCount++;
+        if (chunk.size == 0) {
+            removeChunk(cursorChunk);
+        }
+        return removed;
+    }
+
+    @Override
+    public void clear() {
+        chunks = new Chunk[INITIAL_CHUNKS];
+        chunkCount = 0;
+        size = 0;
+        cursor = null;
+        cursorChunk = 0;
+        cursorStart = 0;
+        arena = new DescriptionArena();
+        modCount++;
+    }
+
+    /**
+     * Returns the type code of a row.
+     *
+     * @param index the 0-based row index
+     * @return one of the {@code TYPE_} constants
+     */
+    public byte getType(int index) {
+        checkIndex(index, size);
+        return (byte) (chunkOf(index).types[index - cursorStart] & ~DONE_FLAG);
+    }
+
+    /**
+     * Returns the done flag of a row.
+     *
+     * @param index the 0-based row index
+     * @return true if the task is done
+     */
+    public boolean isDone(int index) {
+        checkIndex(index, size);
+        return (chunkOf(index).types[index - cursorStart] & DONE_FLAG) != 0;
+    }
+
+    /**
+     * Sets the done flag of a row.
+     *
+     * @param index the 0-based row index
+     * @param isDone the new flag
+     */
+    public void setDone(int index, boolean isDone) {
+        checkIndex(index, size);
+        Chunk chunk = chunkOf(index);
+        int row = index - cursorStart;
+        chunk.types[row] = withDone(chunk.types[row], isDone);
+    }
+
+    /**
+     * Returns the first date column: the epoch day of Deadline.by or DoWithinTask.from,
+     * the epoch minute of Event.from, or 0 for a Todo.
+     *
+     * @param index the 0-based row index
+     * @return the first date
+     */
+    public long getFirstDate(int index) {
+        checkIndex(index, size);
+        return chunkOf(index).firstDates[index - cursorStart];
+    }
+
+    /**
+     * Returns the second date column: the epoch day of DoWithinTask.to, the epoch minute
+     * of Event.to, or 0 for other tasks.
+     *
+     * @param index the 0-based row index
+     * @return the second date
+     */
+    public long getSecondDate(int index) {
+        checkIndex(index, size);
+        return chunkOf(index).secondDates[index - cursorStart];
+    }
+
+    /**
+     * Decodes the description of a row.
+     *
+     * @param index the 0-based row index
+     * @return the description
+     */
+    public String getDescription(int index) {
+        return arena.get(getDescriptionHandle(index));
+    }
+
+    /**
+     * Returns the handle of a row's description in the store's {@link DescriptionArena}.
+     * Rows with the same description share a handle.
+     *
+     * @param index the 0-based row index
+     * @return the description handle
+     */
+    public int getDescriptionHandle(int index) {
+        checkIndex(index, size);
+        return chunkOf(index).descriptions[index - cursorStart];
+    }
+
+    @Override
+    public void appendRow(int index, StringBuilder out) {
+        checkIndex(index, size);
+        Chunk chunk = chunkOf(index);
+        int row = index - cursorStart;
+        byte type = (byte) (chunk.types[row] & ~DONE_FLAG);
+        TaskRows.appendPrefix(out, type, (chunk.types[row] & DONE_FLAG) != 0);
+        arena.appendTo(chunk.descriptions[row], out);
+        TaskRows.appendDates(out, type, chunk.firstDates[row], chunk.secondDates[row]);
+    }
+
+    /**
+     * Searches the lower-cased copy kept by the arena, so no description is lower-cased
+     * for the query.
+     */
+    @Override
+    public boolean descriptionContains(int index, String lowerCaseKeyword) {
+        return arena.foldedContains(getDescriptionHandle(index), lowerCaseKeyword);
+    }
+
+    private static void writeColumns(Chunk chunk, int row, Task task) {
+        chunk.types[row] = withDone(typeOf(task), task.isDone());
+        chunk.firstDates[row] = 0;
+        chunk.secondDates[row] = 0;
+        if (task instanceof Deadline) {
+            chunk.firstDates[row] = ((Deadline) task).getBy().toEpochDay();
+        } else if (task instanceof Event) {
+            chunk.firstDates[row] = toEpochMinute(((Event) task).getFrom());
+            chunk.secondDates[row] = toEpochMinute(((Event) task).getTo());
+        } else if (task instanceof DoWithinTask) {
+            chunk.firstDates[row] = ((DoWithinTask) task).getFrom().toEpochDay();
+            chunk.secondDates[row] = ((DoWithinTask) task).getTo().toEpochDay();
+        }
+    }
+
+    private static byte withDone(byte type, boolean isDone) {
+        return (byte) (isDone ? type | DONE_FLAG : type & ~DONE_FLAG);
+    }
+
+    /**
+     * Returns the chunk holding the given row and moves the cursor there.
+     */
+    private Chunk chunkOf(int index) {
+        Chunk chunk = cursor;
+        if (chunk == null || index < cursorStart || index - cursorStart >= chunk.size) {
+            chunk = chunks[locate(index)];
+        }
+        return chunk;
+    }
+
+    /**
+     * Returns the position of the chunk holding the given row and moves the cursor there.
+     */
+    private int locate(int index) {
+        int chunk = cursorChunk;
+        int start = cursorStart;
+        if (index < start / 2) {
+            chunk = 0;
+            start = 0;
+        }
+        while (index < start) {
+            chunk--;
+            start -= chunks[chunk].size;
+        }
+        while (index >= start + chunks[chunk].size) {
+            start += chunks[chunk].size;
+            chunk++;
+        }
+        cursor = chunks[chunk];
+        cursorChunk = chunk;
+        cursorStart = start;
+        return chunk;
+    }
+
+    /**
+     * Moves the upper half of a full chunk into a new chunk right after it.
+     */
+    private void splitChunk(int position) {
+        int half = CHUNK_ROWS / 2;
+        Chunk upper = new Chunk(CHUNK_ROWS);
+        chunks[position].copyRows(half, upper, CHUNK_ROWS - half);
+        upper.size = CHUNK_ROWS - half;
+        chunks[position].size = half;
+        insertChunk(position + 1, upper);
+    }
+
+    private void insertChunk(int position, Chunk chunk) {
+        if (chunkCount == chunks.length) {
+            chunks = Arrays.copyOf(chunks, chunkCount * 2);
+        }
+        System.arraycopy(chunks, position, chunks, position + 1, chunkCount - position);
+        chunks[position] = chunk;
+        chunkCount++;
+    }
+
+    private void removeChunk(int position) {
+        System.arraycopy(chunks, position + 1, chunks, position, chunkCount - position - 1);
+        chunkCount--;
+        chunks[chunkCount] = null;
+        cursor = null;
+        cursorChunk = 0;
+        cursorStart = 0;
+    }
+
+    private static byte typeOf(Task task) {
+        if (task instanceof Deadline) {
+            return TYPE_DEADLINE;
+        } else if (task instanceof Event) {
+            return TYPE_EVENT;
+        } else if (task instanceof DoWithinTask) {
+            return TYPE_DOWITHIN;
+        }
+        return TYPE_TODO;
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_MINUTE);
+    }
+
+    private static LocalDateTime fromEpochMinute(long epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * SECONDS_PER_MINUTE, 0, ZoneOffset.UTC);
+    }
+
+    private void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package chatbot;
+
+/**
+ * The kinds of task, with the letter each is shown and stored with.
+ */
+public enum TaskType {
+    TODO("todo", BinaryTaskCodec.TYPE_TODO),
+    DEADLINE("deadline", BinaryTaskCodec.TYPE_DEADLINE),
+    EVENT("event", BinaryTaskCodec.TYPE_EVENT),
+    DOWITHIN("dowithin", BinaryTaskCodec.TYPE_DOWITHIN);
+
+    private final String name;
+    private final byte letter;
+
+    TaskType(String name, byte letter) {
+        this.name = name;
+        this.letter = letter;
+    }
+
+    /**
+     * Returns the type of a task.
+     *
+     * @param task the task
+     * @return its type
+     */
+    public static TaskType of(Task task) {
+        if (task instanceof Deadline) {
+            return DEADLINE;
+        } else if (task instanceof Event) {
+            return EVENT;
+        } else if (task instanceof DoWithinTask) {
+            return DOWITHIN;
+        }
+        return TODO;
+    }
+
+    /**
+     * Returns the type with the given name, as used by the command that adds it.
+     *
+     * @param name the name, in any case
+     * @return the type, or null if no type has that name
+     */
+    public static TaskType fromName(String name) {
+        for (TaskType type : values()) {
+            if (type.name.equalsIgnoreCase(name)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the letter the type is shown and stored with.
+     *
+     * @return the type letter, as in {@link BinaryTaskCodec}
+     */
+    public byte getLetter() {
+        return letter;
+    }
+}
@@ -15,13 +15,14 @@ public class Todo extends Task {
     }
 
     /**
-     * Returns a string representation of this todo task.
+     * Appends a string representation of this todo task.
      * The format is "[T] [X] description" if done, "[T] [ ] description" if not done.
      *
-     * @return a string representation of the todo task
+     * @param out the builder to append to
      */
     @Override
-    public String toString() {
-        return "[T] " + super.toString();
+    protected void render(StringBuilder out) {
+        out.append("[T] ");
+        super.render(out);
     }
 }
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to add a todo task.
  */
@@ -25,10 +23,9 @@ public class TodoCommand extends Command {
      * @return a message confirming the task was added
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         Task task = new Todo(description);
-        tasks.add(task);
-        storage.save(tasks);
-        return "Got it! I've added:\n  " + task;
+        SaveResult saved = tasks.add(task);
+        return withSaveStatus("Got it! I've added:\n  " + task, saved);
     }
 }
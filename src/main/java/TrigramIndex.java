@@ -0,0 +1,108 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An index from every three-character sequence (trigram) of the lower-cased task
+ * descriptions to the tasks whose descriptions contain it.
+ *
+ * A description can only contain a keyword if it contains every trigram of the keyword, so
+ * {@link #find(String)} intersects the {@link PostingList}s of the keyword's trigrams and
+ * then checks each candidate with {@link TaskList#descriptionContains(int, String)}. The
+ * result is exactly what checking every task would return, while only the candidates are
+ * looked at. Keywords shorter than a trigram cannot be looked up.
+ *
+ * The list the index was built for updates it on every change. Marking a task does not change
+ * its description, so only adds and deletes touch it. It is not thread-safe.
+ */
+public class TrigramIndex implements TaskIndex {
+    /** The shortest keyword, in characters once lower-cased, that can be looked up. */
+    public static final int MIN_KEYWORD_LENGTH = 3;
+
+    private final TaskList tasks;
+    private final Map<Long, PostingList> postings = new HashMap<>();
+    private final TaskPositions positions;
+
+    /**
+     * Builds the index for the tasks currently in the list and adds it to the list.
+     *
+     * @param tasks the list to index
+     */
+    public TrigramIndex(TaskList tasks) {
+        this.tasks = tasks;
+        positions = tasks.addIndex(this);
+    }
+
+    /**
+     * Returns the positions of the tasks whose lower-cased description contains the keyword.
+     *
+     * @param lowerCaseKeyword the keyword, already lower-cased and at least
+     *         {@link #MIN_KEYWORD_LENGTH} characters long
+     * @return 0-based positions in ascending order
+     */
+    public List<Integer> find(String lowerCaseKeyword) {
+        assert lowerCaseKeyword.length() >= MIN_KEYWORD_LENGTH : "keyword too short for trigrams";
+        List<PostingList> lists = new ArrayList<>();
+        for (long trigram : trigrams(lowerCaseKeyword)) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new ArrayList<>();
+            }
+            lists.add(list);
+        }
+        List<Integer> result = new ArrayList<>();
+        PostingList.intersect(lists, positions::isLive, id -> {
+            int position = positions.positionOf(id);
+            if (tasks.descriptionContains(position, lowerCaseKeyword)) {
+                result.add(position);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void taskAdded(int id, Task task) {
+        add(id, task);
+    }
+
+    @Override
+    public void taskUpdated(int id, Task task) {
+        // Marking and unmarking leave the description as it was.
+    }
+
+    @Override
+    public void taskRemoved(int id, Task task) {
+        for (long trigram : trigrams(task.getDescription().toLowerCase())) {
+            postings.get(trigram).markDead(positions::isLive);
+        }
+    }
+
+    @Override
+    public void clear() {
+        postings.clear();
+    }
+
+    private void add(int id, Task task) {
+        for (long trigram : trigrams(task.getDescription().toLowerCase())) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(id);
+        }
+    }
+
+    /**
+     * Returns the distinct trigrams of a text, each packed into a long as three 16-bit chars.
+     */
+    private static Set<Long> trigrams(String text) {
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + MIN_KEYWORD_LENGTH <= text.length(); i++) {
+            trigrams.add(((long) text.charAt(i) << (2 * Character.SIZE))
+                    | ((long) text.charAt(i + 1) << Character.SIZE)
+                    | text.charAt(i + 2));
+        }
+        return trigrams;
+    }
+}
@@ -1,7 +1,5 @@
 package chatbot;
 
-import java.util.ArrayList;
-
 /**
  * Represents a command to unmark a task (mark as not done).
  */
@@ -25,13 +23,17 @@ public class UnmarkCommand extends Command {
      * @return a message confirming the task was unmarked, or an error message if index is invalid
      */
     @Override
-    public String execute(ArrayList<Task> tasks, Storage storage) {
+    public String execute(TaskList tasks, Storage storage) {
         assert tasks != null && storage != null : "tasks and storage must not be null";
-        if (index < 0 || index >= tasks.size()) {
+        if (!tasks.isValidIndex(index)) {
             return "That task number doesn't exist. Use 'list' to see your tasks.";
         }
-        tasks.get(index).unmarkDone();
-        storage.save(tasks);
-        return "OK, I've marked this task as not done yet:\n  " + tasks.get(index);
+        SaveResult saved = tasks.unmark(index);
+        return withSaveStatus("OK, I've marked this task as not done yet:\n  " + tasks.get(index), saved);
+    }
+
+    @Override
+    public boolean canExecute(TaskList tasks) {
+        return tasks.isValidIndex(index);
     }
 }
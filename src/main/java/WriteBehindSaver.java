@@ -0,0 +1,172 @@
+package chatbot;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes a storage file on a background thread, coalescing bursts of saves into one write.
+ *
+ * {@link #markDirty(List)} only records that the list has changed. The saver thread waits
+ * until the window that started with the first unsaved change has passed, takes a snapshot
+ * of the list and writes it, so any number of changes inside one window cost a single write.
+ * {@link #flush()} writes outstanding changes immediately; it also runs on JVM shutdown.
+ *
+ * Code that changes the list must hold the list's monitor (as {@link ChatBot} does while it
+ * executes a command); the saver takes the same monitor while it copies the list.
+ */
+public class WriteBehindSaver {
+    private final Storage storage;
+    private final long windowNanos;
+    private final Thread saverThread;
+    private final Thread shutdownHook;
+    private final Object writeLock = new Object();
+
+    private List<Task> liveTasks;
+    private long dirtyVersion;
+    private long takenVersion;
+    private long writtenVersion;
+    private long firstDirtyAt;
+    private int writeCount;
+    private volatile SaveResult lastResult = SaveResult.success();
+    private boolean isClosed;
+
+    /**
+     * Constructs a saver for the given storage and starts its thread.
+     *
+     * @param storage the storage whose file is written
+     * @param windowMillis how long to wait after the first unsaved change before writing
+     */
+    public WriteBehindSaver(Storage storage, long windowMillis) {
+        assert storage != null : "storage must not be null";
+        assert windowMillis >= 0 : "windowMillis must not be negative";
+        this.storage = storage;
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        this.saverThread = new Thread(this::runLoop, "write-behind-saver");
+        this.saverThread.setDaemon(true);
+        this.shutdownHook = new Thread(this::flush, "write-behind-flush");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        this.saverThread.start();
+    }
+
+    /**
+     * Records that the given list has changed and needs to be written.
+     *
+     * @param tasks the live list of tasks
+     * @return the outcome of the most recent background write, so failures still reach the user
+     */
+    public synchronized SaveResult markDirty(List<Task> tasks) {
+        liveTasks = tasks;
+        if (dirtyVersion == takenVersion) {
+            firstDirtyAt = System.nanoTime();
+        }
+        dirtyVersion++;
+        notifyAll();
+        return lastResult;
+    }
+
+    /**
+     * Writes any unsaved changes on the calling thread.
+     *
+     * @return the outcome of the most recent write
+     */
+    public SaveResult flush() {
+        writeDirty();
+        return lastResult;
+    }
+
+    /**
+     * Stops the saver thread and writes any unsaved changes.
+     */
+    public void close() {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        try {
+            saverThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+        try {
+            Runtime.getRuntime().removeShutdownHook(shutdownHook);
+        } catch (IllegalStateException e) {
+            // Already shutting down; the hook flushes again, which is harmless.
+        }
+    }
+
+    /**
+     * Returns the number of writes performed so far.
+     *
+     * @return the write count
+     */
+    public int getWriteCount() {
+        synchronized (writeLock) {
+            return writeCount;
+        }
+    }
+
+    private void runLoop() {
+        while (awaitWindow()) {
+            writeDirty();
+        }
+    }
+
+    /**
+     * Blocks until there are unsaved changes and their window has passed.
+     *
+     * @return false once the saver has been closed
+     */
+    private synchronized boolean awaitWindow() {
+        try {
+            while (dirtyVersion == takenVersion && !isClosed) {
+                wait();
+            }
+            long remaining = firstDirtyAt + windowNanos - System.nanoTime();
+            while (remaining > 0 && !isClosed) {
+                TimeUnit.NANOSECONDS.timedWait(this, remaining);
+                remaining = firstDirtyAt + windowNanos - System.nanoTime();
+            }
+        } catch (InterruptedException e) {
+            return false;
+        }
+        return !isClosed;
+    }
+
+    /**
+     * Snapshots the list under its monitor and writes the snapshot. Writes are tagged with
+     * the version they contain, so a slower write of an older snapshot never overwrites a
+     * newer one.
+     */
+    private void writeDirty() {
+        List<Task> tasks;
+        synchronized (this) {
+            tasks = liveTasks;
+        }
+        if (tasks == null) {
+            return;
+        }
+
+        List<Task> snapshot;
+        long version;
+        synchronized (tasks) {
+            synchronized (this) {
+                version = dirtyVersion;
+                if (version == takenVersion) {
+                    return;
+                }
+                takenVersion = version;
+            }
+            snapshot = storage.snapshot(tasks);
+        }
+
+        synchronized (writeLock) {
+            if (version <= writtenVersion) {
+                return;
+            }
+            lastResult = storage.saveNow(snapshot);
+            writtenVersion = version;
+            writeCount++;
+        }
+    }
+}
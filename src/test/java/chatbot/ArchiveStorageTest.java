@@ -0,0 +1,168 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ArchiveStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static Clock clockAt(String instant) {
+        return Clock.fixed(Instant.parse(instant), ZoneOffset.UTC);
+    }
+
+    private List<Task> tasksWithDone(String... descriptions) {
+        List<Task> tasks = new ArrayList<>();
+        for (String description : descriptions) {
+            Task task = new Todo(description);
+            if (description.startsWith("done")) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    @Test
+    public void testLoadMovesCompletedTasksToArchive() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        new Storage(path).save(tasksWithDone("open a", "done b", "open c"));
+
+        ArchiveStorage storage = new ArchiveStorage(path, clockAt("2025-02-10T00:00:00Z"));
+        List<Task> hot = storage.load();
+        assertEquals(2, hot.size());
+        assertEquals("[T] [ ] open c", hot.get(1).toString());
+        assertEquals(2, new Storage(path).load().size());
+
+        List<Task> archived = storage.loadArchive();
+        assertEquals(1, archived.size());
+        assertEquals("[T] [X] done b", archived.get(0).toString());
+    }
+
+    @Test
+    public void testInterruptedMoveArchivesEachTaskOnce() throws IOException {
+        Path hot = tempDir.resolve("tasks.txt");
+        String path = hot.toString();
+        Clock clock = clockAt("2025-02-10T00:00:00Z");
+        new Storage(path).save(tasksWithDone("open a", "done b"));
+        ArchiveStorage storage = new ArchiveStorage(path, clock);
+        storage.load();
+        File segment = storage.listSegments()[0];
+
+        // Crash after the append, before the committed pending file was deleted.
+        Files.write(Path.of(path + ".archiving"), List.of(segment.getName() + " | 0", "T | 1 | done b"));
+        assertEquals(1, new ArchiveStorage(path, clock).load().size());
+        assertEquals(List.of("[T] [X] done b"), archivedLines(storage));
+
+        // Crash before the hot segment was rewritten: the move is discarded and redone.
+        new Storage(path).save(tasksWithDone("open a", "done c"));
+        Files.write(Path.of(path + ".archiving.new"), List.of(segment.getName() + " | " + segment.length(),
+                "T | 1 | done c"));
+        assertEquals(1, new ArchiveStorage(path, clock).load().size());
+        assertEquals(List.of("[T] [X] done b", "[T] [X] done c"), archivedLines(storage));
+
+        // Crash after the hot segment was rewritten: the move is committed and finished.
+        Files.write(Path.of(path + ".archiving.new"), List.of(segment.getName() + " | " + segment.length(),
+                "T | 1 | done d"));
+        assertEquals(1, new ArchiveStorage(path, clock).load().size());
+        assertEquals(List.of("[T] [X] done b", "[T] [X] done c", "[T] [X] done d"), archivedLines(storage));
+        assertFalse(Files.exists(Path.of(path + ".archiving")));
+        assertFalse(Files.exists(Path.of(path + ".archiving.new")));
+    }
+
+    @Test
+    public void testFailedHotRewriteKeepsTasksOutOfArchive() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Clock clock = clockAt("2025-02-10T00:00:00Z");
+        new Storage(path).save(tasksWithDone("open a", "done b"));
+        ArchiveStorage failing = new ArchiveStorage(path, clock) {
+            @Override
+            protected SaveResult saveNow(List<Task> tasks) {
+                return SaveResult.failure("disk full");
+            }
+        };
+
+        assertEquals(2, failing.load().size());
+        assertTrue(failing.loadArchive().isEmpty());
+        ArchiveStorage storage = new ArchiveStorage(path, clock);
+        assertEquals(1, storage.load().size());
+        assertEquals(List.of("[T] [X] done b"), archivedLines(storage));
+    }
+
+    @Test
+    public void testDamagedSegmentIsReported() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Clock clock = clockAt("2025-02-10T00:00:00Z");
+        new Storage(path).save(tasksWithDone("open a", "done b"));
+        new ArchiveStorage(path, clock).load();
+        new Storage(path).save(tasksWithDone("open a", "done c"));
+        ArchiveStorage storage = new ArchiveStorage(path, clock);
+        TaskList tasks = new TaskList(storage.load(), storage);
+        Path segment = storage.listSegments()[0].toPath();
+        byte[] bytes = Files.readAllBytes(segment);
+        Files.write(segment, Arrays.copyOf(bytes, bytes.length - 5));
+
+        String listed = Parser.parse("list /archive").execute(tasks, storage);
+        assertTrue(listed.contains("1. [T] [X] done b"));
+        assertTrue(listed.endsWith(
+                "Warning: 1 archive file(s) are damaged, so some archived tasks could not be read."));
+        assertEquals(1, storage.getArchiveReport().getLostCount());
+        assertTrue(Parser.parse("find done /archive").execute(tasks, storage).contains("Warning: 1 archive file(s)"));
+    }
+
+    private static List<String> archivedLines(ArchiveStorage storage) {
+        return storage.loadArchive().stream().map(Task::toString).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSegmentsRotateByMonth() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        new Storage(path).save(tasksWithDone("done jan 1", "open"));
+        new ArchiveStorage(path, clockAt("2025-01-31T00:00:00Z")).load();
+        new Storage(path).save(tasksWithDone("done jan 2", "open"));
+        new ArchiveStorage(path, clockAt("2025-01-31T12:00:00Z")).load();
+        new Storage(path).save(tasksWithDone("done feb", "open"));
+        ArchiveStorage storage = new ArchiveStorage(path, clockAt("2025-02-01T00:00:00Z"));
+        storage.load();
+
+        assertEquals(2, storage.listSegments().length);
+        assertTrue(storage.listSegments()[0].getName().endsWith("2025-01.gz"));
+        List<Task> archived = storage.loadArchive();
+        assertEquals(3, archived.size());
+        assertEquals("[T] [X] done jan 2", archived.get(1).toString());
+        assertEquals("[T] [X] done feb", archived.get(2).toString());
+    }
+
+    @Test
+    public void testListAndFindIncludeArchiveOnlyWhenAsked() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        new Storage(path).save(tasksWithDone("open report", "done report"));
+        ArchiveStorage storage = new ArchiveStorage(path, clockAt("2025-02-10T00:00:00Z"));
+        TaskList tasks = new TaskList(storage.load(), storage);
+
+        assertEquals("1. [T] [ ] open report", Parser.parse("list").execute(tasks, storage));
+        assertTrue(Parser.parse("list /archive").execute(tasks, storage)
+                .endsWith("Archived tasks:\n1. [T] [X] done report"));
+        assertEquals("Here are the matching tasks in your list:\n1. [T] [ ] open report",
+                Parser.parse("find report").execute(tasks, storage));
+        assertTrue(Parser.parse("find report /archive").execute(tasks, storage)
+                .endsWith("Matching archived tasks:\n1. [T] [X] done report"));
+    }
+}
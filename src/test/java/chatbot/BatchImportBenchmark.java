@@ -0,0 +1,61 @@
+package chatbot;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares importing todos one command at a time, which saves after every command, with
+ * running the same commands as one batch, which saves once at the end.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=BatchImportBenchmark [-PbenchArgs=<todo count>]}
+ */
+public class BatchImportBenchmark {
+    private static final int DEFAULT_TODO_COUNT = 100_000;
+    /** One command at a time is timed on fewer todos, since it slows down as the file grows. */
+    private static final int INTERACTIVE_TODO_COUNT = 2_000;
+    private static final int WARMUP = 2;
+    private static final int ITERATIONS = 5;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of todos imported by the batch
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int todoCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TODO_COUNT;
+        Path directory = Files.createTempDirectory("batch-bench");
+        Path file = directory.resolve("tasks.txt");
+
+        List<String> interactive = todoCommands(INTERACTIVE_TODO_COUNT);
+        double perCommand = BenchmarkRunner.measure("one command at a time, " + interactive.size(), 1, 1, () -> {
+            Files.deleteIfExists(file);
+            ChatBot chatBot = new ChatBot(file.toString(), StorageMode.TEXT);
+            for (String line : interactive) {
+                chatBot.getResponse(line);
+            }
+            return chatBot;
+        }) / interactive.size();
+
+        List<String> batch = todoCommands(todoCount);
+        double perBatch = BenchmarkRunner.measure("one batch, " + batch.size(), WARMUP, ITERATIONS, () -> {
+            Files.deleteIfExists(file);
+            return new ChatBot(file.toString(), StorageMode.TEXT).executeBatch(batch);
+        });
+        System.out.printf("per todo: %.1f us one at a time, %.3f us in a batch%n",
+                perCommand / 1_000, perBatch / batch.size() / 1_000);
+
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(directory);
+    }
+
+    private static List<String> todoCommands(int count) {
+        List<String> lines = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            lines.add("todo imported task " + i);
+        }
+        return lines;
+    }
+}
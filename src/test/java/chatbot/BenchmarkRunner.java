@@ -0,0 +1,51 @@
+package chatbot;
+
+import java.util.Locale;
+
+/**
+ * Minimal timing harness for the benchmarks in this directory.
+ *
+ * Each benchmark is a plain {@code main} class that can be run with
+ * {@code ./gradlew benchmark -Pbench=<class name>}. Every case is warmed up first so the
+ * JIT has compiled it, then timed over a fixed number of iterations.
+ */
+public class BenchmarkRunner {
+    private static volatile Object sink;
+
+    /**
+     * Something to time. The returned value is kept so the JIT cannot discard the work.
+     */
+    @FunctionalInterface
+    public interface Case {
+        /**
+         * Runs one iteration.
+         *
+         * @return any value derived from the work done
+         * @throws Exception if the iteration fails
+         */
+        Object run() throws Exception;
+    }
+
+    /**
+     * Times a case and prints the average cost per iteration.
+     *
+     * @param name the name printed next to the result
+     * @param warmup the number of untimed iterations to run first
+     * @param iterations the number of timed iterations
+     * @param benchmarkCase the work to time
+     * @return the average time per iteration in nanoseconds
+     * @throws Exception if an iteration fails
+     */
+    public static double measure(String name, int warmup, int iterations, Case benchmarkCase) throws Exception {
+        for (int i = 0; i < warmup; i++) {
+            sink = benchmarkCase.run();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < iterations; i++) {
+            sink = benchmarkCase.run();
+        }
+        double nanosPerOp = (double) (System.nanoTime() - start) / iterations;
+        System.out.println(String.format(Locale.ROOT, "%-40s %14.1f ns/op", name, nanosPerOp));
+        return nanosPerOp;
+    }
+}
@@ -0,0 +1,174 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class BinaryStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSaveAndLoadRoundTrip() {
+        String path = tempDir.resolve("tasks.bin").toString();
+        ArrayList<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book ✓"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 1)));
+        tasks.add(new Event("meeting", LocalDateTime.of(2025, 2, 1, 14, 0),
+                LocalDateTime.of(2025, 2, 1, 16, 30)));
+        tasks.add(new DoWithinTask("project", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)));
+        tasks.get(2).markDone();
+        new BinaryStorage(path).save(tasks);
+
+        List<Task> loaded = new BinaryStorage(path).load();
+        assertEquals(tasks.size(), loaded.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testLoadConvertsTextFile() throws IOException {
+        Path path = tempDir.resolve("tasks.txt");
+        try (FileWriter writer = new FileWriter(path.toFile())) {
+            writer.write("T | 1 | read book" + System.lineSeparator());
+            writer.write("D | 0 | return book | 2025-02-01" + System.lineSeparator());
+        }
+
+        List<Task> loaded = new BinaryStorage(path.toString()).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T] [X] read book", loaded.get(0).toString());
+        assertEquals("[D] [ ] return book (by: Feb 1 2025)", loaded.get(1).toString());
+
+        byte[] bytes = Files.readAllBytes(path);
+        assertTrue(bytes.length >= BinaryTaskCodec.HEADER_SIZE);
+        assertEquals(2, new BinaryStorage(path.toString()).load().size());
+    }
+
+    private List<Task> threeTodos() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("first"));
+        tasks.add(new Todo("second"));
+        tasks.add(new Todo("third"));
+        return tasks;
+    }
+
+    @Test
+    public void testDamagedRecordIsSkippedAndReported() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        new BinaryStorage(path.toString()).save(threeTodos());
+        byte[] bytes = Files.readAllBytes(path);
+        int second = indexOf(bytes, "second".getBytes(StandardCharsets.UTF_8));
+        bytes[second] = 'S';
+        Files.write(path, bytes);
+
+        for (boolean isLazy : new boolean[] {false, true}) {
+            BinaryStorage storage = new BinaryStorage(path.toString(), isLazy);
+            List<Task> loaded = storage.load();
+            assertEquals(2, loaded.size());
+            assertEquals("[T] [ ] first", loaded.get(0).toString());
+            assertEquals("[T] [ ] third", loaded.get(1).toString());
+            assertEquals(1, storage.getLoadReport().getLostCount());
+        }
+    }
+
+    @Test
+    public void testTruncatedFileIsReported() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        new BinaryStorage(path.toString()).save(threeTodos());
+        byte[] bytes = Files.readAllBytes(path);
+        Files.write(path, Arrays.copyOf(bytes, bytes.length - 3));
+
+        BinaryStorage storage = new BinaryStorage(path.toString());
+        assertEquals(2, storage.load().size());
+        assertEquals(1, storage.getLoadReport().getLostCount());
+        assertEquals(2, storage.getLoadReport().getLoadedCount());
+    }
+
+    @Test
+    public void testUnreadableFileIsKeptAndReported() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        new BinaryStorage(path.toString()).save(threeTodos());
+        byte[] damagedMagic = Files.readAllBytes(path);
+        damagedMagic[0] ^= 1;
+        byte[] newerVersion = Files.readAllBytes(path);
+        ByteBuffer.wrap(newerVersion).putShort(Integer.BYTES, (short) (BinaryTaskCodec.VERSION + 1));
+        byte[] olderVersion = Files.readAllBytes(path);
+        ByteBuffer.wrap(olderVersion).putShort(Integer.BYTES, (short) (BinaryTaskCodec.VERSION - 1));
+
+        for (byte[] bytes : List.of(damagedMagic, newerVersion, olderVersion)) {
+            Files.write(path, bytes);
+            BinaryStorage storage = new BinaryStorage(path.toString());
+            assertTrue(storage.load().isEmpty());
+            assertTrue(storage.getLoadReport().hasLostRecords());
+            assertArrayEquals(bytes, Files.readAllBytes(path));
+            Path backup = Path.of(storage.getLoadReport().getBackupPath());
+            assertArrayEquals(bytes, Files.readAllBytes(backup));
+        }
+    }
+
+    @Test
+    public void testUnmappableFileIsNotOverwritten() throws IOException {
+        for (StorageMode mode : List.of(StorageMode.BINARY, StorageMode.LAZY, StorageMode.OFFHEAP,
+                StorageMode.RECORD)) {
+            Path directory = tempDir.resolve(mode + ".bin");
+            Files.createDirectory(directory);
+            Storage storage = mode.create(directory.toString());
+            TaskList tasks = new TaskList(storage.load(), storage);
+            assertTrue(tasks.isEmpty());
+            assertTrue(storage.getLoadReport().hasLostRecords());
+            assertTrue(storage.getLoadReport().isReadOnly());
+
+            assertFalse(tasks.add(new Todo("read book")).isSuccessful());
+            assertTrue(Files.isDirectory(directory));
+        }
+    }
+
+    @Test
+    public void testDatesFarInTheFutureRoundTrip() {
+        Event event = new Event("far", LocalDateTime.of(9999, 1, 1, 14, 0), LocalDateTime.of(9999, 1, 2, 14, 0));
+        Deadline deadline = new Deadline("later", LocalDate.of(9999, 12, 31));
+        for (StorageMode mode : List.of(StorageMode.BINARY, StorageMode.LAZY, StorageMode.OFFHEAP,
+                StorageMode.RECORD)) {
+            String path = tempDir.resolve(mode + ".bin").toString();
+            Storage storage = mode.create(path);
+            TaskList tasks = new TaskList(storage.load(), storage);
+            assertTrue(tasks.add(event).isSuccessful());
+            assertTrue(tasks.add(deadline).isSuccessful());
+
+            List<Task> loaded = mode.create(path).load();
+            assertEquals(event.toString(), loaded.get(0).toString());
+            assertEquals(deadline.toString(), loaded.get(1).toString());
+        }
+    }
+
+    private static int indexOf(byte[] haystack, byte[] needle) {
+        outer:
+        for (int i = 0; i <= haystack.length - needle.length; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                if (haystack[i + j] != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
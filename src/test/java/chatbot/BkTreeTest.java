@@ -0,0 +1,60 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class BkTreeTest {
+    @Test
+    public void testDistance() {
+        assertEquals(3, BkTree.distance("kitten", "sitting"));
+        assertEquals(0, BkTree.distance("book", "book"));
+        assertEquals(4, BkTree.distance("", "book"));
+        assertEquals(2, BkTree.distance("recieve", "receive"));
+    }
+
+    @Test
+    public void testQueryMatchesPairwiseComparison() {
+        Random random = new Random(29);
+        BkTree tree = new BkTree();
+        List<String> words = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) {
+            String word = randomWord(random);
+            tree.add(word);
+            if (!words.contains(word)) {
+                words.add(word);
+            }
+        }
+        assertEquals(words.size(), tree.size());
+
+        for (int query = 0; query < 50; query++) {
+            String word = randomWord(random);
+            int maxDistance = random.nextInt(3);
+            Map<String, Integer> expected = new HashMap<>();
+            for (String candidate : words) {
+                int distance = BkTree.distance(word, candidate);
+                if (distance <= maxDistance) {
+                    expected.put(candidate, distance);
+                }
+            }
+            Map<String, Integer> actual = new HashMap<>();
+            tree.query(word, maxDistance, actual::put);
+            assertEquals(expected, actual);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 1 + random.nextInt(7);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(5)));
+        }
+        return word.toString();
+    }
+}
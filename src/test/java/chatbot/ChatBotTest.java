@@ -0,0 +1,50 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ChatBotTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBatchRunsEveryCommandAndSaves() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        ChatBot chatBot = new ChatBot(path, StorageMode.TEXT);
+
+        BatchResult result = chatBot.executeBatch(List.of("todo read book", "", "todo buy milk",
+                "mark 5", "mark 2", "bye", "todo never run"));
+
+        assertFalse(result.isRolledBack());
+        assertTrue(result.getSaveResult().isSuccessful());
+        assertEquals(4, result.getResponses().size());
+        assertTrue(result.getResponses().get(2).contains("doesn't exist"));
+        List<Task> loaded = new Storage(path).load();
+        assertEquals(2, loaded.size());
+        assertEquals("[T] [X] buy milk", loaded.get(1).toString());
+    }
+
+    @Test
+    public void testStrictBatchRollsBackOnFailure() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        ChatBot chatBot = new ChatBot(path, StorageMode.TEXT);
+        chatBot.getResponse("todo read book");
+
+        BatchResult result = chatBot.executeBatch(List.of("delete 1", "todo buy milk", "frobnicate"), true);
+
+        assertTrue(result.isRolledBack());
+        assertEquals(2, result.getFailedLine());
+        assertEquals(3, result.getResponses().size());
+        assertTrue(chatBot.getResponse("list").contains("read book"));
+        assertFalse(chatBot.getResponse("list").contains("buy milk"));
+        assertEquals(1, new Storage(path).load().size());
+    }
+}
@@ -0,0 +1,56 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares positional delete and re-insert in the middle of a large list for
+ * {@code ArrayList} and {@link ChunkedList}, and a full sequential read of each.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=ChunkedListBenchmark [-PbenchArgs=<task count>]}
+ */
+public class ChunkedListBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int WARMUP = 2_000;
+    private static final int ITERATIONS = 10_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks in the list
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        List<Task> arrayList = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            arrayList.add(new Todo("task " + i));
+        }
+        List<Task> chunkedList = new ChunkedList<>(arrayList);
+        System.out.println("Deleting from the middle of " + taskCount + " tasks");
+
+        measureDelete("ArrayList", arrayList);
+        measureDelete("ChunkedList", chunkedList);
+        BenchmarkRunner.measure("ArrayList full read", 5, 20, () -> readAll(arrayList));
+        BenchmarkRunner.measure("ChunkedList full read", 5, 20, () -> readAll(chunkedList));
+    }
+
+    private static void measureDelete(String name, List<Task> tasks) throws Exception {
+        int middle = tasks.size() / 2;
+        BenchmarkRunner.measure(name + " delete + insert", WARMUP, ITERATIONS, () -> {
+            Task removed = tasks.remove(middle);
+            tasks.add(middle, removed);
+            return removed;
+        });
+    }
+
+    private static int readAll(List<Task> tasks) {
+        int done = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.get(i).isDone()) {
+                done++;
+            }
+        }
+        return done;
+    }
+}
@@ -0,0 +1,63 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class ChunkedListTest {
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(42);
+        List<Integer> expected = new ArrayList<>();
+        List<Integer> actual = new ChunkedList<>();
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, i);
+                actual.add(index, i);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index), actual.remove(index));
+            } else {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.get(index), actual.get(index));
+                expected.set(index, -i);
+                actual.set(index, -i);
+            }
+        }
+        assertEquals(expected, actual);
+        assertEquals(expected, new ArrayList<>(actual));
+    }
+
+    @Test
+    public void testCopyConstructorAndClear() {
+        List<Integer> source = new ArrayList<>();
+        for (int i = 0; i < 3 * ChunkedList.CHUNK_CAPACITY + 7; i++) {
+            source.add(i);
+        }
+        ChunkedList<Integer> list = new ChunkedList<>(source);
+        assertEquals(source, list);
+        assertEquals(Integer.valueOf(ChunkedList.CHUNK_CAPACITY), list.get(ChunkedList.CHUNK_CAPACITY));
+
+        list.clear();
+        assertEquals(0, list.size());
+        list.add(1);
+        assertEquals(List.of(1), list);
+    }
+
+    @Test
+    public void testOutOfRangeIndexThrows() {
+        ChunkedList<Integer> list = new ChunkedList<>();
+        list.add(1);
+        assertThrows(IndexOutOfBoundsException.class, () -> list.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.remove(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> list.add(3, 0));
+    }
+}
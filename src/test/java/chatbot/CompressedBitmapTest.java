@@ -0,0 +1,88 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class CompressedBitmapTest {
+    @Test
+    public void testAddRemoveContains() {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        assertTrue(bitmap.add(70_000));
+        assertTrue(bitmap.add(3));
+        assertFalse(bitmap.add(3));
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(4));
+        assertTrue(bitmap.remove(3));
+        assertFalse(bitmap.remove(3));
+        assertEquals(1, bitmap.cardinality());
+    }
+
+    @Test
+    public void testOperationsMatchBitSet() {
+        Random random = new Random(31);
+        for (int round = 0; round < 20; round++) {
+            // Dense and sparse chunks, so both chunk forms and conversions between them occur.
+            BitSet left = randomBits(random);
+            BitSet right = randomBits(random);
+            CompressedBitmap leftBitmap = toBitmap(left);
+            CompressedBitmap rightBitmap = toBitmap(right);
+
+            BitSet and = (BitSet) left.clone();
+            and.and(right);
+            BitSet or = (BitSet) left.clone();
+            or.or(right);
+            BitSet andNot = (BitSet) left.clone();
+            andNot.andNot(right);
+            assertEquals(ids(and), ids(CompressedBitmap.and(leftBitmap, rightBitmap)));
+            assertEquals(ids(or), ids(CompressedBitmap.or(leftBitmap, rightBitmap)));
+            assertEquals(ids(andNot), ids(CompressedBitmap.andNot(leftBitmap, rightBitmap)));
+            assertEquals(left.cardinality(), leftBitmap.cardinality());
+
+            for (int i = 0; i < 5_000; i++) {
+                int id = random.nextInt(4 * 65_536);
+                assertEquals(left.get(id), leftBitmap.remove(id));
+                left.clear(id);
+            }
+            assertEquals(ids(left), ids(leftBitmap));
+        }
+    }
+
+    private static BitSet randomBits(Random random) {
+        BitSet bits = new BitSet();
+        for (int chunk = 0; chunk < 4; chunk++) {
+            double density = random.nextInt(3) == 0 ? 0.01 : random.nextDouble();
+            for (int low = 0; low < 65_536; low++) {
+                if (random.nextDouble() < density) {
+                    bits.set(chunk * 65_536 + low);
+                }
+            }
+        }
+        return bits;
+    }
+
+    private static CompressedBitmap toBitmap(BitSet bits) {
+        CompressedBitmap bitmap = new CompressedBitmap();
+        bits.stream().forEach(bitmap::add);
+        return bitmap;
+    }
+
+    private static List<Integer> ids(BitSet bits) {
+        List<Integer> ids = new ArrayList<>();
+        bits.stream().forEach(ids::add);
+        return ids;
+    }
+
+    private static List<Integer> ids(CompressedBitmap bitmap) {
+        List<Integer> ids = new ArrayList<>();
+        bitmap.forEach(ids::add);
+        return ids;
+    }
+}
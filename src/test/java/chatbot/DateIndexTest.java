@@ -0,0 +1,202 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class DateIndexTest {
+    private static final LocalDate START = LocalDate.of(2025, 1, 1);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testCommandsListMatchingTasks() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 3)));
+        tasks.add(new Event("trip", LocalDateTime.of(2025, 2, 1, 9, 0), LocalDateTime.of(2025, 2, 4, 18, 0)));
+        tasks.add(new DoWithinTask("report", LocalDate.of(2025, 1, 20), LocalDate.of(2025, 2, 10)));
+        tasks.add(new Deadline("pay rent", LocalDate.of(2025, 2, 1)));
+        tasks.mark(4);
+
+        assertEquals("Here are the unfinished tasks due by Feb 10 2025:\n"
+                + "2. [D] [ ] return book (by: Feb 3 2025)\n"
+                + "4. [P] [ ] report (within: Jan 20 2025 to Feb 10 2025)",
+                Parser.parse("due 2025-02-10").execute(tasks, storage));
+        assertEquals("Here are your tasks on Feb 2 2025:\n"
+                + "4. [P] [ ] report (within: Jan 20 2025 to Feb 10 2025)\n"
+                + "3. [E] [ ] trip (from: Feb 1 2025 0900 to: Feb 4 2025 1800)",
+                Parser.parse("on 2025-02-02").execute(tasks, storage));
+
+        tasks.delete(0);
+        assertEquals("Here are your tasks between Feb 3 2025 and Feb 5 2025:\n"
+                + "3. [P] [ ] report (within: Jan 20 2025 to Feb 10 2025)\n"
+                + "2. [E] [ ] trip (from: Feb 1 2025 0900 to: Feb 4 2025 1800)\n"
+                + "1. [D] [ ] return book (by: Feb 3 2025)",
+                Parser.parse("between 2025-02-03 2025-02-05").execute(tasks, storage));
+        assertEquals("Nothing is due by Jan 1 2025. Enjoy the breathing room!",
+                Parser.parse("due 2025-01-01").execute(tasks, storage));
+    }
+
+    @Test
+    public void testEventConflicts() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        assertEquals("No overlapping events. Your calendar is clear!",
+                Parser.parse("conflicts").execute(tasks, storage));
+
+        Parser.parse("event standup /from 2025-02-03 0900 /to 2025-02-03 0930").execute(tasks, storage);
+        Parser.parse("event review /from 2025-02-03 0930 /to 2025-02-03 1100").execute(tasks, storage);
+        String added = Parser.parse("event offsite /from 2025-02-03 0800 /to 2025-02-03 1000")
+                .execute(tasks, storage);
+        assertEquals("Added: [E] [ ] offsite (from: Feb 3 2025 0800 to: Feb 3 2025 1000)\n"
+                + "Heads up: this overlaps with:\n"
+                + "1. [E] [ ] standup (from: Feb 3 2025 0900 to: Feb 3 2025 0930)\n"
+                + "2. [E] [ ] review (from: Feb 3 2025 0930 to: Feb 3 2025 1100)", added);
+
+        assertEquals("These events overlap:\n"
+                + "3. [E] [ ] offsite (from: Feb 3 2025 0800 to: Feb 3 2025 1000)\n"
+                + "   overlaps 1. [E] [ ] standup (from: Feb 3 2025 0900 to: Feb 3 2025 0930)\n"
+                + "3. [E] [ ] offsite (from: Feb 3 2025 0800 to: Feb 3 2025 1000)\n"
+                + "   overlaps 2. [E] [ ] review (from: Feb 3 2025 0930 to: Feb 3 2025 1100)",
+                Parser.parse("conflicts").execute(tasks, storage));
+    }
+
+    @Test
+    public void testEventConflictsMatchPairwiseComparison() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        DateIndex index = tasks.getDateIndex();
+        Random random = new Random(11);
+        for (int i = 0; i < 600; i++) {
+            if (random.nextInt(5) == 0 && !tasks.isEmpty()) {
+                tasks.delete(random.nextInt(tasks.size()));
+            } else {
+                tasks.add(randomTask(random, i));
+            }
+        }
+
+        List<String> expectedPairs = new ArrayList<>();
+        for (int a = 0; a < tasks.size(); a++) {
+            for (int b = a + 1; b < tasks.size(); b++) {
+                if (tasks.get(a) instanceof Event && tasks.get(b) instanceof Event
+                        && overlaps((Event) tasks.get(a), (Event) tasks.get(b))) {
+                    expectedPairs.add(a + "-" + b);
+                }
+            }
+        }
+        List<String> actualPairs = index.findAllEventConflicts().stream()
+                .map(pair -> Math.min(pair[0], pair[1]) + "-" + Math.max(pair[0], pair[1]))
+                .sorted(Comparator.comparing((String pair) -> Integer.parseInt(pair.split("-")[0]))
+                        .thenComparing(pair -> Integer.parseInt(pair.split("-")[1])))
+                .collect(Collectors.toList());
+        assertEquals(expectedPairs, actualPairs);
+
+        for (int query = 0; query < 50; query++) {
+            Event probe = (Event) randomEvent(random, -1);
+            List<Integer> expected = IntStream.range(0, tasks.size())
+                    .filter(i -> tasks.get(i) instanceof Event && overlaps((Event) tasks.get(i), probe))
+                    .boxed()
+                    .sorted(Comparator.comparing((Integer i) -> ((Event) tasks.get(i)).getFrom()))
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.findOverlappingEvents(probe.getFrom(), probe.getTo()));
+        }
+    }
+
+    @Test
+    public void testIndexMatchesLinearScanAfterRandomChanges() {
+        TaskList tasks = RandomChanges.newTaskList();
+        DateIndex index = tasks.getDateIndex();
+        Random random = new Random(5);
+        RandomChanges.apply(tasks, random, 3_000, new int[] {6, 2, 1, 1},
+                i -> randomTask(random, i),
+                () -> assertMatchesScan(tasks, index, random));
+    }
+
+    private void assertMatchesScan(TaskList tasks, DateIndex index, Random random) {
+        for (int query = 0; query < 20; query++) {
+            LocalDate from = START.plusDays(random.nextInt(400));
+            LocalDate to = from.plusDays(random.nextInt(10));
+
+            List<Integer> expectedDue = IntStream.range(0, tasks.size())
+                    .filter(i -> !tasks.get(i).isDone() && dueDay(tasks.get(i)) != null
+                            && !dueDay(tasks.get(i)).isAfter(to))
+                    .boxed()
+                    .sorted(Comparator.comparing((Integer i) -> dueDay(tasks.get(i))))
+                    .collect(Collectors.toList());
+            assertEquals(expectedDue, index.findDueBy(to));
+
+            List<Integer> expectedBetween = IntStream.range(0, tasks.size())
+                    .filter(i -> span(tasks.get(i)) != null && !span(tasks.get(i))[0].isAfter(to)
+                            && !span(tasks.get(i))[1].isBefore(from))
+                    .boxed()
+                    .sorted(Comparator.comparing((Integer i) -> span(tasks.get(i))[0]))
+                    .collect(Collectors.toList());
+            assertEquals(expectedBetween, index.findBetween(from, to));
+        }
+        assertTrue(index.findBetween(START.minusDays(10), START.minusDays(5)).isEmpty());
+    }
+
+    private static Task randomTask(Random random, int i) {
+        LocalDate day = START.plusDays(random.nextInt(365));
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Todo("todo " + i);
+        case 1:
+            return new Deadline("deadline " + i, day);
+        case 2:
+            return randomEvent(random, i);
+        default:
+            return new DoWithinTask("period " + i, day, day.plusDays(random.nextInt(30)));
+        }
+    }
+
+    private static Task randomEvent(Random random, int i) {
+        LocalDateTime from = START.plusDays(random.nextInt(365)).atTime(random.nextInt(24), 0);
+        return new Event("event " + i, from, from.plusHours(random.nextInt(72)));
+    }
+
+    /**
+     * Compares two events as half-open ranges, treating an event that ends as it starts as
+     * taking up one minute.
+     */
+    private static boolean overlaps(Event a, Event b) {
+        return a.getFrom().isBefore(end(b)) && b.getFrom().isBefore(end(a));
+    }
+
+    private static LocalDateTime end(Event event) {
+        return event.getTo().isAfter(event.getFrom()) ? event.getTo() : event.getFrom().plusMinutes(1);
+    }
+
+    private static LocalDate dueDay(Task task) {
+        if (task instanceof Deadline) {
+            return ((Deadline) task).getBy();
+        }
+        return task instanceof DoWithinTask ? ((DoWithinTask) task).getTo() : null;
+    }
+
+    private static LocalDate[] span(Task task) {
+        if (task instanceof Deadline) {
+            return new LocalDate[] {((Deadline) task).getBy(), ((Deadline) task).getBy()};
+        } else if (task instanceof Event) {
+            return new LocalDate[] {((Event) task).getFrom().toLocalDate(), ((Event) task).getTo().toLocalDate()};
+        } else if (task instanceof DoWithinTask) {
+            return new LocalDate[] {((DoWithinTask) task).getFrom(), ((DoWithinTask) task).getTo()};
+        }
+        return null;
+    }
+}
@@ -0,0 +1,39 @@
+package chatbot;
+
+/**
+ * Compares reading user dates by trying each formatter in turn with reading them by the
+ * one-pass recognizer in {@link DateTimeParser}.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=DateTimeParserBenchmark}
+ */
+public class DateTimeParserBenchmark {
+    private static final String[] INPUTS = {
+        "Feb 1 2025 2:00pm", "2025-02-01", "01/02/2025", "02/13/2025", "1 Feb 2025", "2025-02-01 1400", "invalid",
+    };
+    private static final int REPEATS = 1000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        for (String input : INPUTS) {
+            BenchmarkRunner.measure("formatters '" + input + "'", 20, 20, () -> {
+                int found = 0;
+                for (int i = 0; i < REPEATS; i++) {
+                    found += FormatterDateTimeParser.parseDateTime(input) == null ? 0 : 1;
+                }
+                return found;
+            });
+            BenchmarkRunner.measure("recognizer '" + input + "'", 1000, 200, () -> {
+                int found = 0;
+                for (int i = 0; i < REPEATS; i++) {
+                    found += DateTimeParser.parseDateTime(input) == null ? 0 : 1;
+                }
+                return found;
+            });
+        }
+    }
+}
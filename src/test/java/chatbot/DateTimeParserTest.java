@@ -5,7 +5,9 @@ import static org.junit.jupiter.api.Assertions.assertNull;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Locale;
+import java.util.Random;
 
 import org.junit.jupiter.api.Test;
 
@@ -90,4 +92,90 @@ public class DateTimeParserTest {
         assertNull(DateTimeParser.parseDateFromStorage("invalid"));
         assertNull(DateTimeParser.parseDateFromStorage(null));
     }
+
+    @Test
+    public void testParseDateAmbiguousSlashPrefersDayFirst() {
+        assertEquals(LocalDate.of(2025, 2, 1), DateTimeParser.parseDate("01/02/2025"));
+        assertEquals(LocalDate.of(2025, 2, 13), DateTimeParser.parseDate("02/13/2025"));
+        // Only dd/MM/uuuu takes a time
+        assertNull(DateTimeParser.parseDateTime("02/13/2025 1400"));
+    }
+
+    @Test
+    public void testParseDateTimeTwelveHourClock() {
+        assertEquals(LocalDateTime.of(2025, 2, 20, 0, 0), DateTimeParser.parseDateTime("feb 20 2025 12am"));
+        assertEquals(LocalDateTime.of(2025, 2, 20, 12, 30), DateTimeParser.parseDateTime("FEB 20 2025 12:30PM"));
+        assertNull(DateTimeParser.parseDateTime("Feb 20 2025 0pm"));
+        assertNull(DateTimeParser.parseDateTime("Feb 20 2025 13:00pm"));
+        assertNull(DateTimeParser.parseDateTime("2025-02-20 2pm"));
+    }
+
+    @Test
+    public void testParseMatchesFormatters() {
+        String[] inputs = {
+            "2025-02-01", "+12025-02-01", "-2025-02-01", "-0000-02-01", "+2025-02-01", "0000-02-01",
+            "001-02-01", "2025-2-01", "01-02-2025", "1-02-2025", "01/02/2025", "13/02/2025", "02/13/2025",
+            "13/13/2025", "Feb 1 2025", "feb 01 2025", "Feb 001 2025", "Sept 1 2025", "Sep 1 2025",
+            "1 Feb 2025", "01 FEB 2025", "29 Feb 2024", "29 Feb 2025", "Feb 1 2025 1400", "Feb 1 2025 14:00",
+            "Feb 1 2025 2:00pm", "Feb 1 2025 2:00 pm", "Feb 1 2025 02:00am", "Feb 1 2025 12am", "Feb 1 2025 0pm",
+            "Feb 1 2025 9:00", "Feb 1 2025 2400", "Feb 1 2025 2360", "2025-02-01 0930", "2025-02-01 9:30",
+            "01/02/2025 23:59", "01-02-2025 1200", "1 Feb 2025 1200", " 2025-02-01 ", "2025-02-01  1200",
+            "2025/02/01", "Feb  1 2025", "invalid", "Feb", "2025", "12", "1 ", "+", "-", "Feb 1 999999999",
+            "Feb 1 1000000000", "Feb 1 +1000000000", "Feb 99999999999999999999 2025", "Feb 1 2025 14:00:00",
+        };
+        for (String input : inputs) {
+            assertSameAsFormatters(input);
+        }
+    }
+
+    @Test
+    public void testParseMatchesFormattersOnRandomInputs() {
+        // Each shape is filled in with a mix of good and bad values, so most inputs are near misses.
+        String[] shapes = {"Y-M-D", "D/M/Y", "D-M-Y", "N D Y", "D N Y", "Y/M/D", "N D"};
+        String[] years = {"2025", "2024", "1900", "0000", "+12345", "-2025", "+2025", "202", "20250"};
+        String[] numbers = {"01", "02", "09", "12", "13", "28", "29", "30", "31", "00", "1", "9", "001"};
+        String[] names = {"Feb", "feb", "APR", "Sep", "Sept", "May", "Fe"};
+        String[] times = {"1400", "0000", "2359", "2400", "0960", "14:00", "9:00", "09:30", "2:00pm", "12:30AM",
+            "2pm", "12am", "0pm", "13pm", "2:00 pm", "140"};
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            StringBuilder input = new StringBuilder();
+            for (char c : shapes[random.nextInt(shapes.length)].toCharArray()) {
+                if (c == 'Y') {
+                    input.append(years[random.nextInt(years.length)]);
+                } else if (c == 'M' || c == 'D') {
+                    input.append(numbers[random.nextInt(numbers.length)]);
+                } else if (c == 'N') {
+                    input.append(names[random.nextInt(names.length)]);
+                } else {
+                    input.append(c);
+                }
+            }
+            if (random.nextBoolean()) {
+                input.append(' ').append(times[random.nextInt(times.length)]);
+            }
+            assertSameAsFormatters(input.toString());
+        }
+    }
+
+    @Test
+    public void testFormatMatchesFormatterAcrossCachedValues() {
+        // Far more values than the caches hold, so entries are replaced as they are read
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("MMM d uuuu", Locale.ENGLISH);
+        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern("MMM d uuuu HHmm", Locale.ENGLISH);
+        LocalDateTime start = LocalDateTime.of(2024, 12, 30, 0, 0, 0);
+        for (int round = 0; round < 2; round++) {
+            for (int i = 0; i < 5000; i++) {
+                LocalDate date = start.toLocalDate().plusDays(i - 2500);
+                LocalDateTime dateTime = start.plusMinutes(i * 37L).plusSeconds(i % 60);
+                assertEquals(date.format(dateFormatter), DateTimeParser.formatDate(date));
+                assertEquals(dateTime.format(dateTimeFormatter), DateTimeParser.formatDateTime(dateTime));
+            }
+        }
+    }
+
+    private static void assertSameAsFormatters(String input) {
+        assertEquals(FormatterDateTimeParser.parseDate(input), DateTimeParser.parseDate(input), input);
+        assertEquals(FormatterDateTimeParser.parseDateTime(input), DateTimeParser.parseDateTime(input), input);
+    }
 }
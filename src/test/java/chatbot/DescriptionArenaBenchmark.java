@@ -0,0 +1,63 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares heap use and {@code find} cost for tasks whose descriptions repeat, held as
+ * {@link Todo} objects and in a {@link TaskStore} backed by a {@link DescriptionArena}.
+ * Every task gets its own String, as it would when loaded from a file.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=DescriptionArenaBenchmark [-PbenchArgs=<task count>]}
+ */
+public class DescriptionArenaBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int DISTINCT_DESCRIPTIONS = 500;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Storage storage = new Storage("unused.txt");
+
+        long before = usedHeap();
+        List<Task> objects = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            objects.add(new Todo(descriptionOf(i)));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        TaskStore store = new TaskStore();
+        for (int i = 0; i < taskCount; i++) {
+            store.add(new Todo(descriptionOf(i)));
+        }
+        long storeBytes = usedHeap() - before;
+
+        System.out.printf("Todo objects: %.1f bytes/task%n", (double) objectBytes / taskCount);
+        System.out.printf("TaskStore:    %.1f bytes/task%n", (double) storeBytes / taskCount);
+
+        TaskList onHeap = new TaskList(objects, storage);
+        TaskList columns = new TaskList(store, storage);
+        FindCommand find = new FindCommand("Chore 42");
+        BenchmarkRunner.measure("find, Todo objects", 3, 10, () -> find.execute(onHeap, storage));
+        BenchmarkRunner.measure("find, arena", 3, 10, () -> find.execute(columns, storage));
+    }
+
+    private static String descriptionOf(int i) {
+        return new StringBuilder("Weekly Chore ").append(i % DISTINCT_DESCRIPTIONS).toString();
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
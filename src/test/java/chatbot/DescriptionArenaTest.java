@@ -0,0 +1,81 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class DescriptionArenaTest {
+    private static final String[] SAMPLES = {
+        "standup", "Review PR", "café Crème", "Straße", "İstanbul trip", "ΣΊΣΥΦΟΣ", "emoji 😀 Party", "",
+        "a|b\\c"
+    };
+
+    @Test
+    public void testRepeatedTextSharesHandle() {
+        DescriptionArena arena = new DescriptionArena();
+        int first = arena.intern("standup");
+        int second = arena.intern(new String("standup"));
+        assertEquals(first, second);
+        assertNotEquals(first, arena.intern("Standup"));
+        // "standup" is its own lower-cased form, and "Standup" lower-cases to it.
+        assertEquals(2, arena.getTextCount());
+    }
+
+    @Test
+    public void testTextsRoundTrip() {
+        DescriptionArena arena = new DescriptionArena();
+        for (String sample : SAMPLES) {
+            int handle = arena.intern(sample);
+            assertEquals(sample, arena.get(handle));
+            StringBuilder out = new StringBuilder();
+            arena.appendTo(handle, out);
+            assertEquals(sample, out.toString());
+        }
+    }
+
+    @Test
+    public void testFoldedContainsMatchesLowerCaseContains() {
+        DescriptionArena arena = new DescriptionArena();
+        String[] keywords = {"stand", "review pr", "crème", "ss", "straße", "i", "istanbul", "σίσυφος",
+            "😀", "party", "", "|b\\", "x"};
+        for (String sample : SAMPLES) {
+            int handle = arena.intern(sample);
+            for (String keyword : keywords) {
+                String lowerKeyword = keyword.toLowerCase();
+                assertEquals(sample.toLowerCase().contains(lowerKeyword), arena.foldedContains(handle, lowerKeyword),
+                        "\"" + keyword + "\" in \"" + sample + "\"");
+            }
+        }
+    }
+
+    @Test
+    public void testReleasedTextsAreCompactedAndHandlesReused() {
+        DescriptionArena arena = new DescriptionArena();
+        Random random = new Random(3);
+        List<Integer> handles = new ArrayList<>();
+        List<String> texts = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            if (handles.isEmpty() || random.nextInt(3) > 0) {
+                String text = "Task " + random.nextInt(2_000);
+                handles.add(arena.intern(text));
+                texts.add(text);
+            } else {
+                int index = random.nextInt(handles.size());
+                arena.release(handles.remove(index));
+                texts.remove(index);
+            }
+        }
+        for (int i = 0; i < handles.size(); i++) {
+            assertEquals(texts.get(i), arena.get(handles.get(i)));
+            assertTrue(arena.foldedContains(handles.get(i), texts.get(i).toLowerCase()));
+        }
+        int distinctBytes = texts.stream().distinct().mapToInt(text -> 2 * text.length()).sum();
+        assertTrue(arena.getByteCount() <= distinctBytes);
+    }
+}
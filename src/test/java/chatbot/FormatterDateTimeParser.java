@@ -0,0 +1,101 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeFormatterBuilder;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * The way {@link DateTimeParser} used to read dates: by trying each formatter in turn until
+ * one does not throw. Kept as the reference the recognizer is checked and timed against.
+ */
+public class FormatterDateTimeParser {
+    private static final List<DateTimeFormatter> DATE_FORMATTERS = Arrays.asList(
+        createFormatter("uuuu-MM-dd"),
+        createFormatter("dd/MM/uuuu"),
+        createFormatter("MM/dd/uuuu"),
+        createFormatter("dd-MM-uuuu"),
+        createFormatter("MMM dd uuuu"),
+        createFormatter("MMM d uuuu"),
+        createFormatter("d MMM uuuu"),
+        createFormatter("dd MMM uuuu")
+    );
+
+    private static final List<DateTimeFormatter> DATETIME_FORMATTERS = Arrays.asList(
+        createFormatter("uuuu-MM-dd HHmm"),
+        createFormatter("uuuu-MM-dd HH:mm"),
+        createFormatter("dd/MM/uuuu HHmm"),
+        createFormatter("dd/MM/uuuu HH:mm"),
+        createFormatter("MMM dd uuuu HHmm"),
+        createFormatter("MMM d uuuu HHmm"),
+        createFormatter("MMM dd uuuu HH:mm"),
+        createFormatter("MMM d uuuu HH:mm"),
+        createFormatter("MMM dd uuuu h:mma"),
+        createFormatter("MMM d uuuu h:mma"),
+        createFormatter("MMM dd uuuu ha"),
+        createFormatter("MMM d uuuu ha")
+    );
+
+    private static DateTimeFormatter createFormatter(String pattern) {
+        return new DateTimeFormatterBuilder()
+                .parseCaseInsensitive()
+                .appendPattern(pattern)
+                .toFormatter(Locale.ENGLISH)
+                .withResolverStyle(ResolverStyle.STRICT);
+    }
+
+    /**
+     * Parses a date as {@link DateTimeParser#parseDate(String)} should.
+     *
+     * @param dateString the date string to parse
+     * @return the parsed LocalDate, or null if parsing fails
+     */
+    public static LocalDate parseDate(String dateString) {
+        if (dateString == null || dateString.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = dateString.trim();
+        for (DateTimeFormatter formatter : DATE_FORMATTERS) {
+            try {
+                return LocalDate.parse(trimmed, formatter);
+            } catch (DateTimeParseException e) {
+                // Continue to next formatter
+            }
+        }
+        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
+            try {
+                return LocalDateTime.parse(trimmed, formatter).toLocalDate();
+            } catch (DateTimeParseException e) {
+                // Continue to next formatter
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parses a date-time as {@link DateTimeParser#parseDateTime(String)} should.
+     *
+     * @param dateTimeString the date-time string to parse
+     * @return the parsed LocalDateTime, or null if parsing fails
+     */
+    public static LocalDateTime parseDateTime(String dateTimeString) {
+        if (dateTimeString == null || dateTimeString.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = dateTimeString.trim();
+        for (DateTimeFormatter formatter : DATETIME_FORMATTERS) {
+            try {
+                return LocalDateTime.parse(trimmed, formatter);
+            } catch (DateTimeParseException e) {
+                // Continue to next formatter
+            }
+        }
+        LocalDate date = parseDate(trimmed);
+        return date == null ? null : date.atStartOfDay();
+    }
+}
@@ -0,0 +1,95 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class JournalStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testReplayJournalOnLoad() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        JournalStorage storage = new JournalStorage(path);
+        List<Task> tasks = storage.load();
+
+        Task todo = new Todo("read book");
+        tasks.add(todo);
+        storage.saveAdded(tasks, todo);
+        Task deadline = new Deadline("return book", LocalDate.of(2025, 2, 1));
+        tasks.add(deadline);
+        storage.saveAdded(tasks, deadline);
+        tasks.get(1).markDone();
+        storage.saveMarked(tasks, 1);
+        tasks.remove(0);
+        storage.saveDeleted(tasks, 0);
+        storage.close();
+
+        assertFalse(new File(path).exists());
+        List<Task> reloaded = new JournalStorage(path).load();
+        assertEquals(1, reloaded.size());
+        assertEquals("[D] [X] return book (by: Feb 1 2025)", reloaded.get(0).toString());
+    }
+
+    @Test
+    public void testCompactionFoldsJournalIntoSnapshot() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        JournalStorage storage = new JournalStorage(path, 64);
+        List<Task> tasks = storage.load();
+        for (int i = 0; i < 20; i++) {
+            Task task = new Todo("task " + i);
+            tasks.add(task);
+            storage.saveAdded(tasks, task);
+        }
+        storage.close();
+
+        assertTrue(new File(path).exists());
+        List<Task> reloaded = new JournalStorage(path).load();
+        assertEquals(20, reloaded.size());
+        assertEquals("[T] [ ] task 19", reloaded.get(19).toString());
+    }
+
+    @Test
+    public void testSaveTruncatesJournal() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        JournalStorage storage = new JournalStorage(path);
+        List<Task> tasks = storage.load();
+        Task todo = new Todo("read book");
+        tasks.add(todo);
+        storage.saveAdded(tasks, todo);
+        storage.save(tasks);
+        storage.close();
+
+        assertFalse(new File(path + ".journal").exists());
+        assertEquals(1, new JournalStorage(path).load().size());
+    }
+
+    @Test
+    public void testSaveInterruptedBeforePublishingIsRolledForward() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        JournalStorage storage = new JournalStorage(path);
+        List<Task> tasks = storage.load();
+        Task todo = new Todo("read book");
+        tasks.add(todo);
+        storage.saveAdded(tasks, todo);
+        storage.close();
+        // A crash after the full snapshot was written, while the journal still holds its records.
+        new Storage(path + ".saving").save(tasks);
+
+        List<Task> reloaded = new JournalStorage(path).load();
+        assertEquals(1, reloaded.size());
+        assertFalse(new File(path + ".saving").exists());
+        assertFalse(new File(path + ".journal").exists());
+        assertEquals(1, new JournalStorage(path).load().size());
+    }
+}
@@ -0,0 +1,77 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares word searches, exact and fuzzy, answered by scanning every description with the
+ * same searches answered from a {@link KeywordIndex}.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=KeywordIndexBenchmark [-PbenchArgs=<task count>]}
+ */
+public class KeywordIndexBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final String[] VERBS = {"read", "write", "call", "email", "review", "plan", "buy", "fix"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Storage storage = new Storage("unused.txt");
+        List<Task> list = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            list.add(new Todo(VERBS[i % VERBS.length] + " item " + i + " for project " + (i % 1000)));
+        }
+        TaskList tasks = new TaskList(list, storage);
+
+        long start = System.nanoTime();
+        tasks.getKeywordIndex();
+        System.out.printf("index build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        List<String> words = KeywordIndex.words("review 42");
+        BenchmarkRunner.measure("all words, scan", 3, 10, () -> scanAll(tasks, words));
+        BenchmarkRunner.measure("all words, index", 3, 10, () -> tasks.getKeywordIndex().findAll(words).size());
+        FindCommand find = new FindCommand("review 42", FindCommand.Mode.ALL_WORDS, false);
+        BenchmarkRunner.measure("find /all review 42", 3, 10, () -> find.execute(tasks, storage));
+
+        start = System.nanoTime();
+        tasks.getKeywordIndex().findSimilar(List.of("warmup"));
+        System.out.printf("vocabulary build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+        List<String> typo = KeywordIndex.words("reveiw");
+        BenchmarkRunner.measure("fuzzy, scan", 1, 3, () -> scanSimilar(tasks, typo.get(0)));
+        BenchmarkRunner.measure("fuzzy, index", 3, 10, () -> tasks.getKeywordIndex().findSimilar(typo).size());
+    }
+
+    /**
+     * Counts the matches the way the index replaces: by splitting every description.
+     */
+    private static int scanAll(TaskList tasks, List<String> words) {
+        int count = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (KeywordIndex.words(tasks.get(i).getDescription()).containsAll(words)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Counts the tasks with a word close to the given one by comparing it with every word.
+     */
+    private static int scanSimilar(TaskList tasks, String word) {
+        int count = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            for (String taskWord : KeywordIndex.words(tasks.get(i).getDescription())) {
+                if (BkTree.distance(word, taskWord) <= KeywordIndex.maxEdits(word)) {
+                    count++;
+                    break;
+                }
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,117 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class KeywordIndexTest {
+    private static final String[] WORDS = {"read", "book", "pay", "rent", "call", "mum", "notebook", "Book"};
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testWords() {
+        assertEquals(List.of("read", "book", "2"), KeywordIndex.words("Read BOOK-2, read book!"));
+        assertTrue(KeywordIndex.words(" -- ").isEmpty());
+    }
+
+    @Test
+    public void testFindByWords() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("buy notebook"));
+        tasks.add(new Todo("return Book to library"));
+        tasks.add(new Todo("pay rent"));
+
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] read book\n"
+                + "2. [T] [ ] return Book to library",
+                Parser.parse("find /all book").execute(tasks, storage));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] return Book to library",
+                Parser.parse("find /all library book").execute(tasks, storage));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] buy notebook\n"
+                + "2. [T] [ ] pay rent",
+                Parser.parse("find /any rent notebook").execute(tasks, storage));
+        assertEquals("No matching tasks found.", Parser.parse("find /all book rent").execute(tasks, storage));
+
+        tasks.delete(0);
+        tasks.mark(1);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [X] return Book to library",
+                Parser.parse("find /all book").execute(tasks, storage));
+    }
+
+    @Test
+    public void testFuzzyFindRanksByDistance() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.add(new Todo("receive parcel"));
+        tasks.add(new Todo("recieve parcel"));
+        tasks.add(new Todo("relieve stress"));
+        tasks.add(new Todo("deceive nobody"));
+
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] recieve parcel\n"
+                + "2. [T] [ ] relieve stress\n"
+                + "3. [T] [ ] receive parcel",
+                Parser.parse("find ~Recieve").execute(tasks, storage));
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] receive parcel\n"
+                + "2. [T] [ ] recieve parcel",
+                Parser.parse("find ~receive parcle").execute(tasks, storage));
+
+        tasks.add(new Todo("recieved"));
+        tasks.delete(0);
+        assertEquals(List.of(0, 1, 3), tasks.getKeywordIndex().findSimilar(List.of("recieve")));
+        assertEquals("No matching tasks found.", Parser.parse("find ~xyzzy").execute(tasks, storage));
+    }
+
+    @Test
+    public void testIndexMatchesLinearScanAfterRandomChanges() {
+        TaskList tasks = RandomChanges.newTaskList();
+        KeywordIndex index = tasks.getKeywordIndex();
+        Random random = new Random(17);
+        RandomChanges.apply(tasks, random, 5_000, new int[] {6, 3, 1, 0},
+                i -> new Todo(randomText(random, 1 + random.nextInt(4))),
+                () -> assertMatchesScan(tasks, index, random));
+    }
+
+    private static void assertMatchesScan(TaskList tasks, KeywordIndex index, Random random) {
+        for (int query = 0; query < 20; query++) {
+            List<String> words = KeywordIndex.words(randomText(random, 1 + random.nextInt(3)));
+            List<Integer> expectedAll = IntStream.range(0, tasks.size())
+                    .filter(i -> KeywordIndex.words(tasks.get(i).getDescription()).containsAll(words))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expectedAll, index.findAll(words));
+
+            List<Integer> expectedAny = IntStream.range(0, tasks.size())
+                    .filter(i -> KeywordIndex.words(tasks.get(i).getDescription()).stream()
+                            .anyMatch(words::contains))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expectedAny, index.findAny(words));
+        }
+    }
+
+    private static String randomText(Random random, int wordCount) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < wordCount; i++) {
+            text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return text.toString();
+    }
+}
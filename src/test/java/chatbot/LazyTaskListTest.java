@@ -0,0 +1,89 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LazyTaskListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Path writeTasks(int count) {
+        Path path = tempDir.resolve("tasks.bin");
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tasks.add(new Deadline("task " + i, LocalDate.of(2025, 1, 1).plusDays(i)));
+        }
+        new BinaryStorage(path.toString()).save(tasks);
+        return path;
+    }
+
+    @Test
+    public void testLazyLoadReturnsView() {
+        Path path = writeTasks(5);
+        List<Task> tasks = new BinaryStorage(path.toString(), true).load();
+        assertTrue(tasks instanceof LazyTaskList);
+        assertEquals(5, tasks.size());
+        assertEquals("[D] [ ] task 3 (by: Jan 4 2025)", tasks.get(3).toString());
+    }
+
+    @Test
+    public void testDoneFlagSurvivesEviction() throws IOException {
+        Path path = writeTasks(10);
+        LazyTaskList tasks = LazyTaskList.index(ByteBuffer.wrap(Files.readAllBytes(path)), 2);
+        tasks.get(0).markDone();
+        for (int i = 1; i < 10; i++) {
+            tasks.get(i);
+        }
+        assertTrue(tasks.get(0).isDone());
+    }
+
+    @Test
+    public void testMutationsAreSaved() {
+        Path path = writeTasks(4);
+        BinaryStorage storage = new BinaryStorage(path.toString(), true);
+        List<Task> tasks = storage.load();
+        tasks.get(1).markDone();
+        tasks.remove(0);
+        tasks.add(new Todo("new task"));
+        storage.save(tasks);
+
+        List<Task> reloaded = new BinaryStorage(path.toString()).load();
+        assertEquals(4, reloaded.size());
+        assertEquals("[D] [X] task 1 (by: Jan 2 2025)", reloaded.get(0).toString());
+        assertEquals("[D] [ ] task 3 (by: Jan 4 2025)", reloaded.get(2).toString());
+        assertEquals("[T] [ ] new task", reloaded.get(3).toString());
+    }
+
+    @Test
+    public void testPinnedSlotsAreReused() {
+        Path path = writeTasks(4);
+        LazyTaskList tasks = (LazyTaskList) new BinaryStorage(path.toString(), true).load();
+        for (int i = 0; i < 1_000; i++) {
+            tasks.add(new Todo("added " + i));
+            tasks.set(0, new Todo("replaced " + i));
+            tasks.remove(tasks.size() - 1);
+        }
+        assertEquals(1, tasks.getPinnedCount());
+        assertEquals(4, tasks.size());
+        assertEquals("[T] [ ] replaced 999", tasks.get(0).toString());
+
+        tasks.add(new Todo("kept"));
+        LazyTaskList copy = tasks.snapshot();
+        tasks.remove(4);
+        copy.add(new Todo("copied"));
+        assertEquals("[T] [ ] kept", copy.get(4).toString());
+        assertEquals("[T] [ ] copied", copy.get(5).toString());
+    }
+}
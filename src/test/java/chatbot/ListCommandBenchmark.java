@@ -0,0 +1,59 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Times {@code list} on a list of mixed tasks, with every row rendered from scratch and
+ * with the rendered rows already cached on the tasks.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=ListCommandBenchmark [-PbenchArgs=<task count>]}
+ */
+public class ListCommandBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 100_000;
+    private static final int DAYS = 365;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Storage storage = new Storage("unused.txt");
+        ListCommand list = new ListCommand();
+
+        BenchmarkRunner.measure("build tasks", 5, 20, () -> newTasks(taskCount, storage));
+        BenchmarkRunner.measure("build tasks, then list", 5, 20,
+                () -> list.execute(newTasks(taskCount, storage), storage));
+        TaskList tasks = newTasks(taskCount, storage);
+        BenchmarkRunner.measure("list again", 20, 50, () -> list.execute(tasks, storage));
+    }
+
+    private static TaskList newTasks(int taskCount, Storage storage) {
+        List<Task> list = new ArrayList<>(taskCount);
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < taskCount; i++) {
+            LocalDate day = start.plusDays(i % DAYS);
+            switch (i % 4) {
+            case 0:
+                list.add(new Todo("todo " + i));
+                break;
+            case 1:
+                list.add(new Deadline("deadline " + i, day));
+                break;
+            case 2:
+                LocalDateTime from = day.atTime(i % 24, 0);
+                list.add(new Event("event " + i, from, from.plusHours(2)));
+                break;
+            default:
+                list.add(new DoWithinTask("period " + i, day, day.plusDays(7)));
+                break;
+            }
+        }
+        return new TaskList(list, storage);
+    }
+}
@@ -0,0 +1,59 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the heap used by a list of {@link Task} objects and by an {@link OffHeapTaskList},
+ * and the cost of {@code find} over each.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=OffHeapTaskListBenchmark [-PbenchArgs=<task count>]}
+ */
+public class OffHeapTaskListBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        Storage storage = new Storage("unused.txt");
+
+        long before = usedHeap();
+        List<Task> objects = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            objects.add(new Deadline("Task number " + i, start.plusDays(i % 365)));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        OffHeapTaskList records = new OffHeapTaskList();
+        for (int i = 0; i < taskCount; i++) {
+            records.add(new Deadline("Task number " + i, start.plusDays(i % 365)));
+        }
+        long recordBytes = usedHeap() - before;
+        TaskList onHeap = new TaskList(objects, storage);
+        TaskList offHeap = new TaskList(records, storage);
+
+        System.out.printf("Task objects:   %.1f heap bytes/task%n", (double) objectBytes / taskCount);
+        System.out.printf("OffHeapTaskList: %.1f heap bytes/task%n", (double) recordBytes / taskCount);
+
+        FindCommand find = new FindCommand("NUMBER 99999");
+        BenchmarkRunner.measure("find, Task objects", 3, 10, () -> find.execute(onHeap, storage));
+        BenchmarkRunner.measure("find, off-heap records", 3, 10, () -> find.execute(offHeap, storage));
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
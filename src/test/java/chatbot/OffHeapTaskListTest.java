@@ -0,0 +1,136 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class OffHeapTaskListTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("Read Book ✓"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 1)));
+        tasks.add(new Event("Book club", LocalDateTime.of(2025, 2, 1, 14, 0),
+                LocalDateTime.of(2025, 2, 1, 16, 30)));
+        tasks.add(new DoWithinTask("project", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)));
+        tasks.get(1).markDone();
+        return tasks;
+    }
+
+    @Test
+    public void testRowsRenderLikeTasks() {
+        List<Task> tasks = sampleTasks();
+        OffHeapTaskList list = new OffHeapTaskList(tasks);
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), list.get(i).toString());
+            StringBuilder row = new StringBuilder();
+            list.appendRow(i, row);
+            assertEquals(tasks.get(i).toString(), row.toString());
+        }
+    }
+
+    @Test
+    public void testDescriptionContainsMatchesFind() {
+        List<Task> tasks = sampleTasks();
+        OffHeapTaskList list = new OffHeapTaskList(tasks);
+        for (String keyword : new String[] {"book", "BOOK", "k c", "✓", "", "projects", "ok ✓"}) {
+            String lowerKeyword = keyword.toLowerCase();
+            for (int i = 0; i < tasks.size(); i++) {
+                boolean expected = tasks.get(i).getDescription().toLowerCase().contains(lowerKeyword);
+                assertEquals(expected, list.descriptionContains(i, lowerKeyword), keyword + " in row " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testListAndFindCommandsUseRows() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList onHeap = new TaskList(sampleTasks(), storage);
+        TaskList offHeap = new TaskList(new OffHeapTaskList(sampleTasks()), storage);
+        assertEquals(new ListCommand().execute(onHeap, storage), new ListCommand().execute(offHeap, storage));
+        assertEquals(new FindCommand("BOOK").execute(onHeap, storage),
+                new FindCommand("BOOK").execute(offHeap, storage));
+        assertEquals(new FindCommand("nothing").execute(onHeap, storage),
+                new FindCommand("nothing").execute(offHeap, storage));
+    }
+
+    @Test
+    public void testMappedFileIsLiveListAndSavesBack() {
+        String path = tempDir.resolve("tasks.bin").toString();
+        new BinaryStorage(path).save(sampleTasks());
+
+        BinaryStorage storage = new BinaryStorage(path, BinaryStorage.LoadMode.OFF_HEAP);
+        List<Task> loaded = storage.load();
+        assertTrue(loaded instanceof OffHeapTaskList);
+        TaskList tasks = new TaskList(loaded, storage);
+        tasks.mark(0);
+        tasks.delete(1);
+        tasks.add(new Todo("a much longer description than before"));
+        assertTrue(tasks.get(0).isDone());
+
+        List<Task> reloaded = new BinaryStorage(path).load();
+        assertEquals(tasks.size(), reloaded.size());
+        for (int i = 0; i < reloaded.size(); i++) {
+            assertEquals(tasks.get(i).toString(), reloaded.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testChangesDoNotReachFileUntilSaved() {
+        String path = tempDir.resolve("tasks.bin").toString();
+        new BinaryStorage(path).save(sampleTasks());
+
+        List<Task> loaded = new BinaryStorage(path, BinaryStorage.LoadMode.OFF_HEAP).load();
+        Task task = loaded.get(0);
+        task.markDone();
+        loaded.set(0, task);
+        assertTrue(loaded.get(0).isDone());
+        assertFalse(new BinaryStorage(path).load().get(0).isDone());
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(11);
+        List<Task> expected = new ArrayList<>();
+        OffHeapTaskList actual = new OffHeapTaskList();
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                Task task = new Deadline("task " + i, LocalDate.ofEpochDay(i));
+                if (random.nextBoolean()) {
+                    task.markDone();
+                }
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toString(), actual.remove(index).toString());
+            } else {
+                int index = random.nextInt(expected.size());
+                Task replacement = random.nextBoolean() ? new Todo("replaced " + i) : new Todo("r" + i);
+                expected.set(index, replacement);
+                actual.set(index, replacement);
+            }
+        }
+        OffHeapTaskList snapshot = actual.snapshot();
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+            assertEquals(expected.get(i).toString(), snapshot.get(i).toString());
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package chatbot;
+
+/**
+ * Measures how many inputs {@link Parser#parse(String)} turns into commands per second, over
+ * a mix of every command, a few invalid inputs and unknown text.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=ParserBenchmark}
+ */
+public class ParserBenchmark {
+    private static final String[] INPUTS = {
+        "list", "list /archive", "list /undone /type deadline", "todo read book", "mark 3", "unmark 3",
+        "delete 12", "find book", "find /all team meeting", "bye", "help", "conflicts", "due 2025-02-07",
+        "on Feb 7 2025", "deadline return book /by 2025-02-07", "mark", "hello there", "unmark two",
+        "event party /from 2025-02-07 1800 /to 2025-02-07 2200", "dowithin report /from Feb 1 2025 /to Feb 7 2025",
+    };
+    private static final int REPEATS = 10_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args unused
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        double nanos = BenchmarkRunner.measure("parse " + REPEATS + " x " + INPUTS.length + " inputs", 50, 50, () -> {
+            int exits = 0;
+            for (int i = 0; i < REPEATS; i++) {
+                for (String input : INPUTS) {
+                    exits += Parser.parse(input).isExit() ? 1 : 0;
+                }
+            }
+            return exits;
+        });
+        System.out.printf("throughput: %.2f million inputs/s%n", REPEATS * INPUTS.length / nanos * 1e3);
+    }
+}
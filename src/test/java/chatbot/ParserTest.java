@@ -1,6 +1,7 @@
 package chatbot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -42,6 +43,10 @@ public class ParserTest {
     public void testParseFind() {
         Command cmd = Parser.parse("find meeting");
         assertTrue(cmd instanceof FindCommand);
+        assertTrue(Parser.parse("find /all team meeting") instanceof FindCommand);
+        assertTrue(Parser.parse("find /any -- ") instanceof InvalidCommand);
+        assertTrue(Parser.parse("find ~meetng") instanceof FindCommand);
+        assertTrue(Parser.parse("find ~") instanceof InvalidCommand);
     }
 
     @Test
@@ -63,4 +68,55 @@ public class ParserTest {
         Command cmd = Parser.parse("delete 1");
         assertTrue(cmd instanceof DeleteCommand);
     }
+
+    @Test
+    public void testParseDateQueries() {
+        assertTrue(Parser.parse("due 2025-02-07") instanceof DueCommand);
+        assertTrue(Parser.parse("on Feb 7 2025") instanceof BetweenCommand);
+        assertTrue(Parser.parse("between Feb 1 2025 Feb 7 2025") instanceof BetweenCommand);
+        assertTrue(Parser.parse("between 2025-02-01 2025-02-07") instanceof BetweenCommand);
+        assertTrue(Parser.parse("between 2025-02-07 2025-02-01") instanceof InvalidCommand);
+        assertTrue(Parser.parse("due someday") instanceof InvalidCommand);
+        assertTrue(Parser.parse("conflicts") instanceof ConflictsCommand);
+    }
+
+    @Test
+    public void testParseIgnoresCaseOfCommandWord() {
+        assertTrue(Parser.parse("TODO read book") instanceof TodoCommand);
+        assertTrue(Parser.parse("Mark 1") instanceof MarkCommand);
+        assertTrue(Parser.parse("LIST /undone") instanceof ListCommand);
+        assertTrue(Parser.parse("Bye") instanceof ByeCommand);
+    }
+
+    @Test
+    public void testParseNeedsWholeCommandWord() {
+        assertTrue(Parser.parse("markx 2") instanceof InvalidCommand);
+        assertTrue(Parser.parse("bye now") instanceof InvalidCommand);
+        assertTrue(Parser.parse("listing") instanceof InvalidCommand);
+    }
+
+    @Test
+    public void testParseMarkTaskNumbers() {
+        assertEquals("Oops! Please specify which task to mark. Usage: mark <task number>",
+                Parser.parse("mark").execute(null, null));
+        assertTrue(Parser.parse("mark +2") instanceof MarkCommand);
+        assertTrue(Parser.parse("mark 0") instanceof InvalidCommand);
+        assertTrue(Parser.parse("mark -1") instanceof InvalidCommand);
+        assertTrue(Parser.parse("mark two") instanceof InvalidCommand);
+        assertTrue(Parser.parse("unmark 99999999999") instanceof InvalidCommand);
+        assertTrue(Parser.parse("delete 2147483647") instanceof DeleteCommand);
+    }
+
+    @Test
+    public void testRegisterCommand() {
+        String word = "ParserTestPing";
+        Parser.register(word, arguments -> new InvalidCommand("pong " + arguments));
+        try {
+            assertEquals("pong twice", Parser.parse("  parsertestping   twice ").execute(null, null));
+        } finally {
+            assertTrue(Parser.unregister(word));
+        }
+        assertFalse(Parser.unregister(word));
+        assertTrue(Parser.parse("parsertestping twice").execute(null, null).contains("don't understand"));
+    }
 }
@@ -0,0 +1,99 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+/**
+ * Drives a {@link TaskList} through a random mix of adds, deletes, marks and unmarks, so that
+ * an index can be compared with a linear scan of the list as it changes.
+ *
+ * The lists made by {@link #newTaskList()} are backed by a storage that keeps nothing, so a
+ * long run costs only the index work rather than one durable save per change.
+ */
+public class RandomChanges {
+    /** Number of checks spread over a run, besides the one at the end. */
+    private static final int CHECKS = 20;
+
+    /**
+     * A storage that accepts every change without writing it anywhere.
+     */
+    private static class MemoryStorage extends Storage {
+        MemoryStorage() {
+            super("memory");
+        }
+
+        @Override
+        public List<Task> load() {
+            return new ArrayList<>();
+        }
+
+        @Override
+        public SaveResult save(List<Task> tasks) {
+            return SaveResult.success();
+        }
+
+        @Override
+        public SaveResult saveAdded(List<Task> tasks, Task task) {
+            return SaveResult.success();
+        }
+
+        @Override
+        public SaveResult saveMarked(List<Task> tasks, int index) {
+            return SaveResult.success();
+        }
+
+        @Override
+        public SaveResult saveUnmarked(List<Task> tasks, int index) {
+            return SaveResult.success();
+        }
+
+        @Override
+        public SaveResult saveDeleted(List<Task> tasks, int index) {
+            return SaveResult.success();
+        }
+    }
+
+    /**
+     * Returns an empty list whose changes are not saved.
+     *
+     * @return the list
+     */
+    public static TaskList newTaskList() {
+        return new TaskList(new ArrayList<>(), new MemoryStorage());
+    }
+
+    /**
+     * Applies random changes to a list, running a check {@value #CHECKS} times along the way
+     * and once more at the end. An empty list is always added to.
+     *
+     * @param tasks the list to change
+     * @param random the source of the changes
+     * @param steps the number of changes
+     * @param weights how often to add, delete, mark and unmark a task, in that order
+     * @param newTask makes the task to add at the given step
+     * @param check compares the index with a scan of the list
+     */
+    public static void apply(TaskList tasks, Random random, int steps, int[] weights,
+            IntFunction<Task> newTask, Runnable check) {
+        int total = weights[0] + weights[1] + weights[2] + weights[3];
+        int checkInterval = Math.max(steps / CHECKS, 1);
+        for (int i = 0; i < steps; i++) {
+            int operation = random.nextInt(total);
+            if (operation < weights[0] || tasks.isEmpty()) {
+                tasks.add(newTask.apply(i));
+            } else if (operation < weights[0] + weights[1]) {
+                tasks.delete(random.nextInt(tasks.size()));
+            } else if (operation < weights[0] + weights[1] + weights[2]) {
+                tasks.mark(random.nextInt(tasks.size()));
+            } else {
+                tasks.unmark(random.nextInt(tasks.size()));
+            }
+            if (i % checkInterval == 0) {
+                check.run();
+            }
+        }
+        check.run();
+    }
+}
@@ -0,0 +1,138 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RecordStorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 1)));
+        tasks.add(new Todo("café ✓"));
+        return tasks;
+    }
+
+    @Test
+    public void testMarkPatchesOneByteInPlace() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        RecordStorage storage = new RecordStorage(path.toString());
+        storage.save(sampleTasks());
+        List<Task> tasks = storage.load();
+        byte[] before = Files.readAllBytes(path);
+
+        tasks.get(1).markDone();
+        assertTrue(storage.saveMarked(tasks, 1).isSuccessful());
+        byte[] after = Files.readAllBytes(path);
+        storage.close();
+
+        assertEquals(before.length, after.length);
+        int changed = 0;
+        for (int i = 0; i < before.length; i++) {
+            if (before[i] != after[i]) {
+                changed++;
+            }
+        }
+        assertEquals(1, changed);
+        assertEquals("[D] [X] return book (by: Feb 1 2025)",
+                new BinaryStorage(path.toString()).load().get(1).toString());
+    }
+
+    @Test
+    public void testAddDeleteAndUnmarkSurviveReload() {
+        String path = tempDir.resolve("tasks.bin").toString();
+        RecordStorage storage = new RecordStorage(path);
+        storage.save(sampleTasks());
+        List<Task> tasks = storage.load();
+
+        Task added = new Todo("water plants");
+        tasks.add(added);
+        storage.saveAdded(tasks, added);
+        tasks.remove(0);
+        storage.saveDeleted(tasks, 0);
+        tasks.get(2).markDone();
+        storage.saveMarked(tasks, 2);
+        tasks.get(2).unmarkDone();
+        storage.saveUnmarked(tasks, 2);
+        tasks.get(0).markDone();
+        storage.saveMarked(tasks, 0);
+        assertEquals(1, storage.getTombstoneCount());
+        storage.close();
+
+        for (List<Task> loaded : List.of(new RecordStorage(path).load(), new BinaryStorage(path).load(),
+                new BinaryStorage(path, true).load())) {
+            assertEquals(tasks.size(), loaded.size());
+            for (int i = 0; i < tasks.size(); i++) {
+                assertEquals(tasks.get(i).toString(), loaded.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testByeDoesNotRewriteFile() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        RecordStorage storage = new RecordStorage(path.toString());
+        storage.save(sampleTasks());
+        TaskList tasks = new TaskList(storage.load(), storage);
+        tasks.delete(0);
+        tasks.mark(0);
+        byte[] before = Files.readAllBytes(path);
+
+        Parser.parse("bye").execute(tasks, storage);
+
+        assertEquals(1, storage.getTombstoneCount());
+        assertArrayEquals(before, Files.readAllBytes(path));
+        List<Task> loaded = new RecordStorage(path.toString()).load();
+        assertEquals("[D] [X] return book (by: Feb 1 2025)", loaded.get(0).toString());
+    }
+
+    @Test
+    public void testTombstonesAreCompacted() throws IOException {
+        Path path = tempDir.resolve("tasks.bin");
+        RecordStorage storage = new RecordStorage(path.toString(), 2);
+        storage.save(sampleTasks());
+        List<Task> tasks = storage.load();
+        long fullSize = Files.size(path);
+
+        tasks.remove(0);
+        storage.saveDeleted(tasks, 0);
+        assertEquals(fullSize, Files.size(path));
+        tasks.remove(0);
+        storage.saveDeleted(tasks, 0);
+        storage.close();
+
+        assertEquals(0, storage.getTombstoneCount());
+        assertTrue(Files.size(path) < fullSize);
+        assertEquals("[T] [ ] café ✓", new RecordStorage(path.toString()).load().get(0).toString());
+    }
+
+    @Test
+    public void testFirstAddCreatesFile() {
+        String path = tempDir.resolve("new.bin").toString();
+        RecordStorage storage = new RecordStorage(path);
+        List<Task> tasks = storage.load();
+        Task task = new Todo("first");
+        tasks.add(task);
+        assertTrue(storage.saveAdded(tasks, task).isSuccessful());
+        Task second = new Todo("second");
+        tasks.add(second);
+        assertTrue(storage.saveAdded(tasks, second).isSuccessful());
+        storage.close();
+
+        assertEquals(2, new RecordStorage(path).load().size());
+    }
+}
@@ -0,0 +1,67 @@
+package chatbot;
+
+import java.io.File;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Measures the checksum scan that runs on every binary load, in MB/s of mapped file,
+ * and compares it with walking the same records without checking them.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=RecoveryScanBenchmark [-PbenchArgs=<task count>]}
+ */
+public class RecoveryScanBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int WARMUP = 5;
+    private static final int ITERATIONS = 20;
+    private static final double NANOS_PER_SECOND = 1e9;
+    private static final double BYTES_PER_MB = 1 << 20;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks in the scanned file
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new Todo("task number " + i + " with a reasonably long description"));
+        }
+        Path directory = Files.createTempDirectory("scan-bench");
+        File file = directory.resolve("tasks.bin").toFile();
+        BinaryStorage storage = new BinaryStorage(file.getPath());
+        storage.setDurable(false);
+        storage.save(tasks);
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        double megabytes = buffer.limit() / BYTES_PER_MB;
+        System.out.printf("Scanning %d records (%.1f MB)%n", taskCount, megabytes);
+
+        BinaryTaskCodec codec = new BinaryTaskCodec();
+        long[] visited = new long[1];
+        double walkNanos = BenchmarkRunner.measure("walk record sizes only", WARMUP, ITERATIONS, () -> {
+            int offset = BinaryTaskCodec.HEADER_SIZE;
+            for (int i = 0; i < taskCount; i++) {
+                offset += BinaryTaskCodec.recordSize(buffer, offset);
+            }
+            return offset;
+        });
+        double scanNanos = BenchmarkRunner.measure("checksum scan", WARMUP, ITERATIONS,
+            () -> codec.scan(buffer, (offset, size) -> visited[0]++));
+        System.out.printf("walk: %.0f MB/s, checksum scan: %.0f MB/s%n",
+                megabytes * NANOS_PER_SECOND / walkNanos, megabytes * NANOS_PER_SECOND / scanNanos);
+
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(directory);
+    }
+}
@@ -0,0 +1,141 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+public class StorageDateCodecTest {
+    // The formatters the storage layouts were defined by
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ISO_LOCAL_DATE;
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HHmm");
+
+    @Test
+    public void testRoundTrip() {
+        LocalDate date = LocalDate.of(2025, 2, 20);
+        LocalDateTime dateTime = LocalDateTime.of(2025, 2, 20, 9, 5);
+        String dateText = StorageDateCodec.appendDate(new StringBuilder(), date).toString();
+        String dateTimeText = StorageDateCodec.appendDateTime(new StringBuilder(), dateTime).toString();
+
+        assertEquals("2025-02-20", dateText);
+        assertEquals("2025-02-20T0905", dateTimeText);
+        assertEquals(date, StorageDateCodec.parseDate(dateText));
+        assertEquals(dateTime, StorageDateCodec.parseDateTime(dateTimeText));
+    }
+
+    @Test
+    public void testAppendNothingForNull() {
+        assertEquals("x", StorageDateCodec.appendDate(new StringBuilder("x"), null).toString());
+        assertEquals("x", StorageDateCodec.appendDateTime(new StringBuilder("x"), null).toString());
+    }
+
+    @Test
+    public void testParseInvalid() {
+        assertNull(StorageDateCodec.parseDate(null));
+        assertNull(StorageDateCodec.parseDate("   "));
+        assertNull(StorageDateCodec.parseDate("2025-02-29"));
+        assertNull(StorageDateCodec.parseDateTime("2025-02-20 1400"));
+        assertNull(StorageDateCodec.parseDateTime("2025-02-20T2401"));
+    }
+
+    @Test
+    public void testParseDateTimeResolvesLikeFormatter() {
+        // Days past the end of the month and 2400 are resolved, not rejected
+        assertEquals(LocalDateTime.of(2025, 2, 28, 12, 0), StorageDateCodec.parseDateTime("2025-02-31T1200"));
+        assertEquals(LocalDateTime.of(2026, 1, 1, 0, 0), StorageDateCodec.parseDateTime("2025-12-31T2400"));
+    }
+
+    @Test
+    public void testFormatMatchesFormatters() {
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(randomEpochDay(random));
+            LocalDateTime dateTime = date.atTime(random.nextInt(24), random.nextInt(60), random.nextInt(60));
+            assertEquals(date.format(DATE_FORMATTER),
+                    StorageDateCodec.appendDate(new StringBuilder(), date).toString());
+            assertEquals(dateTime.format(DATE_TIME_FORMATTER),
+                    StorageDateCodec.appendDateTime(new StringBuilder(), dateTime).toString());
+        }
+        assertEquals(LocalDate.MIN.format(DATE_FORMATTER),
+                StorageDateCodec.appendDate(new StringBuilder(), LocalDate.MIN).toString());
+        assertEquals(LocalDateTime.MAX.format(DATE_TIME_FORMATTER),
+                StorageDateCodec.appendDateTime(new StringBuilder(), LocalDateTime.MAX).toString());
+    }
+
+    @Test
+    public void testParseMatchesFormatters() {
+        String[] inputs = {
+            "2025-02-20", " 2025-02-20 ", "2024-02-29", "0000-01-01", "-0001-01-01", "-0000-01-01", "+2025-01-01",
+            "+12025-01-01", "12025-01-01", "+0999999999-01-01", "+1000000000-01-01", "+99999999999-01-01",
+            "2025-1-20", "2025-02-2", "2025/02/20", "2025-00-10", "2025-13-10", "2025-02-00", "2025-02-32",
+            "2025-02-20T1400", "2025-02-20T0000", "2025-02-20T2359", "2025-02-20T2400", "2025-02-20T2360",
+            "2025-02-30T1200", "2025-04-31T2400", "0000-01-01T0000", "0001-01-01T0000", "-2025-01-01T0000",
+            "+12025-01-01T0000", "+999999999-12-31T2400", "+1000000000-01-01T0000", "2025-02-20t1400",
+            "2025-02-20T14:00", "2025-02-20T140", "2025-02-20T14000", "", "-", "+", "2025", "\t2025-02-20T1400\n",
+        };
+        for (String input : inputs) {
+            assertSameAsFormatters(input);
+        }
+
+        // Valid dates with one character changed, dropped or doubled
+        String alphabet = "0123456789-+T: x";
+        Random random = new Random(11);
+        for (int i = 0; i < 20_000; i++) {
+            LocalDateTime dateTime = LocalDate.ofEpochDay(randomEpochDay(random)).atTime(random.nextInt(24),
+                    random.nextInt(60));
+            StringBuilder input = new StringBuilder(random.nextBoolean()
+                    ? dateTime.format(DATE_TIME_FORMATTER) : dateTime.toLocalDate().format(DATE_FORMATTER));
+            int at = random.nextInt(input.length());
+            int change = random.nextInt(4);
+            if (change == 0) {
+                input.setCharAt(at, alphabet.charAt(random.nextInt(alphabet.length())));
+            } else if (change == 1) {
+                input.deleteCharAt(at);
+            } else if (change == 2) {
+                input.insert(at, input.charAt(at));
+            }
+            assertSameAsFormatters(input.toString());
+        }
+    }
+
+    /** Returns an epoch day mostly around today, but sometimes far away in either direction. */
+    private static long randomEpochDay(Random random) {
+        long maxDay = LocalDate.MAX.toEpochDay();
+        long minDay = LocalDate.MIN.toEpochDay();
+        switch (random.nextInt(4)) {
+        case 0:
+            return minDay + (long) (random.nextDouble() * (maxDay - minDay));
+        case 1:
+            return random.nextInt(2_000_000) - 1_500_000;
+        default:
+            return 20_000 + random.nextInt(4000);
+        }
+    }
+
+    private static void assertSameAsFormatters(String input) {
+        assertEquals(parseDateWithFormatter(input), StorageDateCodec.parseDate(input), input);
+        assertEquals(parseDateTimeWithFormatter(input), StorageDateCodec.parseDateTime(input), input);
+    }
+
+    private static LocalDate parseDateWithFormatter(String input) {
+        try {
+            return LocalDate.parse(input.trim(), DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime parseDateTimeWithFormatter(String input) {
+        try {
+            return LocalDateTime.parse(input.trim(), DATE_TIME_FORMATTER);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package chatbot;
+
+/**
+ * Compares the per-line cost of splitting storage lines with {@code String.split} against
+ * {@link StorageLineTokenizer}, and the cost of parsing a whole line into a task.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=StorageLineTokenizerBenchmark}
+ */
+public class StorageLineTokenizerBenchmark {
+    private static final int WARMUP = 2_000_000;
+    private static final int ITERATIONS = 5_000_000;
+    private static final String[] LINES = {
+        "T | 0 | read book",
+        "D | 1 | return book to the library | 2025-02-01",
+        "E | 0 | project meeting with the team | 2025-02-01T1400 | 2025-02-01T1600",
+        "P | 0 | finish the quarterly report | 2025-02-01 | 2025-02-28",
+    };
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args not used
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        StorageLineTokenizer tokenizer = new StorageLineTokenizer();
+        int[] counter = new int[1];
+
+        BenchmarkRunner.measure("String.split(\" \\\\| \")", WARMUP, ITERATIONS,
+            () -> LINES[counter[0]++ & 3].split(" \\| ").length);
+        BenchmarkRunner.measure("StorageLineTokenizer.tokenize", WARMUP, ITERATIONS,
+            () -> tokenizer.tokenize(LINES[counter[0]++ & 3]));
+
+        Storage storage = new Storage("unused.txt");
+        BenchmarkRunner.measure("Storage.parseTask (whole line)", WARMUP, ITERATIONS,
+            () -> storage.parseTask(LINES[counter[0]++ & 3]));
+    }
+}
@@ -0,0 +1,44 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class StorageLineTokenizerTest {
+
+    @Test
+    public void testTokenizeSplitsAtDelimiter() {
+        StorageLineTokenizer tokenizer = new StorageLineTokenizer();
+        assertEquals(4, tokenizer.tokenize("D | 1 | return book | 2025-02-01"));
+        assertTrue(tokenizer.fieldIs(0, 'D'));
+        assertTrue(tokenizer.fieldIs(1, '1'));
+        assertEquals("return book", tokenizer.fieldAsString(2));
+        assertEquals("2025-02-01", tokenizer.fieldAsString(3));
+        assertFalse(tokenizer.fieldIs(4, 'x'));
+    }
+
+    @Test
+    public void testPipeWithoutSpacesIsNotADelimiter() {
+        StorageLineTokenizer tokenizer = new StorageLineTokenizer();
+        assertEquals(3, tokenizer.tokenize("T | 0 | a|b"));
+        assertEquals("a|b", tokenizer.fieldAsString(2));
+    }
+
+    @Test
+    public void testEscapedDelimiterRoundTrip() {
+        String description = "pros | cons \\ notes";
+        String line = StorageLineTokenizer.appendEscaped(new StringBuilder("T | 0 | "), description).toString();
+        StorageLineTokenizer tokenizer = new StorageLineTokenizer();
+        assertEquals(3, tokenizer.tokenize(line));
+        assertEquals(description, tokenizer.fieldAsString(2));
+    }
+
+    @Test
+    public void testUnknownEscapeIsKept() {
+        StorageLineTokenizer tokenizer = new StorageLineTokenizer();
+        tokenizer.tokenize("T | 0 | C:\\temp");
+        assertEquals("C:\\temp", tokenizer.fieldAsString(2));
+    }
+}
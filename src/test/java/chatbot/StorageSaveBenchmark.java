@@ -0,0 +1,65 @@
+package chatbot;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares the cost of a full save through the old in-place {@code FileWriter} path with the
+ * atomic save, with and without forcing the data to disk.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=StorageSaveBenchmark [-PbenchArgs=<task count>]}
+ */
+public class StorageSaveBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 10_000;
+    private static final int WARMUP = 20;
+    private static final int ITERATIONS = 50;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks in the saved list
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < taskCount; i++) {
+            tasks.add(new Todo("task number " + i));
+        }
+
+        Path directory = Files.createTempDirectory("storage-bench");
+        File file = directory.resolve("tasks.txt").toFile();
+        Storage storage = new Storage(file.getPath());
+        System.out.println("Saving " + taskCount + " tasks");
+
+        BenchmarkRunner.measure("in-place FileWriter (previous)", WARMUP, ITERATIONS,
+            () -> saveInPlace(storage, file, tasks));
+
+        storage.setDurable(false);
+        BenchmarkRunner.measure("atomic rename, no fsync", WARMUP, ITERATIONS, () -> storage.save(tasks));
+
+        storage.setDurable(true);
+        BenchmarkRunner.measure("atomic rename + fsync", WARMUP, ITERATIONS, () -> storage.save(tasks));
+
+        Files.deleteIfExists(file.toPath());
+        Files.deleteIfExists(directory);
+    }
+
+    /**
+     * Reproduces the save path used before saves became atomic.
+     */
+    private static File saveInPlace(Storage storage, File file, List<Task> tasks) throws IOException {
+        try (FileWriter writer = new FileWriter(file)) {
+            for (Task task : tasks) {
+                writer.write(storage.formatTask(task));
+                writer.write(System.lineSeparator());
+            }
+        }
+        return file;
+    }
+}
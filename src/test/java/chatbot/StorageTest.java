@@ -0,0 +1,154 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class StorageTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testSaveReplacesFileAndLeavesNoTempFiles() throws IOException {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+        assertTrue(storage.save(tasks).isSuccessful());
+        tasks.add(new Todo("write essay"));
+        assertTrue(storage.save(tasks).isSuccessful());
+
+        assertEquals(2, new Storage(path).load().size());
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    public void testSaveKeepsFilePermissions() throws IOException {
+        Path path = tempDir.resolve("tasks.txt");
+        if (!path.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            return;
+        }
+        Storage storage = new Storage(path.toString());
+        List<Task> tasks = new ArrayList<>(List.of(new Todo("read book")));
+        assertTrue(storage.save(tasks).isSuccessful());
+        assertTrue(Files.getPosixFilePermissions(path).contains(PosixFilePermission.OWNER_WRITE));
+
+        Set<PosixFilePermission> shared = PosixFilePermissions.fromString("rw-r-----");
+        Files.setPosixFilePermissions(path, shared);
+        assertTrue(storage.save(tasks).isSuccessful());
+        assertEquals(shared, Files.getPosixFilePermissions(path));
+    }
+
+    @Test
+    public void testSaveReportsFailure() throws IOException {
+        Path directory = tempDir.resolve("tasks.txt");
+        Files.createDirectory(directory);
+        Files.createFile(directory.resolve("keep"));
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book"));
+
+        SaveResult result = new Storage(directory.toString()).save(tasks);
+        assertFalse(result.isSuccessful());
+        assertTrue(new File(directory.toFile(), "keep").exists());
+    }
+
+    @Test
+    public void testCommandSurfacesSaveFailure() throws IOException {
+        Path directory = tempDir.resolve("tasks.txt");
+        Files.createDirectory(directory);
+        Files.createFile(directory.resolve("keep"));
+
+        Storage storage = new Storage(directory.toString());
+        String response = new TodoCommand("read book").execute(new TaskList(new ArrayList<>(), storage), storage);
+        assertTrue(response.contains("could not be saved"));
+    }
+
+    @Test
+    public void testParallelLoadMatchesSequentialLoad() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 60_000; i++) {
+            Task task = i % 2 == 0
+                    ? new Todo("task " + i)
+                    : new Deadline("deadline " + i, LocalDate.of(2025, 1, 1).plusDays(i % 365));
+            if (i % 3 == 0) {
+                task.markDone();
+            }
+            tasks.add(task);
+        }
+        new Storage(path).save(tasks);
+
+        Storage sequential = new Storage(path);
+        sequential.setParallelLoadThreshold(Long.MAX_VALUE);
+        Storage parallel = new Storage(path);
+        parallel.setParallelLoadThreshold(0);
+        List<Task> expected = sequential.load();
+        List<Task> actual = parallel.load();
+
+        assertEquals(tasks.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testUnreadableFileIsReportedAndNotOverwritten() throws IOException {
+        Path directory = tempDir.resolve("tasks.txt");
+        Files.createDirectory(directory);
+        List<Task> tasks = List.of(new Todo("read book"));
+
+        for (long threshold : new long[] {Long.MAX_VALUE, 0}) {
+            Storage storage = new Storage(directory.toString());
+            storage.setParallelLoadThreshold(threshold);
+            assertTrue(storage.load().isEmpty());
+            assertTrue(storage.getLoadReport().hasLostRecords());
+            assertTrue(storage.getLoadReport().isReadOnly());
+
+            SaveResult result = storage.save(tasks);
+            assertFalse(result.isSuccessful());
+            assertTrue(result.getErrorMessage().contains("left untouched"));
+            assertTrue(Files.isDirectory(directory));
+        }
+    }
+
+    @Test
+    public void testDescriptionWithDelimiterSurvivesSave() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Deadline("pros | cons", LocalDate.of(2025, 2, 1)));
+        new Storage(path).save(tasks);
+
+        List<Task> loaded = new Storage(path).load();
+        assertEquals(1, loaded.size());
+        assertEquals("pros | cons", loaded.get(0).getDescription());
+    }
+
+    @Test
+    public void testMalformedLinesAreReported() throws IOException {
+        Path path = tempDir.resolve("tasks.txt");
+        Files.write(path, List.of("T | 0 | read book", "X | broken", "D | 0 | no date", "T | 1 | done"));
+
+        Storage storage = new Storage(path.toString());
+        assertEquals(2, storage.load().size());
+        assertEquals(2, storage.getLoadReport().getLostCount());
+        assertEquals(2, storage.getLoadReport().getLoadedCount());
+    }
+}
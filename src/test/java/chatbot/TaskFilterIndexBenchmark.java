@@ -0,0 +1,60 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Compares finding the undone deadlines by checking every task with finding them from the
+ * bitmaps of a {@link TaskFilterIndex}.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=TaskFilterIndexBenchmark [-PbenchArgs=<task count>]}
+ */
+public class TaskFilterIndexBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    /** One task in this many is a deadline. */
+    private static final int DEADLINE_EVERY = 50;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Storage storage = new Storage("unused.txt");
+        List<Task> list = new ArrayList<>(taskCount);
+        LocalDate day = LocalDate.of(2025, 1, 1);
+        for (int i = 0; i < taskCount; i++) {
+            Task task = i % DEADLINE_EVERY == 0 ? new Deadline("deadline " + i, day) : new Todo("todo " + i);
+            if (i % 3 != 0) {
+                task.markDone();
+            }
+            list.add(task);
+        }
+        TaskList tasks = new TaskList(list, storage);
+
+        long start = System.nanoTime();
+        tasks.getFilterIndex();
+        System.out.printf("index build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        Set<TaskType> deadlines = EnumSet.of(TaskType.DEADLINE);
+        BenchmarkRunner.measure("undone deadlines, scan", 3, 10, () -> scan(tasks));
+        BenchmarkRunner.measure("undone deadlines, bitmaps", 500, 200,
+                () -> tasks.getFilterIndex().find(TaskFilterIndex.Status.UNDONE, deadlines).size());
+    }
+
+    private static int scan(TaskList tasks) {
+        int count = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            Task task = tasks.get(i);
+            if (task instanceof Deadline && !task.isDone()) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
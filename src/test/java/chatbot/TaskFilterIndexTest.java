@@ -0,0 +1,95 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskFilterIndexTest {
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testListFilters() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.add(new Todo("read book"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 3)));
+        tasks.add(new Deadline("pay rent", LocalDate.of(2025, 2, 1)));
+        tasks.add(new Event("trip", LocalDateTime.of(2025, 2, 1, 9, 0), LocalDateTime.of(2025, 2, 4, 18, 0)));
+        tasks.mark(2);
+
+        assertEquals("Here are the tasks matching your filters:\n"
+                + "2. [D] [ ] return book (by: Feb 3 2025)",
+                Parser.parse("list /undone /type deadline").execute(tasks, storage));
+        assertEquals("Here are the tasks matching your filters:\n"
+                + "2. [D] [ ] return book (by: Feb 3 2025)\n"
+                + "3. [D] [X] pay rent (by: Feb 1 2025)\n"
+                + "4. [E] [ ] trip (from: Feb 1 2025 0900 to: Feb 4 2025 1800)",
+                Parser.parse("list /type event /type deadline /type event").execute(tasks, storage));
+        assertEquals("No tasks match those filters.", Parser.parse("list /done /type todo").execute(tasks, storage));
+
+        tasks.delete(0);
+        tasks.unmark(1);
+        assertEquals("Here are the tasks matching your filters:\n"
+                + "1. [D] [ ] return book (by: Feb 3 2025)\n"
+                + "2. [D] [ ] pay rent (by: Feb 1 2025)\n"
+                + "3. [E] [ ] trip (from: Feb 1 2025 0900 to: Feb 4 2025 1800)",
+                Parser.parse("list /undone").execute(tasks, storage));
+        assertTrue(Parser.parse("list /type chores") instanceof InvalidCommand);
+    }
+
+    @Test
+    public void testIndexMatchesLinearScanAfterRandomChanges() {
+        TaskList tasks = RandomChanges.newTaskList();
+        TaskFilterIndex index = tasks.getFilterIndex();
+        Random random = new Random(37);
+        RandomChanges.apply(tasks, random, 5_000, new int[] {5, 2, 2, 1},
+                i -> randomTask(random, i),
+                () -> assertMatchesScan(tasks, index, random));
+    }
+
+    private static void assertMatchesScan(TaskList tasks, TaskFilterIndex index, Random random) {
+        for (TaskFilterIndex.Status status : TaskFilterIndex.Status.values()) {
+            Set<TaskType> types = EnumSet.noneOf(TaskType.class);
+            for (TaskType type : TaskType.values()) {
+                if (random.nextBoolean()) {
+                    types.add(type);
+                }
+            }
+            List<Integer> expected = IntStream.range(0, tasks.size())
+                    .filter(i -> types.isEmpty() || types.contains(TaskType.of(tasks.get(i))))
+                    .filter(i -> status == TaskFilterIndex.Status.ANY
+                            || tasks.get(i).isDone() == (status == TaskFilterIndex.Status.DONE))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.find(status, types));
+        }
+    }
+
+    private static Task randomTask(Random random, int i) {
+        LocalDate day = LocalDate.of(2025, 1, 1).plusDays(random.nextInt(365));
+        switch (random.nextInt(4)) {
+        case 0:
+            return new Todo("todo " + i);
+        case 1:
+            return new Deadline("deadline " + i, day);
+        case 2:
+            return new Event("event " + i, day.atTime(9, 0), day.atTime(10, 0));
+        default:
+            return new DoWithinTask("period " + i, day, day.plusDays(3));
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskListTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMutationsAreSavedAndReported() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        List<String> events = new ArrayList<>();
+        tasks.addListener(new TaskListListener() {
+            @Override
+            public void taskAdded(int index, Task task) {
+                events.add("added " + index + " " + task.getDescription());
+            }
+
+            @Override
+            public void taskUpdated(int index, Task task) {
+                events.add("updated " + index + " " + task.isDone());
+            }
+
+            @Override
+            public void taskRemoved(int index, Task task) {
+                events.add("removed " + index + " " + task.getDescription());
+            }
+        });
+
+        assertTrue(tasks.add(new Todo("a")).isSuccessful());
+        tasks.add(new Todo("b"));
+        tasks.mark(1);
+        tasks.unmark(1);
+        tasks.mark(0);
+        tasks.delete(0);
+
+        assertEquals(List.of("added 0 a", "added 1 b", "updated 1 true", "updated 1 false",
+                "updated 0 true", "removed 0 a"), events);
+        List<Task> loaded = new Storage(path).load();
+        assertEquals(1, loaded.size());
+        assertEquals("[T] [ ] b", loaded.get(0).toString());
+    }
+
+    @Test
+    public void testBulkOperations() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.addAll(List.of(new Todo("keep 1"), new Todo("drop 1"), new Todo("keep 2"), new Todo("drop 2")));
+        tasks.deleteIf(task -> task.getDescription().startsWith("drop"));
+
+        assertEquals(2, tasks.size());
+        assertEquals("[T] [ ] keep 2", tasks.get(1).toString());
+        assertEquals(2, new Storage(path).load().size());
+    }
+
+    @Test
+    public void testBatchIsSavedOnceOnCommit() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        TaskList tasks = new TaskList(new ArrayList<>(), new Storage(path));
+        tasks.add(new Todo("before"));
+
+        tasks.beginBatch();
+        tasks.add(new Todo("a"));
+        tasks.mark(1);
+        tasks.delete(0);
+        assertTrue(tasks.isInBatch());
+        assertEquals(1, new Storage(path).load().size());
+        assertEquals("[T] [ ] before", new Storage(path).load().get(0).toString());
+
+        assertTrue(tasks.commitBatch().isSuccessful());
+        assertFalse(tasks.isInBatch());
+        List<Task> loaded = new Storage(path).load();
+        assertEquals(1, loaded.size());
+        assertEquals("[T] [X] a", loaded.get(0).toString());
+    }
+
+    @Test
+    public void testRollbackRestoresListAndIndexes() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        TaskList tasks = new TaskList(new ArrayList<>(), new Storage(path));
+        tasks.addAll(List.of(new Todo("read book"), new Todo("return book"), new Todo("buy milk")));
+        tasks.mark(2);
+        KeywordIndex keywords = tasks.getKeywordIndex();
+        TaskFilterIndex filters = tasks.getFilterIndex();
+
+        tasks.beginBatch();
+        tasks.delete(0);
+        tasks.unmark(1);
+        tasks.add(new Todo("book flight"));
+        tasks.mark(0);
+        tasks.deleteIf(task -> task.getDescription().startsWith("buy"));
+        tasks.rollbackBatch();
+
+        assertFalse(tasks.isInBatch());
+        assertEquals(List.of("[T] [ ] read book", "[T] [ ] return book", "[T] [X] buy milk"),
+                tasks.stream().map(Task::toString).collect(Collectors.toList()));
+        assertEquals(List.of(0, 1), keywords.findAll(List.of("book")));
+        assertEquals(List.of(2), filters.find(TaskFilterIndex.Status.DONE, Set.of()));
+        assertEquals(3, new Storage(path).load().size());
+    }
+
+    @Test
+    public void testRollbackRebuildsIndexesOnce() {
+        TaskList tasks = RandomChanges.newTaskList();
+        for (int i = 0; i < 100; i++) {
+            tasks.add(new Todo("task " + i));
+        }
+        KeywordIndex keywords = tasks.getKeywordIndex();
+        int[] events = new int[2];
+        tasks.addIndex(new TaskIndex() {
+            @Override
+            public void taskAdded(int id, Task task) {
+                events[0]++;
+            }
+
+            @Override
+            public void taskUpdated(int id, Task task) {
+            }
+
+            @Override
+            public void taskRemoved(int id, Task task) {
+            }
+
+            @Override
+            public void clear() {
+                events[1]++;
+            }
+        });
+
+        tasks.beginBatch();
+        for (int i = 0; i < 50; i++) {
+            tasks.delete(0);
+        }
+        tasks.rollbackBatch();
+
+        assertEquals(200, events[0]);
+        assertEquals(1, events[1]);
+        assertEquals(List.of(0), keywords.findAll(List.of("0")));
+        assertEquals(List.of(99), keywords.findAll(List.of("99")));
+    }
+
+    @Test
+    public void testViewIsReadOnly() {
+        TaskList tasks = new TaskList(new ArrayList<>(), new Storage(tempDir.resolve("t.txt").toString()));
+        assertThrows(UnsupportedOperationException.class, () -> tasks.asList().add(new Todo("x")));
+    }
+}
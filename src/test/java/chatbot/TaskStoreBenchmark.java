@@ -0,0 +1,90 @@
+package chatbot;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntFunction;
+
+/**
+ * Compares the heap used per task by a list of {@link Task} objects and by a
+ * {@link TaskStore}, and the cost of counting overdue deadlines in each. Also times
+ * deleting and re-adding rows near the front of the store.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=TaskStoreBenchmark [-PbenchArgs=<task count>]}
+ */
+public class TaskStoreBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final int TASK_TYPES = 3;
+    private static final int EDITS = 1_000;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        LocalDate start = LocalDate.of(2025, 1, 1);
+        IntFunction<Task> taskAt = i -> {
+            String description = "task " + i;
+            switch (i % TASK_TYPES) {
+            case 0:
+                return new Deadline(description, start.plusDays(i % 365));
+            case 1:
+                LocalDateTime from = start.atStartOfDay().plusMinutes(i);
+                return new Event(description, from, from.plusHours(1));
+            default:
+                return new DoWithinTask(description, start, start.plusDays(i % 365));
+            }
+        };
+
+        long before = usedHeap();
+        List<Task> objects = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            objects.add(taskAt.apply(i));
+        }
+        long objectBytes = usedHeap() - before;
+
+        before = usedHeap();
+        TaskStore store = new TaskStore();
+        for (int i = 0; i < taskCount; i++) {
+            store.add(taskAt.apply(i));
+        }
+        long storeBytes = usedHeap() - before;
+
+        System.out.printf("Task objects: %.1f bytes/task%n", (double) objectBytes / taskCount);
+        System.out.printf("TaskStore:    %.1f bytes/task%n", (double) storeBytes / taskCount);
+
+        long today = start.plusDays(180).toEpochDay();
+        LocalDate todayDate = LocalDate.ofEpochDay(today);
+        BenchmarkRunner.measure("overdue deadlines, Task objects", 5, 20, () -> objects.stream()
+                .filter(task -> task instanceof Deadline && ((Deadline) task).getBy().isBefore(todayDate))
+                .count());
+        BenchmarkRunner.measure("overdue deadlines, TaskStore columns", 5, 20, () -> {
+            int count = 0;
+            for (int i = 0; i < store.size(); i++) {
+                if (store.getType(i) == TaskStore.TYPE_DEADLINE && store.getFirstDate(i) < today) {
+                    count++;
+                }
+            }
+            return count;
+        });
+        BenchmarkRunner.measure("delete and re-add " + EDITS + " rows, TaskStore", 5, 20, () -> {
+            for (int i = 0; i < EDITS; i++) {
+                store.add(i, store.remove(i));
+            }
+            return store.size();
+        });
+    }
+
+    private static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
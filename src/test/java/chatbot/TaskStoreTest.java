@@ -0,0 +1,148 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TaskStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private List<Task> sampleTasks() {
+        List<Task> tasks = new ArrayList<>();
+        tasks.add(new Todo("read book ✓"));
+        tasks.add(new Deadline("return book", LocalDate.of(2025, 2, 1)));
+        tasks.add(new Event("meeting", LocalDateTime.of(2025, 2, 1, 14, 0),
+                LocalDateTime.of(2025, 2, 1, 16, 30)));
+        tasks.add(new DoWithinTask("project", LocalDate.of(2025, 2, 1), LocalDate.of(2025, 2, 28)));
+        tasks.get(1).markDone();
+        return tasks;
+    }
+
+    @Test
+    public void testRowsRoundTrip() {
+        List<Task> tasks = sampleTasks();
+        TaskStore store = new TaskStore(tasks);
+        assertEquals(tasks.size(), store.size());
+        for (int i = 0; i < tasks.size(); i++) {
+            assertEquals(tasks.get(i).toString(), store.get(i).toString());
+        }
+        assertEquals(TaskStore.TYPE_DEADLINE, store.getType(1));
+        assertTrue(store.isDone(1));
+        assertEquals(LocalDate.of(2025, 2, 1).toEpochDay(), store.getFirstDate(1));
+        assertEquals("read book ✓", store.getDescription(0));
+    }
+
+    @Test
+    public void testDatesFarInTheFutureRoundTrip() {
+        Event event = new Event("far", LocalDateTime.of(9999, 1, 1, 14, 0), LocalDateTime.of(9999, 1, 2, 14, 0));
+        TaskStore store = new TaskStore(List.of(event));
+        store.add(new DoWithinTask("later", LocalDate.of(9999, 1, 1), LocalDate.of(9999, 12, 31)));
+        assertEquals(event.toString(), store.get(0).toString());
+        assertEquals("[P] [ ] later (within: Jan 1 9999 to Dec 31 9999)", store.get(1).toString());
+    }
+
+    @Test
+    public void testRowsRenderAndMatchLikeTasks() {
+        List<Task> tasks = sampleTasks();
+        tasks.add(new Todo("Read Book again"));
+        tasks.add(new Todo(new String("return book")));
+        TaskStore store = new TaskStore(tasks);
+        assertEquals(store.getDescriptionHandle(1), store.getDescriptionHandle(5));
+        for (int i = 0; i < tasks.size(); i++) {
+            StringBuilder row = new StringBuilder();
+            store.appendRow(i, row);
+            assertEquals(tasks.get(i).toString(), row.toString());
+            for (String keyword : new String[] {"book", "read", "✓", "ok a", "feb"}) {
+                assertEquals(tasks.get(i).getDescription().toLowerCase().contains(keyword),
+                        store.descriptionContains(i, keyword));
+            }
+        }
+
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        assertEquals(new FindCommand("BOOK").execute(new TaskList(tasks, storage), storage),
+                new FindCommand("BOOK").execute(new TaskList(store, storage), storage));
+    }
+
+    @Test
+    public void testTasksAreTransientUntilWrittenBack() {
+        TaskStore store = new TaskStore(sampleTasks());
+        store.get(0).markDone();
+        assertFalse(store.isDone(0));
+
+        TaskList tasks = new TaskList(store, new Storage(tempDir.resolve("tasks.txt").toString()));
+        tasks.mark(0);
+        tasks.unmark(1);
+        assertTrue(store.isDone(0));
+        assertFalse(store.isDone(1));
+    }
+
+    @Test
+    public void testRowsSpanningManyChunks() {
+        List<Task> expected = new ArrayList<>();
+        for (int i = 0; i < 3_000; i++) {
+            expected.add(new Deadline("task " + i, LocalDate.ofEpochDay(i)));
+        }
+        TaskStore store = new TaskStore(expected);
+        for (int i = 0; i < 1_000; i++) {
+            expected.remove(0);
+            store.remove(0);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            Task task = new Todo("inserted " + i);
+            expected.add(1_000, task);
+            store.add(1_000, task);
+        }
+        for (int i = 0; i < expected.size(); i += 7) {
+            expected.get(i).markDone();
+            store.setDone(i, true);
+        }
+        assertEquals(expected.size(), store.size());
+        for (int i = expected.size() - 1; i >= 0; i--) {
+            assertEquals(expected.get(i).toString(), store.get(i).toString());
+            assertEquals(expected.get(i).isDone(), store.isDone(i));
+        }
+    }
+
+    @Test
+    public void testRandomOperationsMatchArrayList() {
+        Random random = new Random(7);
+        List<Task> expected = new ArrayList<>();
+        TaskStore actual = new TaskStore();
+        for (int i = 0; i < 5_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 5 || expected.isEmpty()) {
+                Task task = new Deadline("task " + i, LocalDate.ofEpochDay(i));
+                if (random.nextBoolean()) {
+                    task.markDone();
+                }
+                int index = random.nextInt(expected.size() + 1);
+                expected.add(index, task);
+                actual.add(index, task);
+            } else if (operation < 8) {
+                int index = random.nextInt(expected.size());
+                assertEquals(expected.remove(index).toString(), actual.remove(index).toString());
+            } else {
+                int index = random.nextInt(expected.size());
+                Task replacement = new Todo("replaced " + i);
+                expected.set(index, replacement);
+                actual.set(index, replacement);
+            }
+        }
+        assertEquals(expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i).toString(), actual.get(i).toString());
+        }
+    }
+}
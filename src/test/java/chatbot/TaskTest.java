@@ -2,8 +2,11 @@ package chatbot;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.time.LocalDate;
+
 import org.junit.jupiter.api.Test;
 
 public class TaskTest {
@@ -40,4 +43,16 @@ public class TaskTest {
         task.markDone();
         assertEquals("[X] Test task", task.toString());
     }
+
+    @Test
+    public void testToStringIsCachedUntilMarked() {
+        Task task = new Deadline("return book", LocalDate.of(2025, 2, 20));
+        String rendered = task.toString();
+        assertSame(rendered, task.toString());
+
+        task.markDone();
+        assertEquals("[D] [X] return book (by: Feb 20 2025)", task.toString());
+        task.unmarkDone();
+        assertEquals(rendered, task.toString());
+    }
 }
@@ -0,0 +1,54 @@
+package chatbot;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compares substring searches answered by checking every description with the same
+ * searches answered from a {@link TrigramIndex}.
+ *
+ * Usage: {@code ./gradlew benchmark -Pbench=TrigramIndexBenchmark [-PbenchArgs=<task count>]}
+ */
+public class TrigramIndexBenchmark {
+    private static final int DEFAULT_TASK_COUNT = 1_000_000;
+    private static final String[] VERBS = {"read", "write", "call", "email", "review", "plan", "buy", "fix"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args optionally, the number of tasks
+     * @throws Exception if the benchmark fails
+     */
+    public static void main(String[] args) throws Exception {
+        int taskCount = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_TASK_COUNT;
+        Storage storage = new Storage("unused.txt");
+        List<Task> list = new ArrayList<>(taskCount);
+        for (int i = 0; i < taskCount; i++) {
+            list.add(new Todo(VERBS[i % VERBS.length] + " Item " + i + " for project " + (i % 1000)));
+        }
+        TaskList tasks = new TaskList(list, storage);
+
+        long start = System.nanoTime();
+        tasks.getTrigramIndex();
+        System.out.printf("index build: %.1f ms%n", (System.nanoTime() - start) / 1e6);
+
+        for (String keyword : new String[] {"item 4242", "review item 99999", "project 7"}) {
+            BenchmarkRunner.measure("scan  '" + keyword + "'", 3, 10, () -> scan(tasks, keyword));
+            BenchmarkRunner.measure("index '" + keyword + "'", 100, 100,
+                    () -> tasks.getTrigramIndex().find(keyword).size());
+        }
+    }
+
+    /**
+     * Counts the matches the way {@code find} did before the index.
+     */
+    private static int scan(TaskList tasks, String lowerCaseKeyword) {
+        int count = 0;
+        for (int i = 0; i < tasks.size(); i++) {
+            if (tasks.descriptionContains(i, lowerCaseKeyword)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
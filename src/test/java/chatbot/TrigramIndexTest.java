@@ -0,0 +1,68 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TrigramIndexTest {
+    private static final String ALPHABET = "abAB ée";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testFindMatchesSubstrings() {
+        Storage storage = new Storage(tempDir.resolve("tasks.txt").toString());
+        TaskList tasks = new TaskList(new ArrayList<>(), storage);
+        tasks.add(new Todo("read book"));
+        tasks.add(new Todo("buy NoteBook"));
+        tasks.add(new Todo("bookkeeping"));
+        tasks.add(new Todo("pay rent"));
+
+        assertEquals(List.of(0, 1, 2), tasks.getTrigramIndex().find("book"));
+        assertEquals(List.of(1), tasks.getTrigramIndex().find("y notebook"));
+        assertEquals(List.of(), tasks.getTrigramIndex().find("boko"));
+        tasks.delete(0);
+        assertEquals("Here are the matching tasks in your list:\n"
+                + "1. [T] [ ] buy NoteBook\n"
+                + "2. [T] [ ] bookkeeping",
+                Parser.parse("find BOOK").execute(tasks, storage));
+    }
+
+    @Test
+    public void testIndexMatchesLinearScanAfterRandomChanges() {
+        TaskList tasks = RandomChanges.newTaskList();
+        TrigramIndex index = tasks.getTrigramIndex();
+        Random random = new Random(23);
+        RandomChanges.apply(tasks, random, 5_000, new int[] {6, 3, 1, 0},
+                i -> new Todo(randomText(random, random.nextInt(12))),
+                () -> assertMatchesScan(tasks, index, random));
+    }
+
+    private static void assertMatchesScan(TaskList tasks, TrigramIndex index, Random random) {
+        for (int query = 0; query < 20; query++) {
+            String keyword = randomText(random, TrigramIndex.MIN_KEYWORD_LENGTH + random.nextInt(3)).toLowerCase();
+            List<Integer> expected = IntStream.range(0, tasks.size())
+                    .filter(i -> tasks.get(i).getDescription().toLowerCase().contains(keyword))
+                    .boxed()
+                    .collect(Collectors.toList());
+            assertEquals(expected, index.find(keyword));
+        }
+    }
+
+    private static String randomText(Random random, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append(ALPHABET.charAt(random.nextInt(ALPHABET.length())));
+        }
+        return text.toString();
+    }
+}
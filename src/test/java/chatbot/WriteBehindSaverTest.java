@@ -0,0 +1,50 @@
+package chatbot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class WriteBehindSaverTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testBurstOfSavesIsCoalesced() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        WriteBehindSaver saver = new WriteBehindSaver(storage, 200);
+        List<Task> tasks = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            synchronized (tasks) {
+                tasks.add(new Todo("task " + i));
+                saver.markDirty(tasks);
+            }
+        }
+        saver.close();
+
+        assertTrue(saver.getWriteCount() <= 5, "writes: " + saver.getWriteCount());
+        assertEquals(1000, new Storage(path).load().size());
+    }
+
+    @Test
+    public void testCloseFlushesPendingChanges() {
+        String path = tempDir.resolve("tasks.txt").toString();
+        Storage storage = new Storage(path);
+        storage.enableWriteBehind(60_000);
+        List<Task> tasks = new ArrayList<>();
+        Task task = new Todo("read book");
+        tasks.add(task);
+        storage.saveAdded(tasks, task);
+        assertEquals(0, new Storage(path).load().size());
+
+        storage.close();
+        assertEquals(1, new Storage(path).load().size());
+    }
+}